@@ -2,19 +2,25 @@ package ast;
 
 /**
  * Represents an assertion statement
- * Types: STATUS, HEADER_EQUALS, HEADER_CONTAINS, BODY_CONTAINS
+ * Types: STATUS, HEADER_EQUALS, HEADER_CONTAINS, BODY_CONTAINS, JSON_EQUALS,
+ * LATENCY_BELOW, SIZE_BELOW, UNCOMPRESSED_SIZE_BELOW
  */
 public class AssertionNode extends ASTNode {
     public enum AssertionType {
         STATUS,           // expect status = 200
         HEADER_EQUALS,    // expect header "K" = "V"
         HEADER_CONTAINS,  // expect header "K" contains "V"
-        BODY_CONTAINS     // expect body contains "text"
+        BODY_CONTAINS,    // expect body contains "text"
+        JSON_EQUALS,      // expect json "$.path" = value
+        LATENCY_BELOW,    // expect latency < 200ms
+        SIZE_BELOW,       // expect size < 64kb (bytes received)
+        UNCOMPRESSED_SIZE_BELOW  // expect uncompressed size < 1mb
     }
     
     private AssertionType type;
-    private String headerKey;  // For header assertions
-    private String expectedValue; // String or Integer as string
+    private String headerKey;  // For header assertions, or the path of json assertions
+    private String expectedValue; // String or Integer as string; a JSON literal for json assertions;
+                                  // milliseconds or bytes for latency and size limits
     
     // For status assertions
     public AssertionNode(AssertionType type, int statusCode) {
@@ -22,7 +28,13 @@ public class AssertionNode extends ASTNode {
         this.expectedValue = String.valueOf(statusCode);
     }
     
-    // For header assertions
+    // For latency (milliseconds) and size (bytes) limits
+    public AssertionNode(AssertionType type, long limit) {
+        this.type = type;
+        this.expectedValue = String.valueOf(limit);
+    }
+    
+    // For header and json assertions
     public AssertionNode(AssertionType type, String headerKey, String expectedValue) {
         this.type = type;
         this.headerKey = headerKey;
@@ -43,6 +55,10 @@ public class AssertionNode extends ASTNode {
         return headerKey;
     }
     
+    public String getJsonPath() {
+        return headerKey;
+    }
+    
     public String getExpectedValue() {
         return expectedValue;
     }
@@ -51,6 +67,10 @@ public class AssertionNode extends ASTNode {
         return Integer.parseInt(expectedValue);
     }
     
+    public long getLimit() {
+        return Long.parseLong(expectedValue);
+    }
+    
     @Override
     public String toString() {
         switch (type) {
@@ -62,6 +82,14 @@ public class AssertionNode extends ASTNode {
                 return String.format("AssertHeaderContains(%s contains %s)", headerKey, expectedValue);
             case BODY_CONTAINS:
                 return String.format("AssertBodyContains(%s)", expectedValue);
+            case JSON_EQUALS:
+                return String.format("AssertJsonEquals(%s = %s)", headerKey, expectedValue);
+            case LATENCY_BELOW:
+                return String.format("AssertLatencyBelow(%sms)", expectedValue);
+            case SIZE_BELOW:
+                return String.format("AssertSizeBelow(%s bytes)", expectedValue);
+            case UNCOMPRESSED_SIZE_BELOW:
+                return String.format("AssertUncompressedSizeBelow(%s bytes)", expectedValue);
             default:
                 return "Assertion(unknown)";
         }
@@ -0,0 +1,29 @@
+package ast;
+
+/**
+ * Represents how much of the response body a request keeps:
+ * capture full; capture first 64kb; or discard;
+ * Only used while parsing a request block; the mode ends up on the RequestNode.
+ */
+public class BodyCaptureNode extends ASTNode {
+    private RequestNode.BodyHandling handling;
+    private long limit;  // bytes kept by FIRST
+    
+    public BodyCaptureNode(RequestNode.BodyHandling handling, long limit) {
+        this.handling = handling;
+        this.limit = limit;
+    }
+    
+    public RequestNode.BodyHandling getHandling() {
+        return handling;
+    }
+    
+    public long getLimit() {
+        return limit;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("BodyCapture(%s %d)", handling, limit);
+    }
+}
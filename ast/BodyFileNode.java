@@ -0,0 +1,22 @@
+package ast;
+
+/**
+ * Represents a request body read from a file: body = file "payloads/big.json";
+ * Only used while parsing a request block; the path ends up on the RequestNode.
+ */
+public class BodyFileNode extends ASTNode {
+    private String path;
+    
+    public BodyFileNode(String path) {
+        this.path = path;
+    }
+    
+    public String getPath() {
+        return path;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("BodyFile(%s)", path);
+    }
+}
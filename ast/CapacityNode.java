@@ -0,0 +1,51 @@
+package ast;
+
+/**
+ * Represents a capacity block that searches for the highest concurrency a test
+ * sustains within a latency SLO and error budget
+ * Settings: latency_slo, percentile, max_error_pct, step, max_concurrency, increase
+ */
+public class CapacityNode extends WorkloadNode {
+    public static final int DEFAULT_PERCENTILE = 99;
+    public static final int DEFAULT_MAX_ERROR_PCT = 1;
+    public static final long DEFAULT_STEP_MILLIS = 5000;
+    public static final int DEFAULT_MAX_CONCURRENCY = 256;
+    public static final int DEFAULT_INCREASE = 2;
+    
+    public CapacityNode(String testName) {
+        super(testName);
+    }
+    
+    public String getTestName() {
+        return getName();
+    }
+    
+    public long getLatencySloMillis() {
+        return getMillis("latency_slo", 0);
+    }
+    
+    public int getPercentile() {
+        return getInt("percentile", DEFAULT_PERCENTILE);
+    }
+    
+    public int getMaxErrorPct() {
+        return getInt("max_error_pct", DEFAULT_MAX_ERROR_PCT);
+    }
+    
+    public long getStepMillis() {
+        return getMillis("step", DEFAULT_STEP_MILLIS);
+    }
+    
+    public int getMaxConcurrency() {
+        return getInt("max_concurrency", DEFAULT_MAX_CONCURRENCY);
+    }
+    
+    public int getIncrease() {
+        return getInt("increase", DEFAULT_INCREASE);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Capacity(%s, settings=%s)", getName(), getSettings());
+    }
+}
@@ -0,0 +1,39 @@
+package ast;
+
+/**
+ * Represents a capture in a setup block: let name = json "$.path"; or let name = header "K";
+ * The value is taken from the latest response and can be used as $name by every test.
+ */
+public class CaptureNode extends ASTNode {
+    public enum Source {
+        JSON,    // let token = json "$.token"
+        HEADER   // let session = header "X-Session"
+    }
+    
+    private String name;
+    private Source source;
+    private String key;  // JSON path or header name
+    
+    public CaptureNode(String name, Source source, String key) {
+        this.name = name;
+        this.source = source;
+        this.key = key;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public Source getSource() {
+        return source;
+    }
+    
+    public String getKey() {
+        return key;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Capture(%s = %s %s)", name, source, key);
+    }
+}
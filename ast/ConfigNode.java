@@ -1,14 +1,18 @@
 package ast;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
- * Represents the config block with base_url and default headers
+ * Represents the config block with base_url, default headers and settings
+ * Settings: compression, request_compression, max_rps, max_in_flight, warmup (checked by the compiler)
  */
 public class ConfigNode extends ASTNode {
     private String baseUrl;
     private List<HeaderNode> defaultHeaders;
+    private Map<String, Object> settings = new LinkedHashMap<>();
     
     public ConfigNode() {
         this.baseUrl = null;
@@ -31,8 +35,51 @@ public class ConfigNode extends ASTNode {
         this.defaultHeaders.add(header);
     }
     
+    public Map<String, Object> getSettings() {
+        return settings;
+    }
+    
+    public void setSetting(String key, Object value) {
+        settings.put(key, value);
+    }
+    
+    /**
+     * Content coding asked for in responses: gzip, deflate or none
+     */
+    public String getCompression() {
+        return settings.getOrDefault("compression", "none").toString();
+    }
+    
+    /**
+     * Content coding applied to request bodies at compile time: gzip or none
+     */
+    public String getRequestCompression() {
+        return settings.getOrDefault("request_compression", "none").toString();
+    }
+    
+    /**
+     * Ceiling on requests per second across all suites in the JVM; 0 for none
+     */
+    public int getMaxRps() {
+        return (Integer) settings.getOrDefault("max_rps", 0);
+    }
+    
+    /**
+     * Ceiling on concurrent requests across all suites in the JVM; 0 for none
+     */
+    public int getMaxInFlight() {
+        return (Integer) settings.getOrDefault("max_in_flight", 0);
+    }
+    
+    /**
+     * Throw-away requests sent before setup so that nothing measured pays for cold connections; 0 for none
+     */
+    public int getWarmup() {
+        return (Integer) settings.getOrDefault("warmup", 0);
+    }
+    
     @Override
     public String toString() {
-        return String.format("Config(baseUrl=%s, headers=%d)", baseUrl, defaultHeaders.size());
+        return String.format("Config(baseUrl=%s, headers=%d, settings=%s)", baseUrl, defaultHeaders.size(), settings);
     }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package ast;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a setup or teardown block, run once per suite.
+ * Unlike tests, statements run in the order written: assertions and captures
+ * apply to the closest request before them.
+ */
+public class FixtureNode extends ASTNode {
+    public enum Kind {
+        SETUP, TEARDOWN
+    }
+    
+    private Kind kind;
+    private List<ASTNode> statements;  // RequestNode, AssertionNode or CaptureNode
+    
+    public FixtureNode(Kind kind) {
+        this.kind = kind;
+        this.statements = new ArrayList<>();
+    }
+    
+    public Kind getKind() {
+        return kind;
+    }
+    
+    public List<ASTNode> getStatements() {
+        return statements;
+    }
+    
+    public void addStatement(ASTNode statement) {
+        this.statements.add(statement);
+    }
+    
+    public List<CaptureNode> getCaptures() {
+        List<CaptureNode> captures = new ArrayList<>();
+        for (ASTNode statement : statements) {
+            if (statement instanceof CaptureNode) {
+                captures.add((CaptureNode) statement);
+            }
+        }
+        return captures;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Fixture(%s, statements=%d)", kind, statements.size());
+    }
+}
@@ -0,0 +1,42 @@
+package ast;
+
+/**
+ * Represents a load block that replays an existing test as an open-model workload
+ * Settings: rps, duration, max_concurrency, ramp_up, max_errors
+ */
+public class LoadNode extends WorkloadNode {
+    public static final int DEFAULT_MAX_CONCURRENCY = 64;
+    
+    public LoadNode(String testName) {
+        super(testName);
+    }
+    
+    public String getTestName() {
+        return getName();
+    }
+    
+    public int getTargetRps() {
+        return getInt("rps", 0);
+    }
+    
+    public long getDurationMillis() {
+        return getMillis("duration", 0);
+    }
+    
+    public int getMaxConcurrency() {
+        return getInt("max_concurrency", DEFAULT_MAX_CONCURRENCY);
+    }
+    
+    public long getRampUpMillis() {
+        return getMillis("ramp_up", 0);
+    }
+    
+    public int getMaxErrors() {
+        return getInt("max_errors", 0);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Load(%s, settings=%s)", getName(), getSettings());
+    }
+}
@@ -0,0 +1,63 @@
+package ast;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a loop inside a test: repeat N { ... } or for $i in 1..N { ... }
+ * The body runs once per iteration; its assertions apply to the last request
+ * of the body and are checked on every iteration.
+ */
+public class LoopNode extends ASTNode {
+    private String variable;  // null for repeat
+    private int from;
+    private int to;
+    private List<RequestNode> requests;
+    private List<AssertionNode> assertions;
+    
+    public LoopNode(String variable, int from, int to) {
+        this.variable = variable;
+        this.from = from;
+        this.to = to;
+        this.requests = new ArrayList<>();
+        this.assertions = new ArrayList<>();
+    }
+    
+    public String getVariable() {
+        return variable;
+    }
+    
+    public boolean hasVariable() {
+        return variable != null;
+    }
+    
+    public int getFrom() {
+        return from;
+    }
+    
+    public int getTo() {
+        return to;
+    }
+    
+    public List<RequestNode> getRequests() {
+        return requests;
+    }
+    
+    public void addRequest(RequestNode request) {
+        this.requests.add(request);
+    }
+    
+    public List<AssertionNode> getAssertions() {
+        return assertions;
+    }
+    
+    public void addAssertion(AssertionNode assertion) {
+        this.assertions.add(assertion);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Loop(%s in %d..%d, requests=%d, assertions=%d)",
+            variable == null ? "repeat" : "$" + variable, from, to, requests.size(), assertions.size());
+    }
+}
@@ -0,0 +1,51 @@
+package ast;
+
+/**
+ * Represents one entry of a scenario mix: a test, its weight and its think time
+ * Think time distributions: none, constant, uniform(min, max), exponential(mean)
+ */
+public class MixNode extends ASTNode {
+    private String testName;
+    private int weight;
+    private String thinkDistribution;
+    private long thinkMillis;     // constant value, uniform minimum or exponential mean
+    private long thinkMaxMillis;  // uniform maximum, -1 when only one argument was given
+    
+    public MixNode(String testName, int weight) {
+        this.testName = testName;
+        this.weight = weight;
+        this.thinkDistribution = "none";
+        this.thinkMaxMillis = -1;
+    }
+    
+    public String getTestName() {
+        return testName;
+    }
+    
+    public int getWeight() {
+        return weight;
+    }
+    
+    public String getThinkDistribution() {
+        return thinkDistribution;
+    }
+    
+    public long getThinkMillis() {
+        return thinkMillis;
+    }
+    
+    public long getThinkMaxMillis() {
+        return thinkMaxMillis;
+    }
+    
+    public void setThinkTime(String distribution, long millis, long maxMillis) {
+        this.thinkDistribution = distribution;
+        this.thinkMillis = millis;
+        this.thinkMaxMillis = maxMillis;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Mix(%s = %d, think=%s)", testName, weight, thinkDistribution);
+    }
+}
@@ -10,13 +10,21 @@ import java.util.Map;
  */
 public class ProgramNode extends ASTNode {
     private ConfigNode config;
+    private FixtureNode setup;
+    private FixtureNode teardown;
     private Map<String, VariableNode> variables;
     private List<TestNode> tests;
+    private List<LoadNode> loads;
+    private List<CapacityNode> capacities;
+    private List<ScenarioNode> scenarios;
     
     public ProgramNode() {
         this.config = null;
         this.variables = new HashMap<>();
         this.tests = new ArrayList<>();
+        this.loads = new ArrayList<>();
+        this.capacities = new ArrayList<>();
+        this.scenarios = new ArrayList<>();
     }
     
     public ConfigNode getConfig() {
@@ -27,6 +35,22 @@ public class ProgramNode extends ASTNode {
         this.config = config;
     }
     
+    public FixtureNode getSetup() {
+        return setup;
+    }
+    
+    public void setSetup(FixtureNode setup) {
+        this.setup = setup;
+    }
+    
+    public FixtureNode getTeardown() {
+        return teardown;
+    }
+    
+    public void setTeardown(FixtureNode teardown) {
+        this.teardown = teardown;
+    }
+    
     public Map<String, VariableNode> getVariables() {
         return variables;
     }
@@ -47,9 +71,43 @@ public class ProgramNode extends ASTNode {
         this.tests.add(test);
     }
     
+    public TestNode getTest(String name) {
+        for (TestNode test : tests) {
+            if (test.getName().equals(name)) {
+                return test;
+            }
+        }
+        return null;
+    }
+    
+    public List<LoadNode> getLoads() {
+        return loads;
+    }
+    
+    public void addLoad(LoadNode load) {
+        this.loads.add(load);
+    }
+    
+    public List<CapacityNode> getCapacities() {
+        return capacities;
+    }
+    
+    public void addCapacity(CapacityNode capacity) {
+        this.capacities.add(capacity);
+    }
+    
+    public List<ScenarioNode> getScenarios() {
+        return scenarios;
+    }
+    
+    public void addScenario(ScenarioNode scenario) {
+        this.scenarios.add(scenario);
+    }
+    
     @Override
     public String toString() {
-        return String.format("Program(config=%s, vars=%d, tests=%d)", 
-            config != null ? "present" : "absent", variables.size(), tests.size());
+        return String.format("Program(config=%s, vars=%d, tests=%d, loads=%d, capacities=%d, scenarios=%d)", 
+            config != null ? "present" : "absent", variables.size(), tests.size(), loads.size(),
+            capacities.size(), scenarios.size());
     }
 }
\ No newline at end of file
@@ -11,10 +11,21 @@ public class RequestNode extends ASTNode {
         GET, POST, PUT, DELETE
     }
     
+    /**
+     * How much of the response body is kept; AUTO keeps all of it only if
+     * an assertion or capture reads it
+     */
+    public enum BodyHandling {
+        AUTO, FULL, FIRST, DISCARD
+    }
+    
     private HttpMethod method;
     private String path;
     private List<HeaderNode> headers;
     private String body;
+    private String bodyFile;  // streamed from disk instead of body
+    private BodyHandling bodyHandling = BodyHandling.AUTO;
+    private long bodyLimit;   // bytes kept with FIRST
     
     public RequestNode(HttpMethod method, String path) {
         this.method = method;
@@ -51,9 +62,34 @@ public class RequestNode extends ASTNode {
         return body != null;
     }
     
+    public String getBodyFile() {
+        return bodyFile;
+    }
+    
+    public void setBodyFile(String bodyFile) {
+        this.bodyFile = bodyFile;
+    }
+    
+    public boolean hasBodyFile() {
+        return bodyFile != null;
+    }
+    
+    public BodyHandling getBodyHandling() {
+        return bodyHandling;
+    }
+    
+    public long getBodyLimit() {
+        return bodyLimit;
+    }
+    
+    public void setBodyHandling(BodyHandling bodyHandling, long bodyLimit) {
+        this.bodyHandling = bodyHandling;
+        this.bodyLimit = bodyLimit;
+    }
+    
     @Override
     public String toString() {
-        return String.format("Request(%s %s, headers=%d, hasBody=%b)", 
-            method, path, headers.size(), hasBody());
+        return String.format("Request(%s %s, headers=%d, hasBody=%b, bodyFile=%s)", 
+            method, path, headers.size(), hasBody(), bodyFile);
     }
 }
\ No newline at end of file
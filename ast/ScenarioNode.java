@@ -0,0 +1,47 @@
+package ast;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a scenario: a weighted mix of existing tests run by a fixed
+ * number of virtual users (closed model)
+ * Settings: users, duration, ramp_up, max_errors
+ */
+public class ScenarioNode extends WorkloadNode {
+    private List<MixNode> mix;
+    
+    public ScenarioNode(String name) {
+        super(name);
+        this.mix = new ArrayList<>();
+    }
+    
+    public List<MixNode> getMix() {
+        return mix;
+    }
+    
+    public void addMix(MixNode entry) {
+        this.mix.add(entry);
+    }
+    
+    public int getUsers() {
+        return getInt("users", 0);
+    }
+    
+    public long getDurationMillis() {
+        return getMillis("duration", 0);
+    }
+    
+    public long getRampUpMillis() {
+        return getMillis("ramp_up", 0);
+    }
+    
+    public int getMaxErrors() {
+        return getInt("max_errors", 0);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Scenario(%s, mix=%d, settings=%s)", getName(), mix.size(), getSettings());
+    }
+}
@@ -10,23 +10,54 @@ public class TestNode extends ASTNode {
     private String name;
     private List<RequestNode> requests;
     private List<AssertionNode> assertions;
+    private List<LoopNode> loops;
+    private List<ASTNode> steps;  // requests and loops, in the order written
+    private String rowsFile;      // data file for data-driven tests, or null
     
     public TestNode(String name) {
         this.name = name;
         this.requests = new ArrayList<>();
         this.assertions = new ArrayList<>();
+        this.loops = new ArrayList<>();
+        this.steps = new ArrayList<>();
     }
     
     public String getName() {
         return name;
     }
     
+    public String getRowsFile() {
+        return rowsFile;
+    }
+    
+    public void setRowsFile(String rowsFile) {
+        this.rowsFile = rowsFile;
+    }
+    
+    public boolean isDataDriven() {
+        return rowsFile != null;
+    }
+    
     public List<RequestNode> getRequests() {
         return requests;
     }
     
     public void addRequest(RequestNode request) {
         this.requests.add(request);
+        this.steps.add(request);
+    }
+    
+    public List<LoopNode> getLoops() {
+        return loops;
+    }
+    
+    public void addLoop(LoopNode loop) {
+        this.loops.add(loop);
+        this.steps.add(loop);
+    }
+    
+    public List<ASTNode> getSteps() {
+        return steps;
     }
     
     public List<AssertionNode> getAssertions() {
@@ -39,7 +70,7 @@ public class TestNode extends ASTNode {
     
     @Override
     public String toString() {
-        return String.format("Test(%s, requests=%d, assertions=%d)", 
-            name, requests.size(), assertions.size());
+        return String.format("Test(%s, requests=%d, assertions=%d, loops=%d)", 
+            name, requests.size(), assertions.size(), loops.size());
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package ast;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Base class for blocks that drive existing tests as a workload (load, capacity, ...)
+ * Settings are kept as written (Integer, Long milliseconds or String) and checked by the compiler.
+ */
+public abstract class WorkloadNode extends ASTNode {
+    private String name;
+    private Map<String, Object> settings;
+    
+    public WorkloadNode(String name) {
+        this.name = name;
+        this.settings = new LinkedHashMap<>();
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public Map<String, Object> getSettings() {
+        return settings;
+    }
+    
+    public void setSetting(String key, Object value) {
+        this.settings.put(key, value);
+    }
+    
+    public boolean hasSetting(String key) {
+        return settings.containsKey(key);
+    }
+    
+    public int getInt(String key, int defaultValue) {
+        Object value = settings.get(key);
+        return value != null ? (Integer) value : defaultValue;
+    }
+    
+    public long getMillis(String key, long defaultValue) {
+        Object value = settings.get(key);
+        return value != null ? (Long) value : defaultValue;
+    }
+}
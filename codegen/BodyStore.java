@@ -0,0 +1,97 @@
+package codegen;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Collects large body texts into one side file next to the generated class.
+ * Bodies of that size would bloat the class constant pool (and above 64 KB not
+ * fit in it at all); runtime.Bodies maps the file and reads them when sent.
+ * Bodies compressed at compile time are stored here too, already gzipped.
+ */
+public class BodyStore {
+    public static final int THRESHOLD = 8 * 1024;  // chars; smaller bodies stay string literals
+    public static final int COMPRESS_MIN = 1024;   // chars; gzip does not pay off on smaller bodies
+
+    private List<byte[]> bodies = new ArrayList<>();
+    private Map<String, Integer> indexes = new HashMap<>();  // the same text is stored once
+    private Map<String, Integer> gzipIndexes = new HashMap<>();
+
+    public static boolean isLarge(String text) {
+        return text != null && text.length() > THRESHOLD;
+    }
+
+    /**
+     * Store a body as UTF-8 and return its index
+     */
+    public int add(String text) {
+        Integer index = indexes.get(text);
+        if (index == null) {
+            index = bodies.size();
+            bodies.add(text.getBytes(StandardCharsets.UTF_8));
+            indexes.put(text, index);
+        }
+        return index;
+    }
+
+    /**
+     * Store a body gzip-compressed and return its index
+     */
+    public int addGzip(String text) {
+        Integer index = gzipIndexes.get(text);
+        if (index == null) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(text.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            index = bodies.size();
+            bodies.add(out.toByteArray());
+            gzipIndexes.put(text, index);
+        }
+        return index;
+    }
+
+    public boolean isEmpty() {
+        return bodies.isEmpty();
+    }
+
+    /**
+     * Offset and length of every body in the file, as arguments for the Bodies constructor
+     */
+    public String ranges() {
+        StringBuilder sb = new StringBuilder();
+        long offset = 0;
+        for (byte[] body : bodies) {
+            sb.append(", ").append(offset).append("L, ").append(body.length).append("L");
+            offset += body.length;
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Write all bodies back to back; without bodies a file left by an earlier run is removed
+     */
+    public void write(Path file) throws IOException {
+        if (bodies.isEmpty()) {
+            Files.deleteIfExists(file);
+            return;
+        }
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (byte[] body : bodies) {
+                out.write(body);
+            }
+        }
+    }
+}
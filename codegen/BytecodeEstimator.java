@@ -0,0 +1,71 @@
+package codegen;
+
+import ast.*;
+
+/**
+ * Rough, deliberately pessimistic bytecode sizes of the statements CodeGenerator emits.
+ * HotSpot does not JIT-compile methods above 8000 bytes of bytecode
+ * (-XX:-DontCompileHugeMethods), so generated methods are split well before that.
+ */
+public class BytecodeEstimator {
+    public static final int HUGE_METHOD_LIMIT = 8000;
+    public static final int METHOD_BUDGET = 6000;  // leaves room for estimation error
+    
+    private VariableSubstitutor substitutor;
+    
+    public BytecodeEstimator(VariableSubstitutor substitutor) {
+        this.substitutor = substitutor;
+    }
+    
+    /**
+     * SUITE.send(SUITE.post(path, body).header(k, v)...) and storing or dropping the result
+     */
+    public int request(RequestNode request) {
+        int bytes = 20 + string(request.getPath());  // includes the body handling argument
+        if (request.hasBody()) {
+            bytes += string(request.getBody());
+        }
+        if (request.hasBodyFile()) {
+            // Payloads.file(file, row, name, value, ...) builds a varargs array
+            bytes += 16 + 8 * substitutor.payloadArguments().split(", ").length;
+        }
+        for (HeaderNode header : request.getHeaders()) {
+            bytes += 8 + string(header.getValue());
+        }
+        return bytes;
+    }
+    
+    /**
+     * resp.expect...(args); json assertions also load the extracted value
+     */
+    public int assertion(AssertionNode assertion) {
+        switch (assertion.getType()) {
+            case JSON_EQUALS:
+                return 16 + string(assertion.getExpectedValue());
+            case BODY_CONTAINS:
+                return 8 + string(assertion.getExpectedValue());
+            default:
+                return 12;
+        }
+    }
+    
+    public int capture() {
+        return 24;
+    }
+    
+    /**
+     * Calling a helper method with a few arguments and storing the result
+     */
+    public int call() {
+        return 12;
+    }
+    
+    /**
+     * A string constant is one ldc; a concatenation is an invokedynamic plus one load per part
+     */
+    private int string(String text) {
+        String java = substitutor.toJava(text);
+        int parts = java.split(" \\+ ").length;
+        return parts == 1 ? 3 : 8 + 4 * parts;
+    }
+}
@@ -4,26 +4,83 @@ import ast.*;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Generates JUnit 5 test code from AST
  */
 public class CodeGenerator {
+    private static final int MAX_WARMUP_TEMPLATES = 8;
+    
     private ProgramNode program;
     private VariableSubstitutor substitutor;
     private PrintWriter writer;
     private int indentLevel = 0;
+    private boolean tableMode = false;
+    private boolean ordered = false;
+    private Map<String, Integer> tableIndex = new HashMap<>();  // test name -> row in TABLE
+    private TestNode tableFirst;
+    private BytecodeEstimator estimator;
+    private BodyStore bodies = new BodyStore();
+    private String className;
+    private Path bodiesFile;
+    
+    // State of the method body being generated
+    private String respAssign;   // "Exchange resp = " inline, "resp = " in step methods
+    private String extractor;    // JsonPathExtractor field for json assertions
+    private List<String> jsonPaths;
+    private boolean extracted;
     
     public CodeGenerator(ProgramNode program) {
         this.program = program;
         this.substitutor = new VariableSubstitutor(program.getVariables());
+        this.estimator = new BytecodeEstimator(substitutor);
+        
+        // Values captured by setup are only known at runtime
+        if (program.getSetup() != null) {
+            for (CaptureNode capture : program.getSetup().getCaptures()) {
+                substitutor.addRuntimeVariable(capture.getName(), "cap_" + capture.getName());
+            }
+        }
+    }
+    
+    /**
+     * In table mode, tests that need no generated code of their own are packed
+     * into a compact table run by a single @TestFactory instead of one method each
+     */
+    public void setTableMode(boolean tableMode) {
+        this.tableMode = tableMode;
+    }
+    
+    /**
+     * Run the tests in the order of the program (as arranged by compiler.Scheduler)
+     * instead of JUnit's default method order
+     */
+    public void setOrdered(boolean ordered) {
+        this.ordered = ordered;
+    }
+    
+    /**
+     * Name of the class generated into a file: the file name without .java
+     */
+    public static String className(String outputPath) {
+        String fileName = Paths.get(outputPath).getFileName().toString();
+        return fileName.endsWith(".java") ? fileName.substring(0, fileName.length() - 5) : fileName;
     }
     
     /**
      * Generate code and write to file
      */
     public void generate(String outputPath) throws IOException {
+        // The class is named after the file; large bodies go to a .bodies file beside it
+        Path output = Paths.get(outputPath);
+        className = className(outputPath);
+        bodiesFile = output.resolveSibling(className + ".bodies");
         writer = new PrintWriter(new FileWriter(outputPath));
         
         try {
@@ -31,29 +88,50 @@ public class CodeGenerator {
             generateClassHeader();
             generateStaticFields();
             generateSetupMethod();
+            generateTeardownMethod();
             generateTestMethods();
+            generateLoadMethods();
+            generateCapacityMethods();
+            generateScenarioMethods();
+            generateBodies();
             generateClassFooter();
         } finally {
             writer.close();
         }
+        bodies.write(bodiesFile);
     }
     
     private void generateImports() {
         println("import org.junit.jupiter.api.*;");
+        println("import org.junit.jupiter.api.condition.*;");
         println("import static org.junit.jupiter.api.Assertions.*;");
         println("import java.net.http.*;");
-        println("import java.net.*;");
-        println("import java.time.Duration;");
-        println("import java.nio.charset.StandardCharsets;");
         println("import java.util.*;");
+        println("import java.util.stream.*;");
+        println("import runtime.*;");
         println();
     }
     
     private void generateClassHeader() {
-        println("public class GeneratedTests {");
+        if (ordered) {
+            println("@TestMethodOrder(MethodOrderer.OrderAnnotation.class)");
+        }
+        println("public class " + className + " {");
         indentLevel++;
     }
     
+    /**
+     * Declared last because bodies are only collected while the methods are generated
+     */
+    private void generateBodies() {
+        if (bodies.isEmpty()) {
+            return;
+        }
+        println("static final Bodies BODIES = new Bodies(\"" + escapeJava(bodiesFile.toString()) + "\"" +
+               bodies.ranges() + ");");
+        println();
+    }
+    
     private void generateClassFooter() {
         indentLevel--;
         println("}");
@@ -62,165 +140,855 @@ public class CodeGenerator {
     private void generateStaticFields() {
         ConfigNode config = program.getConfig();
         
-        // Base URL
-        if (config != null && config.getBaseUrl() != null) {
-            println("static String BASE = \"" + config.getBaseUrl() + "\";");
-        } else {
-            println("static String BASE = \"\";");
+        // Base URL and default headers; the HTTP client itself is shared process-wide by the runtime
+        String base = config != null && config.getBaseUrl() != null ? config.getBaseUrl() : "";
+        List<HeaderNode> headers = new ArrayList<>(config != null ? config.getDefaultHeaders() : new ArrayList<>());
+        
+        // Compressed responses are asked for here and decoded by the runtime as they arrive
+        if (config != null && !config.getCompression().equals("none")) {
+            headers.add(new HeaderNode("Accept-Encoding", config.getCompression()));
+        }
+        List<String> chain = new ArrayList<>();
+        for (HeaderNode header : headers) {
+            chain.add(".header(\"" + escapeJava(header.getKey()) + "\", \"" + escapeJava(header.getValue()) + "\")");
         }
         
-        // Default headers
-        println("static Map<String, String> DEFAULT_HEADERS = new HashMap<>();");
-        println("static HttpClient client;");
+        // The rate and concurrency ceiling is process-wide, shared with every other suite in the JVM
+        if (config != null && (config.getMaxRps() > 0 || config.getMaxInFlight() > 0)) {
+            chain.add(".limit(" + config.getMaxRps() + ", " + config.getMaxInFlight() + ")");
+        }
+        println("static final Suite SUITE = new Suite(\"" + escapeJava(base) + "\")" + (chain.isEmpty() ? ";" : ""));
+        indentLevel++;
+        for (int i = 0; i < chain.size(); i++) {
+            println(chain.get(i) + (i == chain.size() - 1 ? ";" : ""));
+        }
+        indentLevel--;
+        
+        // Under -Dtestlang.failFast=true the runtime skips tests with JUnit's own exception
+        println("static {");
+        indentLevel++;
+        println("FailFast.skipWith(org.opentest4j.TestAbortedException::new);");
+        indentLevel--;
+        println("}");
+        
+        // Values captured by setup, shared by all tests
+        if (program.getSetup() != null) {
+            for (CaptureNode capture : program.getSetup().getCaptures()) {
+                println("static String cap_" + capture.getName() + ";");
+            }
+        }
         println();
     }
     
     private void generateSetupMethod() {
+        FixtureNode setup = program.getSetup();
+        int warmup = program.getConfig() != null ? program.getConfig().getWarmup() : 0;
+        if (setup == null && warmup == 0) {
+            return;
+        }
+        
         println("@BeforeAll");
-        println("static void setup() {");
+        println("static void setup() throws Exception {");
         indentLevel++;
+        if (warmup > 0) {
+            // Connections and the JIT are warmed up with requests nobody measures
+            printCall("SUITE.warmUp(" + warmup + ", ", warmupTemplates(), ");");
+        }
+        List<List<Statement>> steps = setup != null ? generateFixtureStatements("setup", setup) : new ArrayList<>();
+        indentLevel--;
+        println("}");
+        println();
+        generateFixtureSteps("setup", steps);
+    }
+    
+    /**
+     * Warm-up requests are the distinct GETs of the tests that are fully known at
+     * compile time (other methods may change server state), or the base URL
+     */
+    private List<String> warmupTemplates() {
+        List<String> templates = new ArrayList<>();
+        for (TestNode test : program.getTests()) {
+            if (test.isDataDriven()) {
+                continue;
+            }
+            for (RequestNode request : test.getRequests()) {
+                if (request.getMethod() == RequestNode.HttpMethod.GET && substitutor.isConstant(request.getPath()) &&
+                        constantHeaders(request) && templates.size() < MAX_WARMUP_TEMPLATES) {
+                    String template = String.join(" ", requestBuilder(request));
+                    if (!templates.contains(template)) {
+                        templates.add(template);
+                    }
+                }
+            }
+        }
+        if (templates.isEmpty()) {
+            templates.add("SUITE.get(\"/\")");
+        }
+        for (int i = 0; i < templates.size() - 1; i++) {
+            templates.set(i, templates.get(i) + ",");
+        }
+        return templates;
+    }
+    
+    private boolean constantHeaders(RequestNode request) {
+        for (HeaderNode header : request.getHeaders()) {
+            if (!substitutor.isConstant(header.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private void generateTeardownMethod() {
+        FixtureNode teardown = program.getTeardown();
+        if (teardown == null) {
+            return;
+        }
         
-        println("client = HttpClient.newBuilder()");
+        println("@AfterAll");
+        println("static void teardown() throws Exception {");
         indentLevel++;
-        println(".connectTimeout(Duration.ofSeconds(5))");
-        println(".build();");
+        List<List<Statement>> steps = generateFixtureStatements("teardown", teardown);
         indentLevel--;
+        println("}");
+        println();
+        generateFixtureSteps("teardown", steps);
+    }
+    
+    /**
+     * Each request of a fixture gets its own block, together with the
+     * assertions and captures that follow it. Blocks share no locals, so a
+     * fixture too large for one method is split into step methods by block.
+     */
+    private List<List<Statement>> generateFixtureStatements(String method, FixtureNode fixture) {
+        List<Statement> segments = new ArrayList<>();
+        List<ASTNode> statements = fixture.getStatements();
+        int i = 0;
+        while (i < statements.size()) {
+            RequestNode request = (RequestNode) statements.get(i++);
+            List<ASTNode> checks = new ArrayList<>();
+            while (i < statements.size() && !(statements.get(i) instanceof RequestNode)) {
+                checks.add(statements.get(i++));
+            }
+            int bytes = estimator.request(request) + estimator.call();
+            for (ASTNode check : checks) {
+                bytes += check instanceof AssertionNode ? estimator.assertion((AssertionNode) check) : estimator.capture();
+            }
+            segments.add(new Statement(bytes, () -> generateFixtureSegment(request, checks)));
+        }
         
-        // Add default headers from config
-        ConfigNode config = program.getConfig();
-        if (config != null) {
-            for (HeaderNode header : config.getDefaultHeaders()) {
-                println("DEFAULT_HEADERS.put(\"" + escapeJava(header.getKey()) + "\", \"" + 
-                       escapeJava(header.getValue()) + "\");");
+        List<List<Statement>> steps = partition(segments);
+        if (steps.size() == 1) {
+            for (Statement segment : segments) {
+                segment.emit.run();
+            }
+            return new ArrayList<>();
+        }
+        for (int k = 0; k < steps.size(); k++) {
+            println(method + "_step" + (k + 1) + "();");
+        }
+        return steps;
+    }
+    
+    private void generateFixtureSteps(String method, List<List<Statement>> steps) {
+        for (int k = 0; k < steps.size(); k++) {
+            println("private static void " + method + "_step" + (k + 1) + "() throws Exception {");
+            indentLevel++;
+            for (Statement segment : steps.get(k)) {
+                segment.emit.run();
+            }
+            indentLevel--;
+            println("}");
+            println();
+        }
+    }
+    
+    private void generateFixtureSegment(RequestNode request, List<ASTNode> checks) {
+        println("{");
+        indentLevel++;
+        generateRequest("Exchange resp = ", request, readsBody(checks));
+        
+        List<String> jsonPaths = new ArrayList<>();
+        for (ASTNode check : checks) {
+            if (!readsJson(check)) {
+                continue;
+            }
+            String path = check instanceof CaptureNode ? ((CaptureNode) check).getKey()
+                                                       : ((AssertionNode) check).getJsonPath();
+            if (!jsonPaths.contains(path)) {
+                jsonPaths.add(path);
             }
         }
         
+        // The body is parsed right before the first json check, so a failed status check comes first
+        boolean parsed = false;
+        for (ASTNode check : checks) {
+            if (!parsed && readsJson(check)) {
+                println("Object[] json = resp.json(new JsonPathExtractor(" + joinQuoted(jsonPaths) + "));");
+                parsed = true;
+            }
+            if (check instanceof AssertionNode) {
+                generateAssertion((AssertionNode) check, jsonPaths);
+            } else {
+                generateCapture((CaptureNode) check, jsonPaths);
+            }
+        }
         indentLevel--;
         println("}");
-        println();
+    }
+    
+    private static boolean readsJson(ASTNode check) {
+        if (check instanceof CaptureNode) {
+            return ((CaptureNode) check).getSource() == CaptureNode.Source.JSON;
+        }
+        return ((AssertionNode) check).getType() == AssertionNode.AssertionType.JSON_EQUALS;
+    }
+    
+    private void generateCapture(CaptureNode capture, List<String> jsonPaths) {
+        String key = escapeJava(capture.getKey());
+        if (capture.getSource() == CaptureNode.Source.JSON) {
+            println("cap_" + capture.getName() + " = JsonPathExtractor.text(json[" + 
+                   jsonPaths.indexOf(capture.getKey()) + "], \"" + key + "\");");
+        } else {
+            println("cap_" + capture.getName() + " = resp.requireHeader(\"" + key + "\");");
+        }
     }
     
     private void generateTestMethods() {
+        TableEncoder table = new TableEncoder(substitutor);
         for (TestNode test : program.getTests()) {
-            generateTestMethod(test);
+            if (tableMode && table.canEncode(test) && !compressesBody(test)) {
+                if (tableIndex.isEmpty()) {
+                    tableFirst = test;
+                }
+                tableIndex.put(test.getName(), tableIndex.size());
+                table.add(test);
+            } else {
+                generateTestMethod(test);
+            }
+        }
+        if (!tableIndex.isEmpty()) {
+            generateTable(table);
         }
     }
     
-    private void generateTestMethod(TestNode test) {
-        println("@Test");
-        println("void test_" + test.getName() + "() throws Exception {");
+    private void printOrder(TestNode test) {
+        if (ordered) {
+            println("@Order(" + (program.getTests().indexOf(test) + 1) + ")");
+        }
+    }
+    
+    private boolean compressesBody(TestNode test) {
+        for (RequestNode request : test.getRequests()) {
+            if (compressesBody(request)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * The table is a few string constants whatever the number of tests, and one
+     * factory turns its rows into dynamic tests named after the original tests
+     */
+    private void generateTable(TableEncoder table) {
+        println("static final RequestTable TABLE = new RequestTable(");
         indentLevel++;
+        List<String> chunks = table.chunks();
+        for (int i = 0; i < chunks.size(); i++) {
+            println("\"" + escapeJava(chunks.get(i)) + "\"" + (i < chunks.size() - 1 ? "," : ");"));
+        }
+        indentLevel--;
+        println();
+        // The table runs where its first test is in the order
+        printOrder(tableFirst);
+        println("@TestFactory");
+        println("Stream<DynamicTest> tableTests() {");
+        indentLevel++;
+        println("return IntStream.range(0, TABLE.size()).mapToObj(i ->");
+        indentLevel++;
+        println("DynamicTest.dynamicTest(TABLE.name(i), () ->");
+        indentLevel++;
+        println("Timings.run(\"" + className + ".\" + TABLE.name(i), () -> TABLE.run(i, SUITE))));");
+        indentLevel--;
+        indentLevel--;
+        indentLevel--;
+        println("}");
+        println();
+    }
+    
+    /**
+     * Expression that runs a test once without arguments, for workloads
+     */
+    private String iteration(String testName) {
+        Integer row = tableIndex.get(testName);
+        if (row != null) {
+            return "() -> TABLE.run(" + row + ", SUITE)";
+        }
+        return "() -> run_" + testName + "()";
+    }
+    
+    /**
+     * Key of a test in the timing history, as read by compiler.Sharding
+     */
+    private String timingKey(TestNode test) {
+        return "\"" + escapeJava(className + "." + test.getName()) + "\"";
+    }
+    
+    private void generateTestMethod(TestNode test) {
+        // All json paths of a test are compiled into one extractor, walked once per response
+        List<String> jsonPaths = collectJsonPaths(test.getAssertions());
+        if (!jsonPaths.isEmpty()) {
+            println("static final JsonPathExtractor JSON_" + test.getName() + " = new JsonPathExtractor(" +
+                   joinQuoted(jsonPaths) + ");");
+            println();
+        }
         
-        // Generate requests and assertions
-        RequestNode lastRequest = null;
-        
-        for (RequestNode request : test.getRequests()) {
-            lastRequest = request;
-            generateRequest(request);
+        // The @Test only delegates, so load runs can execute the same body repeatedly;
+        // it also records the duration that --shard balances the next partition by
+        String param = "";
+        String arg = "";
+        if (test.isDataDriven()) {
+            // One dynamic test per row, read lazily; JUnit closes the stream when done
+            param = "Row row";
+            arg = "row";
+            println("static final String ROWS_" + test.getName() + " = \"" + escapeJava(test.getRowsFile()) + "\";");
             println();
+            printOrder(test);
+            println("@TestFactory");
+            println("Stream<DynamicTest> test_" + test.getName() + "() throws Exception {");
+            indentLevel++;
+            println("return Rows.open(ROWS_" + test.getName() + ")");
+            indentLevel++;
+            println(".map(row -> DynamicTest.dynamicTest(row.toString(), () ->");
+            indentLevel++;
+            println("Timings.run(" + timingKey(test) + ", () -> run_" + test.getName() + "(row))));");
+            indentLevel--;
+            indentLevel--;
+            indentLevel--;
+            println("}");
+            substitutor.setRowVariable("row");
+        } else {
+            printOrder(test);
+            println("@Test");
+            println("void test_" + test.getName() + "() throws Exception {");
+            indentLevel++;
+            println("Timings.run(" + timingKey(test) + ", () -> run_" + test.getName() + "());");
+            indentLevel--;
+            println("}");
         }
+        println();
+        
+        println("static void run_" + test.getName() + "(" + param + ") throws Exception {");
+        indentLevel++;
         
-        // Generate assertions (they apply to the last request)
-        for (AssertionNode assertion : test.getAssertions()) {
-            generateAssertion(assertion);
+        // Requests and loops in order, then the assertions on the last request
+        List<Statement> statements = new ArrayList<>();
+        List<RequestNode> requests = test.getRequests();
+        RequestNode lastRequest = requests.isEmpty() ? null : requests.get(requests.size() - 1);
+        int loopIndex = 0;
+        for (ASTNode step : test.getSteps()) {
+            if (step instanceof LoopNode) {
+                String call = "loop_" + test.getName() + "_" + (++loopIndex) + "(" + arg + ");";
+                statements.add(new Statement(estimator.call(), () -> println(call)));
+            } else {
+                boolean last = step == lastRequest;
+                statements.add(requestStatement((RequestNode) step, last, last && readsBody(test.getAssertions()), null));
+            }
         }
+        addAssertions(statements, test.getAssertions());
+        
+        List<List<Statement>> steps = generateStatements("run_" + test.getName(), arg, statements,
+                                                         "JSON_" + test.getName(), jsonPaths);
         
         indentLevel--;
         println("}");
         println();
+        
+        generateStepMethods("run_" + test.getName(), param, steps, "JSON_" + test.getName(), jsonPaths);
+        
+        for (int i = 0; i < test.getLoops().size(); i++) {
+            generateLoopMethod(test.getName() + "_" + (i + 1), test.getLoops().get(i), param);
+        }
+        substitutor.setRowVariable(null);
     }
     
-    private void generateRequest(RequestNode request) {
-        String path = substitutor.substitute(request.getPath());
+    /**
+     * One statement of a generated method body and its estimated bytecode size
+     */
+    private static class Statement {
+        final int bytes;
+        final Runnable emit;
         
-        // Determine full URL
-        String url;
-        if (path.startsWith("http://") || path.startsWith("https://")) {
-            url = path;
-        } else {
-            url = "BASE + \"" + escapeJava(path) + "\"";
+        Statement(int bytes, Runnable emit) {
+            this.bytes = bytes;
+            this.emit = emit;
+        }
+    }
+    
+    /**
+     * Send a request; only the last one keeps its response, and its body only if
+     * bodyRead. A prebuilt template is sent as is when given.
+     */
+    private Statement requestStatement(RequestNode request, boolean last, boolean bodyRead, String template) {
+        return new Statement(estimator.request(request), () -> {
+            String assign = last ? respAssign : "";
+            if (template != null) {
+                println(assign + "SUITE.send(" + template + keepArgument(request, bodyRead) + ");");
+            } else {
+                generateRequest(assign, request, bodyRead);
+            }
+        });
+    }
+    
+    private void addAssertions(List<Statement> statements, List<AssertionNode> assertions) {
+        for (AssertionNode assertion : assertions) {
+            statements.add(new Statement(estimator.assertion(assertion), () -> {
+                // The body is parsed once per method, right before the first json assertion
+                if (assertion.getType() == AssertionNode.AssertionType.JSON_EQUALS && !extracted) {
+                    println("Object[] json = resp.json(" + extractor + ");");
+                    extracted = true;
+                }
+                generateAssertion(assertion, jsonPaths);
+            }));
+        }
+    }
+    
+    /**
+     * Emit a method body. If it would come near the JIT's huge-method limit it is
+     * split into step methods instead, called in order here with the latest response
+     * passed along; the returned steps are generated by generateStepMethods.
+     */
+    private List<List<Statement>> generateStatements(String method, String args, List<Statement> statements,
+                                                     String extractor, List<String> jsonPaths) {
+        this.extractor = extractor;
+        this.jsonPaths = jsonPaths;
+        
+        List<List<Statement>> steps = partition(statements);
+        if (steps.size() == 1) {
+            respAssign = "Exchange resp = ";
+            extracted = false;
+            for (Statement statement : statements) {
+                statement.emit.run();
+            }
+            return new ArrayList<>();
         }
         
-        // Create request builder
-        println("HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(" + url + "))");
+        String prefix = args.isEmpty() ? "" : args + ", ";
+        println("Exchange resp = null;");
+        for (int i = 0; i < steps.size(); i++) {
+            println("resp = " + method + "_step" + (i + 1) + "(" + prefix + "resp);");
+        }
+        return steps;
+    }
+    
+    /**
+     * Group statements in order into steps that each stay within the method budget
+     */
+    private static List<List<Statement>> partition(List<Statement> statements) {
+        List<List<Statement>> steps = new ArrayList<>();
+        List<Statement> step = new ArrayList<>();
+        int stepBytes = 0;
+        for (Statement statement : statements) {
+            if (stepBytes + statement.bytes > BytecodeEstimator.METHOD_BUDGET && !step.isEmpty()) {
+                steps.add(step);
+                step = new ArrayList<>();
+                stepBytes = 0;
+            }
+            step.add(statement);
+            stepBytes += statement.bytes;
+        }
+        steps.add(step);
+        return steps;
+    }
+    
+    private void generateStepMethods(String method, String params, List<List<Statement>> steps,
+                                     String extractor, List<String> jsonPaths) {
+        this.extractor = extractor;
+        this.jsonPaths = jsonPaths;
+        String prefix = params.isEmpty() ? "" : params + ", ";
+        for (int i = 0; i < steps.size(); i++) {
+            println("private static Exchange " + method + "_step" + (i + 1) + "(" + prefix + 
+                   "Exchange resp) throws Exception {");
+            indentLevel++;
+            respAssign = "resp = ";
+            extracted = false;
+            for (Statement statement : steps.get(i)) {
+                statement.emit.run();
+            }
+            println("return resp;");
+            indentLevel--;
+            println("}");
+            println();
+        }
+    }
+    
+    /**
+     * A loop becomes a real Java loop in its own method, so the generated code has
+     * the same size whatever the iteration count. Requests that do not depend on the
+     * loop variable are built once before the loop and sent again on every iteration;
+     * the others are rebuilt with the variable concatenated in (javac compiles the
+     * concatenation to a single presized allocation, without boxing the counter).
+     */
+    private void generateLoopMethod(String name, LoopNode loop, String param) {
+        List<String> jsonPaths = collectJsonPaths(loop.getAssertions());
+        if (!jsonPaths.isEmpty()) {
+            println("static final JsonPathExtractor JSON_loop_" + name + " = new JsonPathExtractor(" +
+                   joinQuoted(jsonPaths) + ");");
+            println();
+        }
+        
+        println("static void loop_" + name + "(" + param + ") throws Exception {");
         indentLevel++;
-        println(".timeout(Duration.ofSeconds(10))");
         
-        // HTTP method and body
-        switch (request.getMethod()) {
-            case GET:
-                println(".GET();");
-                break;
-            case DELETE:
-                println(".DELETE();");
-                break;
-            case POST:
-                if (request.hasBody()) {
-                    String body = substitutor.substitute(request.getBody());
-                    println(".POST(HttpRequest.BodyPublishers.ofString(\"" + 
-                           escapeJava(body) + "\", StandardCharsets.UTF_8));");
-                } else {
-                    println(".POST(HttpRequest.BodyPublishers.noBody());");
-                }
-                break;
-            case PUT:
-                if (request.hasBody()) {
-                    String body = substitutor.substitute(request.getBody());
-                    println(".PUT(HttpRequest.BodyPublishers.ofString(\"" + 
-                           escapeJava(body) + "\", StandardCharsets.UTF_8));");
-                } else {
-                    println(".PUT(HttpRequest.BodyPublishers.noBody());");
-                }
-                break;
+        if (loop.hasVariable()) {
+            substitutor.addRuntimeVariable(loop.getVariable(), "i");
         }
-        indentLevel--;
         
-        // Add request-specific headers
-        for (HeaderNode header : request.getHeaders()) {
-            println("b.header(\"" + escapeJava(header.getKey()) + "\", \"" + 
-                   escapeJava(header.getValue()) + "\");");
+        // Templates double the request code of the method, so they are skipped for huge bodies
+        List<RequestNode> requests = loop.getRequests();
+        int bodyBytes = 0;
+        for (RequestNode request : requests) {
+            bodyBytes += 2 * estimator.request(request);
+        }
+        for (AssertionNode assertion : loop.getAssertions()) {
+            bodyBytes += estimator.assertion(assertion);
+        }
+        boolean useTemplates = bodyBytes <= BytecodeEstimator.METHOD_BUDGET;
+        
+        List<Statement> statements = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            RequestNode request = requests.get(i);
+            String template = null;
+            if (useTemplates && !(loop.hasVariable() && references(request, loop.getVariable()))) {
+                template = "template" + i;
+                printCall("HttpRequest " + template + " = SUITE.build(", requestBuilder(request), ");");
+            }
+            boolean last = i == requests.size() - 1;
+            statements.add(requestStatement(request, last, last && readsBody(loop.getAssertions()), template));
         }
+        addAssertions(statements, loop.getAssertions());
         
-        // Add default headers
-        println("for (var e : DEFAULT_HEADERS.entrySet()) {");
+        // Step methods get the loop counter as i, like the loop body
+        String args = param.isEmpty() ? "i" : "i, row";
+        String params = param.isEmpty() ? "int i" : "int i, " + param;
+        
+        println("for (int i = " + loop.getFrom() + "; i <= " + loop.getTo() + "; i++) {");
         indentLevel++;
-        println("b.header(e.getKey(), e.getValue());");
+        List<List<Statement>> steps = generateStatements("loop_" + name, args, statements,
+                                                         "JSON_loop_" + name, jsonPaths);
         indentLevel--;
         println("}");
         
-        // Send request
-        println("HttpResponse<String> resp = client.send(b.build(), " +
-               "HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));");
+        indentLevel--;
+        println("}");
+        println();
+        
+        generateStepMethods("loop_" + name, params, steps, "JSON_loop_" + name, jsonPaths);
+        if (loop.hasVariable()) {
+            substitutor.removeRuntimeVariable(loop.getVariable());
+        }
+    }
+    
+    private boolean references(RequestNode request, String variable) {
+        // A body file may use any variable, which is only known once it is read
+        if (request.hasBodyFile() || substitutor.references(request.getPath(), variable) ||
+                substitutor.references(request.getBody(), variable)) {
+            return true;
+        }
+        for (HeaderNode header : request.getHeaders()) {
+            if (substitutor.references(header.getValue(), variable)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void generateLoadMethods() {
+        for (LoadNode load : program.getLoads()) {
+            generateLoadMethod(load);
+        }
+    }
+    
+    /**
+     * Load runs are opt-in: they only execute with -Dtestlang.perf=true
+     */
+    private void generateLoadMethod(LoadNode load) {
+        // A field, so that runtime.Worker processes can each run a share of it
+        println("static final LoadGenerator LOAD_" + load.getName() + " = new LoadGenerator(\"" + load.getName() +
+               "\", " + load.getTargetRps() + ", " + load.getDurationMillis() + "L, " +
+               load.getMaxConcurrency() + ", " + load.getRampUpMillis() + "L);");
+        println();
+        println("@Test");
+        println("@Tag(\"load\")");
+        println("@EnabledIfSystemProperty(named = \"testlang.perf\", matches = \"true\")");
+        println("void load_" + load.getName() + "() throws Exception {");
+        indentLevel++;
+        println("LoadReport report = LOAD_" + load.getName() + ".run(" + iteration(load.getTestName()) + ");");
+        println("System.out.println(report);");
+        println("System.out.println(\"  histogram log: \" + report.writeHistogramLog());");
+        println("assertTrue(report.getErrors() <= " + load.getMaxErrors() + ", " +
+               "() -> \"too many errors\\n\" + report);");
+        indentLevel--;
+        println("}");
+        println();
+    }
+    
+    private void generateCapacityMethods() {
+        for (CapacityNode capacity : program.getCapacities()) {
+            generateCapacityMethod(capacity);
+        }
+    }
+    
+    /**
+     * Capacity searches are opt-in like load runs: they only execute with -Dtestlang.perf=true
+     */
+    private void generateCapacityMethod(CapacityNode capacity) {
+        println("@Test");
+        println("@Tag(\"capacity\")");
+        println("@EnabledIfSystemProperty(named = \"testlang.perf\", matches = \"true\")");
+        println("void capacity_" + capacity.getName() + "() throws Exception {");
+        indentLevel++;
+        println("CapacityReport report = new CapacitySearch(\"" + capacity.getName() + "\", " +
+               capacity.getLatencySloMillis() + "L, " + capacity.getPercentile() + ", " +
+               capacity.getMaxErrorPct() + ", " + capacity.getStepMillis() + "L, " +
+               capacity.getMaxConcurrency() + ", " + capacity.getIncrease() + ")");
+        indentLevel++;
+        println(".run(" + iteration(capacity.getTestName()) + ");");
+        indentLevel--;
+        println("System.out.println(report);");
+        println("assertNotNull(report.getKnee(), () -> report.toString());");
+        indentLevel--;
+        println("}");
+        println();
+    }
+    
+    private void generateScenarioMethods() {
+        for (ScenarioNode scenario : program.getScenarios()) {
+            generateScenarioMethod(scenario);
+        }
+    }
+    
+    /**
+     * Scenarios are opt-in like load runs: they only execute with -Dtestlang.perf=true
+     */
+    private void generateScenarioMethod(ScenarioNode scenario) {
+        println("@Test");
+        println("@Tag(\"scenario\")");
+        println("@EnabledIfSystemProperty(named = \"testlang.perf\", matches = \"true\")");
+        println("void scenario_" + scenario.getName() + "() throws Exception {");
+        indentLevel++;
+        println("ScenarioRunner runner = new ScenarioRunner(\"" + scenario.getName() + "\", " +
+               scenario.getUsers() + ", " + scenario.getDurationMillis() + "L, " + 
+               scenario.getRampUpMillis() + "L);");
+        for (MixNode mix : scenario.getMix()) {
+            println("runner.add(\"" + mix.getTestName() + "\", " + mix.getWeight() + ", " + 
+                   thinkTime(mix) + ", " + iteration(mix.getTestName()) + ");");
+        }
+        println("ScenarioReport report = runner.run();");
+        println("System.out.println(report);");
+        println("assertTrue(report.getErrors() <= " + scenario.getMaxErrors() + ", " +
+               "() -> \"too many errors\\n\" + report);");
+        indentLevel--;
+        println("}");
+        println();
+    }
+    
+    private String thinkTime(MixNode mix) {
+        switch (mix.getThinkDistribution()) {
+            case "constant":
+                return "ThinkTime.constant(" + mix.getThinkMillis() + "L)";
+            case "uniform":
+                return "ThinkTime.uniform(" + mix.getThinkMillis() + "L, " + mix.getThinkMaxMillis() + "L)";
+            case "exponential":
+                return "ThinkTime.exponential(" + mix.getThinkMillis() + "L)";
+            default:
+                return "ThinkTime.none()";
+        }
+    }
+    
+    /**
+     * Send a request through the suite; assign is either empty or declares the variable
+     * that receives the response
+     */
+    private void generateRequest(String assign, RequestNode request, boolean bodyRead) {
+        printCall(assign + "SUITE.send(", requestBuilder(request), keepArgument(request, bodyRead) + ");");
+    }
+    
+    /**
+     * Extra argument of SUITE.send for the response body: none to keep all of it,
+     * Suite.DISCARD when nothing reads it, or the number of bytes to keep
+     */
+    private String keepArgument(RequestNode request, boolean bodyRead) {
+        switch (request.getBodyHandling()) {
+            case FULL:
+                return "";
+            case FIRST:
+                return ", " + request.getBodyLimit() + "L";
+            case DISCARD:
+                return ", Suite.DISCARD";
+            default:
+                return bodyRead ? "" : ", Suite.DISCARD";
+        }
+    }
+    
+    /**
+     * Whether any of the assertions or captures following a request read its body
+     */
+    public static boolean readsBody(List<? extends ASTNode> checks) {
+        for (ASTNode check : checks) {
+            if (check instanceof CaptureNode && ((CaptureNode) check).getSource() == CaptureNode.Source.JSON) {
+                return true;
+            }
+            if (check instanceof AssertionNode) {
+                AssertionNode.AssertionType type = ((AssertionNode) check).getType();
+                // The uncompressed size is only known once the body has been decoded
+                if (type == AssertionNode.AssertionType.BODY_CONTAINS || type == AssertionNode.AssertionType.JSON_EQUALS ||
+                        type == AssertionNode.AssertionType.UNCOMPRESSED_SIZE_BELOW) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
     
-    private void generateAssertion(AssertionNode assertion) {
+    /**
+     * Builder expression for a request, one line per call:
+     * SUITE.post(path, body), then one .header(...) per request header
+     */
+    private List<String> requestBuilder(RequestNode request) {
+        List<String> lines = new ArrayList<>();
+        String path = substitutor.toJava(request.getPath());
+        if (request.hasBodyFile()) {
+            // Streamed from disk on every send; placeholders are substituted only if the file has any
+            lines.add("SUITE.request(\"" + request.getMethod().name() + "\", " + path +
+                     ", Payloads.file(\"" + escapeJava(request.getBodyFile()) + "\", " +
+                     substitutor.payloadArguments() + "))");
+        } else if (compressesBody(request)) {
+            // Gzipped once here instead of on every send
+            int index = bodies.addGzip(substitutor.substitute(request.getBody()));
+            lines.add("SUITE.request(\"" + request.getMethod().name() + "\", " + path +
+                     ", BODIES.publisher(" + index + "))");
+            lines.add(".header(\"Content-Encoding\", \"gzip\")");
+        } else if (request.hasBody() && BodyStore.isLarge(request.getBody()) && substitutor.isConstant(request.getBody())) {
+            // Sent straight from the mapped body file, never held as a String
+            int index = bodies.add(substitutor.substitute(request.getBody()));
+            lines.add("SUITE.request(\"" + request.getMethod().name() + "\", " + path +
+                     ", BODIES.publisher(" + index + "))");
+        } else {
+            String body = request.hasBody() ? substitutor.toJava(request.getBody(), this::literal) : "null";
+            switch (request.getMethod()) {
+                case GET:
+                    lines.add("SUITE.get(" + path + ")");
+                    break;
+                case DELETE:
+                    lines.add("SUITE.delete(" + path + ")");
+                    break;
+                case POST:
+                    lines.add("SUITE.post(" + path + ", " + body + ")");
+                    break;
+                case PUT:
+                    lines.add("SUITE.put(" + path + ", " + body + ")");
+                    break;
+            }
+        }
+        for (HeaderNode header : request.getHeaders()) {
+            lines.add(".header(\"" + escapeJava(header.getKey()) + "\", " + 
+                     substitutor.toJava(header.getValue()) + ")");
+        }
+        return lines;
+    }
+    
+    /**
+     * With request_compression = gzip, constant bodies big enough to gain from it
+     * are compressed at compile time
+     */
+    private boolean compressesBody(RequestNode request) {
+        ConfigNode config = program.getConfig();
+        return config != null && config.getRequestCompression().equals("gzip") && request.hasBody() &&
+               request.getBody().length() >= BodyStore.COMPRESS_MIN && substitutor.isConstant(request.getBody());
+    }
+    
+    /**
+     * Java expression for literal body text; large text is read from the body file
+     */
+    private String literal(String text) {
+        if (BodyStore.isLarge(text)) {
+            return "BODIES.text(" + bodies.add(text) + ")";
+        }
+        return "\"" + escapeJava(text) + "\"";
+    }
+    
+    private void printCall(String prefix, List<String> lines, String suffix) {
+        for (int i = 0; i < lines.size(); i++) {
+            String line = (i == 0 ? prefix : "    ") + lines.get(i) + (i == lines.size() - 1 ? suffix : "");
+            println(line);
+        }
+    }
+    
+    private List<String> collectJsonPaths(List<AssertionNode> assertions) {
+        List<String> paths = new ArrayList<>();
+        for (AssertionNode assertion : assertions) {
+            if (assertion.getType() == AssertionNode.AssertionType.JSON_EQUALS &&
+                    !paths.contains(assertion.getJsonPath())) {
+                paths.add(assertion.getJsonPath());
+            }
+        }
+        return paths;
+    }
+    
+    private void generateAssertion(AssertionNode assertion, List<String> jsonPaths) {
         switch (assertion.getType()) {
             case STATUS:
-                println("assertEquals(" + assertion.getExpectedStatusCode() + 
-                       ", resp.statusCode());");
+                println("resp.expectStatus(" + assertion.getExpectedStatusCode() + ");");
                 break;
                 
             case HEADER_EQUALS:
-                println("assertEquals(\"" + escapeJava(assertion.getExpectedValue()) + "\", " +
-                       "resp.headers().firstValue(\"" + escapeJava(assertion.getHeaderKey()) + 
-                       "\").orElse(\"\"));");
+                println("resp.expectHeader(\"" + escapeJava(assertion.getHeaderKey()) + "\", \"" +
+                       escapeJava(assertion.getExpectedValue()) + "\");");
                 break;
                 
             case HEADER_CONTAINS:
-                println("assertTrue(resp.headers().firstValue(\"" + 
-                       escapeJava(assertion.getHeaderKey()) + "\").orElse(\"\").contains(\"" +
-                       escapeJava(assertion.getExpectedValue()) + "\"));");
+                println("resp.expectHeaderContains(\"" + escapeJava(assertion.getHeaderKey()) + "\", \"" +
+                       escapeJava(assertion.getExpectedValue()) + "\");");
                 break;
                 
             case BODY_CONTAINS:
-                String expectedValue = substitutor.substitute(assertion.getExpectedValue());
-                println("assertTrue(resp.body().contains(\"" + 
-                       escapeJava(expectedValue) + "\"));");
+                println("resp.expectBodyContains(" + substitutor.toJava(assertion.getExpectedValue()) + ");");
+                break;
+                
+            case JSON_EQUALS:
+                int slot = jsonPaths.indexOf(assertion.getJsonPath());
+                println("resp.expectJson(json[" + slot + "], \"" + escapeJava(assertion.getJsonPath()) + "\", " +
+                       substitutor.toJsonJava(assertion.getExpectedValue()) + ");");
+                break;
+                
+            case LATENCY_BELOW:
+                println("resp.expectLatencyBelow(" + assertion.getLimit() + ");");
+                break;
+                
+            case SIZE_BELOW:
+                println("resp.expectSizeBelow(" + assertion.getLimit() + "L);");
+                break;
+                
+            case UNCOMPRESSED_SIZE_BELOW:
+                println("resp.expectUncompressedSizeBelow(" + assertion.getLimit() + "L);");
                 break;
         }
     }
     
     // Helper methods
+    private String joinQuoted(List<String> values) {
+        StringBuilder sb = new StringBuilder();
+        for (String value : values) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append("\"").append(escapeJava(value)).append("\"");
+        }
+        return sb.toString();
+    }
+    
     private void println(String line) {
         for (int i = 0; i < indentLevel; i++) {
             writer.print("    ");
@@ -235,7 +1003,7 @@ public class CodeGenerator {
     /**
      * Escape special characters for Java strings
      */
-    private String escapeJava(String input) {
+    static String escapeJava(String input) {
         if (input == null) {
             return "";
         }
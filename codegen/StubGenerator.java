@@ -0,0 +1,712 @@
+package codegen;
+
+import ast.*;
+import java.io.BufferedReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Generates a stub of the backend from the expectations of a program: a class
+ * with a main() that serves, on runtime.StubServer, a canned response for every
+ * request the tests send, built to pass the assertions on it.
+ *
+ * Every request gets the status, headers, json values and body text its
+ * assertions ask for, and the values setup captures (as "stub-<name>").
+ * Expectations of all requests to the same method and path are merged, except
+ * for a setup or teardown request whose body no test sends to that route: it
+ * gets its own response, served only for that request body.
+ * Path segments that use a runtime variable (a loop counter, a data row column)
+ * become "*" routes, and the variable in the response becomes that segment of
+ * the requested path. Rows of CSV files with at most MAX_ROWS rows are read here
+ * and get exact routes. What cannot be derived (values only known at runtime
+ * outside the path, conflicting expectations) is reported as a warning.
+ */
+public class StubGenerator {
+    private static final int MAX_ROWS = 1000;
+    private static final int ROUTES_PER_METHOD = 200;
+    private static final Pattern VAR_PATTERN = Pattern.compile("\\$([A-Za-z_][A-Za-z0-9_]*)");
+    // A body contains assertion that names one JSON member: "key": or "key":value or "key":value,
+    private static final Pattern MEMBER = Pattern.compile("\"([^\"\\\\]+)\":\\s*(.*?)(,?)", Pattern.DOTALL);
+    private static final Pattern JSON_SCALAR =
+        Pattern.compile("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?|true|false|null|\"[^\"\\\\]*\"|\\$\\{\\d+\\}");
+
+    private final ProgramNode program;
+    private final Map<String, String> constants = new HashMap<>();  // let variables and captures
+    private final Map<String, Spec> routes = new LinkedHashMap<>();  // "METHOD path" -> expectations
+    // Setup and teardown requests: "METHOD path" -> request body -> expectations
+    private final Map<String, Map<String, Spec>> fixtureRoutes = new LinkedHashMap<>();
+    private final Map<String, Set<String>> testBodies = new HashMap<>();  // "METHOD path" -> bodies tests send
+    private final List<String> warnings = new ArrayList<>();
+    private final String basePath;
+
+    public StubGenerator(ProgramNode program) {
+        this.program = program;
+        for (VariableNode variable : program.getVariables().values()) {
+            constants.put(variable.getName(), variable.getValue().toString());
+        }
+        for (FixtureNode fixture : new FixtureNode[] {program.getSetup(), program.getTeardown()}) {
+            if (fixture != null) {
+                for (CaptureNode capture : fixture.getCaptures()) {
+                    constants.put(capture.getName(), "stub-" + capture.getName());
+                }
+            }
+        }
+        String base = program.getConfig() != null ? program.getConfig().getBaseUrl() : null;
+        String path = base != null ? URI.create(base).getPath() : null;
+        this.basePath = path == null || path.equals("/") ? "" : path.replaceAll("/$", "");
+    }
+
+    public List<String> getWarnings() {
+        return warnings;
+    }
+
+    /**
+     * Write the stub class of the tests generated into testsOutput, named <Class>Stub
+     */
+    public void generate(String testsOutput) throws IOException {
+        collect();
+        String testClass = CodeGenerator.className(testsOutput);
+        String stubClass = testClass + "Stub";
+        Path output = Paths.get(testsOutput).resolveSibling(stubClass + ".java");
+
+        List<String> calls = new ArrayList<>();
+        for (Map.Entry<String, Spec> route : routes.entrySet()) {
+            int space = route.getKey().indexOf(' ');
+            calls.add(route.getValue().call(route.getKey().substring(0, space), route.getKey().substring(space + 1)));
+        }
+        for (Map.Entry<String, Map<String, Spec>> route : fixtureRoutes.entrySet()) {
+            int space = route.getKey().indexOf(' ');
+            for (Map.Entry<String, Spec> body : route.getValue().entrySet()) {
+                calls.add(body.getValue().call(route.getKey().substring(0, space), route.getKey().substring(space + 1),
+                                               body.getKey()));
+            }
+        }
+
+        try (PrintWriter out = new PrintWriter(new FileWriter(output.toFile()))) {
+            out.println("import runtime.StubServer;");
+            out.println();
+            out.println("public class " + stubClass + " {");
+            out.println("    public static StubServer create(int port) throws java.io.IOException {");
+            out.println("        StubServer server = new StubServer(port);");
+            for (int i = 0; i < calls.size(); i += ROUTES_PER_METHOD) {
+                out.println("        routes" + (i / ROUTES_PER_METHOD + 1) + "(server);");
+            }
+            out.println("        return server;");
+            out.println("    }");
+            out.println();
+            out.println("    public static void main(String[] args) throws Exception {");
+            out.println("        StubServer server = create(args.length > 0 ? Integer.parseInt(args[0]) : " +
+                        defaultPort() + ").start();");
+            out.println("        System.out.println(\"Stub of " + testClass + " listening on \" + server.baseUrl());");
+            out.println("    }");
+            // Routes are split over methods so that a big suite stays under the JVM's method size limit
+            for (int i = 0; i < calls.size(); i += ROUTES_PER_METHOD) {
+                out.println();
+                out.println("    private static void routes" + (i / ROUTES_PER_METHOD + 1) + "(StubServer server) {");
+                for (String call : calls.subList(i, Math.min(i + ROUTES_PER_METHOD, calls.size()))) {
+                    out.println("        server" + call + ";");
+                }
+                out.println("    }");
+            }
+            out.println("}");
+        }
+    }
+
+    /**
+     * The port of the base URL, so the tests find the stub without -Dtestlang.base_url
+     */
+    private int defaultPort() {
+        String base = program.getConfig() != null ? program.getConfig().getBaseUrl() : null;
+        int port = base != null ? URI.create(base).getPort() : -1;
+        return port > 0 ? port : 8080;
+    }
+
+    private void collect() {
+        if (program.getSetup() != null) {
+            collectFixture("Setup", program.getSetup());
+        }
+        if (program.getTeardown() != null) {
+            collectFixture("Teardown", program.getTeardown());
+        }
+        for (TestNode test : program.getTests()) {
+            String where = "Test '" + test.getName() + "'";
+            List<Map<String, String>> rows = test.isDataDriven() ? readRows(where, test.getRowsFile()) : null;
+            if (rows == null) {
+                rows = Collections.singletonList(new HashMap<>());
+            }
+            for (Map<String, String> row : rows) {
+                collectTest(where, test, row);
+            }
+        }
+        separateFixtureRoutes();
+        mergePatternsIntoExactRoutes();
+    }
+
+    private void collectFixture(String where, FixtureNode fixture) {
+        List<ASTNode> statements = fixture.getStatements();
+        int i = 0;
+        while (i < statements.size()) {
+            RequestNode request = (RequestNode) statements.get(i++);
+            List<ASTNode> checks = new ArrayList<>();
+            while (i < statements.size() && !(statements.get(i) instanceof RequestNode)) {
+                checks.add(statements.get(i++));
+            }
+            add(where, request, checks, new HashMap<>(), true);
+        }
+    }
+
+    private void collectTest(String where, TestNode test, Map<String, String> row) {
+        // The assertions of a test check its last request; those of a loop, the loop's last request
+        List<RequestNode> requests = test.getRequests();
+        for (int i = 0; i < requests.size(); i++) {
+            List<ASTNode> checks = new ArrayList<>();
+            if (i == requests.size() - 1) {
+                checks.addAll(test.getAssertions());
+            }
+            add(where, requests.get(i), checks, row, false);
+        }
+        for (LoopNode loop : test.getLoops()) {
+            for (int i = 0; i < loop.getRequests().size(); i++) {
+                List<ASTNode> checks = new ArrayList<>();
+                if (i == loop.getRequests().size() - 1) {
+                    checks.addAll(loop.getAssertions());
+                }
+                add(where, loop.getRequests().get(i), checks, row, false);
+            }
+        }
+    }
+
+    /**
+     * Add the expectations on one request to its route; those of a fixture
+     * request with a known body are kept apart until separateFixtureRoutes
+     */
+    private void add(String where, RequestNode request, List<ASTNode> checks, Map<String, String> row,
+                     boolean fixture) {
+        String path = request.getPath();
+        if (path.startsWith("http://") || path.startsWith("https://")) {
+            warnings.add(where + ": " + path + " is not on the base URL and is not stubbed");
+            return;
+        }
+        int query = path.indexOf('?');
+        path = basePath + (query >= 0 ? path.substring(0, query) : path);
+
+        // Segments that are just a runtime variable can be echoed back; other unknown segments only match
+        Map<String, Integer> segments = new HashMap<>();
+        String[] parts = path.split("/", -1);
+        for (int i = 0; i < parts.length; i++) {
+            String resolved = resolve(parts[i], row, segments);
+            if (resolved == null) {
+                Matcher matcher = VAR_PATTERN.matcher(parts[i]);
+                if (matcher.matches()) {
+                    segments.put(matcher.group(1), i);
+                }
+                parts[i] = "*";
+            } else {
+                parts[i] = resolved;
+            }
+        }
+
+        Spec spec = new Spec();
+        for (ASTNode check : checks) {
+            if (check instanceof CaptureNode) {
+                CaptureNode capture = (CaptureNode) check;
+                String value = "stub-" + capture.getName();
+                if (capture.getSource() == CaptureNode.Source.JSON) {
+                    spec.json(where, capture.getKey(), "\"" + value + "\"");
+                } else {
+                    spec.header(where, capture.getKey(), value);
+                }
+                continue;
+            }
+            AssertionNode assertion = (AssertionNode) check;
+            String value = resolve(assertion.getExpectedValue(), row, segments);
+            if (value == null) {
+                warnings.add(where + ": " + assertion + " uses a value only known at runtime and is not stubbed");
+                continue;
+            }
+            switch (assertion.getType()) {
+                case STATUS:
+                    spec.status(where, assertion.getExpectedStatusCode());
+                    break;
+                case HEADER_EQUALS:
+                    spec.header(where, assertion.getHeaderKey(), value);
+                    break;
+                case HEADER_CONTAINS:
+                    spec.headerContains(where, assertion.getHeaderKey(), value);
+                    break;
+                case BODY_CONTAINS:
+                    spec.contains.add(value);
+                    break;
+                case JSON_EQUALS:
+                    spec.json(where, assertion.getJsonPath(), value);
+                    break;
+                default:
+                    // Latency and size are met by any small canned response
+                    break;
+            }
+        }
+        String route = request.getMethod().name() + " " + String.join("/", parts);
+        String body = requestBody(request, row, segments);
+        if (fixture && body != null && !route.contains("*")) {
+            Spec existing = fixtureRoutes.computeIfAbsent(route, k -> new LinkedHashMap<>()).putIfAbsent(body, spec);
+            if (existing != null) {
+                existing.merge(where + " (" + route + ")", spec);
+            }
+            return;
+        }
+        if (!fixture) {
+            // An unknown body could be any fixture's
+            testBodies.computeIfAbsent(route, k -> new HashSet<>()).add(body);
+        }
+        Spec existing = routes.get(route);
+        if (existing == null) {
+            routes.put(route, spec);
+        } else {
+            existing.merge(where + " (" + route + ")", spec);
+        }
+    }
+
+    /**
+     * The body a request sends as the stub receives it, or null if it is only
+     * known at runtime or sent compressed
+     */
+    private String requestBody(RequestNode request, Map<String, String> row, Map<String, Integer> segments) {
+        if (request.hasBodyFile()) {
+            return null;
+        }
+        if (!request.hasBody()) {
+            return "";
+        }
+        ConfigNode config = program.getConfig();
+        if (config != null && config.getRequestCompression().equals("gzip") &&
+                request.getBody().length() >= BodyStore.COMPRESS_MIN) {
+            return null;
+        }
+        String body = resolve(request.getBody(), row, segments);
+        return body == null || body.contains("${") ? null : body;
+    }
+    
+    /**
+     * Serve a fixture request from the test route when there is none or a test
+     * sends the same body (or one only known at runtime); otherwise it keeps a
+     * response of its own for its body, and its expectations cannot conflict
+     * with those of the tests
+     */
+    private void separateFixtureRoutes() {
+        for (Map.Entry<String, Map<String, Spec>> route : fixtureRoutes.entrySet()) {
+            // Tests reach the fixture's path through exact and pattern routes
+            Set<String> bodies = new HashSet<>();
+            boolean tested = false;
+            for (Map.Entry<String, Set<String>> test : testBodies.entrySet()) {
+                if (matches(test.getKey(), route.getKey())) {
+                    bodies.addAll(test.getValue());
+                    tested = true;
+                }
+            }
+            boolean shared = !tested || bodies.contains(null);
+            route.getValue().entrySet().removeIf(body -> {
+                if (!shared && !bodies.contains(body.getKey())) {
+                    return false;
+                }
+                Spec existing = routes.putIfAbsent(route.getKey(), body.getValue());
+                if (existing != null) {
+                    existing.merge("Fixture (" + route.getKey() + ")", body.getValue());
+                }
+                return true;
+            });
+        }
+        fixtureRoutes.values().removeIf(Map::isEmpty);
+    }
+    
+    /**
+     * Text with let variables, captures and row columns filled in, and variables
+     * that are path segments as ${n}; null if it uses any other runtime value
+     */
+    private String resolve(String text, Map<String, String> row, Map<String, Integer> segments) {
+        if (text == null) {
+            return null;
+        }
+        Matcher matcher = VAR_PATTERN.matcher(text);
+        StringBuffer sb = new StringBuffer();
+        while (matcher.find()) {
+            String name = matcher.group(1);
+            String value = row.containsKey(name) ? row.get(name) : constants.get(name);
+            if (value == null && segments.containsKey(name)) {
+                value = "${" + segments.get(name) + "}";
+            }
+            if (value == null) {
+                return null;
+            }
+            matcher.appendReplacement(sb, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+
+    /**
+     * A request to /users/42 is also answered for /users/* tests, so an exact
+     * route takes on the expectations of every pattern route it matches
+     */
+    private void mergePatternsIntoExactRoutes() {
+        for (Map.Entry<String, Spec> exact : routes.entrySet()) {
+            if (exact.getKey().contains("*")) {
+                continue;
+            }
+            for (Map.Entry<String, Spec> pattern : routes.entrySet()) {
+                if (pattern.getKey().contains("*") && matches(pattern.getKey(), exact.getKey())) {
+                    String[] path = exact.getKey().substring(exact.getKey().indexOf(' ') + 1).split("/", -1);
+                    exact.getValue().merge(exact.getKey(), pattern.getValue().fill(path));
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether a route key, exact or pattern, answers the exact route key
+     */
+    private static boolean matches(String pattern, String route) {
+        String[] parts = pattern.split("/", -1);
+        String[] path = route.split("/", -1);
+        if (parts.length != path.length) {
+            return false;
+        }
+        // Segment 0 of a route key holds the method, which is never "*"
+        for (int i = 0; i < parts.length; i++) {
+            if (!parts[i].equals("*") && !parts[i].equals(path[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * The rows of a small CSV file, or null to stub the test with "*" routes
+     */
+    private List<Map<String, String>> readRows(String where, String file) {
+        if (!file.endsWith(".csv")) {
+            return null;
+        }
+        List<Map<String, String>> rows = new ArrayList<>();
+        try (BufferedReader in = Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+            String header = in.readLine();
+            if (header == null) {
+                return rows;
+            }
+            List<String> columns = csv(header);
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                if (rows.size() == MAX_ROWS || line.indexOf('"') >= 0) {
+                    // Large or quoted files are matched by pattern routes instead
+                    return null;
+                }
+                List<String> values = csv(line);
+                Map<String, String> row = new HashMap<>();
+                for (int i = 0; i < columns.size() && i < values.size(); i++) {
+                    row.put(columns.get(i), values.get(i));
+                }
+                rows.add(row);
+            }
+            return rows;
+        } catch (IOException e) {
+            warnings.add(where + ": could not read " + file + " (" + e.getMessage() + "), rows are matched by pattern");
+            return null;
+        }
+    }
+
+    private static List<String> csv(String line) {
+        List<String> fields = new ArrayList<>();
+        for (String field : line.split(",", -1)) {
+            fields.add(field.trim());
+        }
+        return fields;
+    }
+
+    /**
+     * What the tests expect of the responses to one route
+     */
+    private class Spec {
+        Integer status;
+        final Map<String, String> headers = new LinkedHashMap<>();
+        final Map<String, Object> json = new LinkedHashMap<>();  // nested maps, lists of values and literals
+        final List<String> contains = new ArrayList<>();
+
+        void status(String where, int expected) {
+            if (status != null && status != expected) {
+                warnings.add(where + ": expects status " + expected + ", another test " + status);
+                return;
+            }
+            status = expected;
+        }
+
+        void header(String where, String name, String value) {
+            String existing = headers.putIfAbsent(name, value);
+            if (existing != null && !existing.equals(value)) {
+                warnings.add(where + ": expects header " + name + " = " + value + ", another test " + existing);
+            }
+        }
+
+        void headerContains(String where, String name, String part) {
+            String existing = headers.get(name);
+            if (existing == null) {
+                // "contains json" on a content type is best answered with a real media type
+                headers.put(name, name.equalsIgnoreCase("Content-Type") && !part.contains("/")
+                    ? "application/" + part : part);
+            } else if (!existing.contains(part)) {
+                warnings.add(where + ": expects header " + name + " to contain " + part + ", but it is " + existing);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void json(String where, String path, String literal) {
+            List<Object> segments = jsonPath(path);
+            if (segments == null) {
+                warnings.add(where + ": json path " + path + " is not stubbed");
+                return;
+            }
+            Object node = json;
+            for (int i = 0; i < segments.size(); i++) {
+                Object key = segments.get(i);
+                boolean last = i == segments.size() - 1;
+                Object child = last ? literal : segments.get(i + 1) instanceof Integer
+                    ? new TreeMap<Integer, Object>() : new LinkedHashMap<String, Object>();
+                Object existing;
+                if (key instanceof Integer && node instanceof TreeMap) {
+                    existing = ((TreeMap<Integer, Object>) node).putIfAbsent((Integer) key, child);
+                } else if (key instanceof String && node instanceof LinkedHashMap) {
+                    existing = ((Map<String, Object>) node).putIfAbsent((String) key, child);
+                } else {
+                    existing = "conflict";
+                }
+                if (existing == null) {
+                    node = child;
+                } else if (last || existing instanceof String) {
+                    if (!existing.equals(literal) || !last) {
+                        warnings.add(where + ": expects json " + path + " = " + literal + ", another test " +
+                                     (existing instanceof String ? existing : "a different structure"));
+                    }
+                    return;
+                } else {
+                    node = existing;
+                }
+            }
+        }
+
+        void merge(String where, Spec other) {
+            if (other.status != null) {
+                status(where, other.status);
+            }
+            for (Map.Entry<String, String> header : other.headers.entrySet()) {
+                header(where, header.getKey(), header.getValue());
+            }
+            mergeJson(where, "$", other.json);
+            for (String text : other.contains) {
+                if (!contains.contains(text)) {
+                    contains.add(text);
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void mergeJson(String where, String prefix, Object node) {
+            if (node instanceof Map) {
+                for (Map.Entry<Object, Object> e : ((Map<Object, Object>) node).entrySet()) {
+                    String path = e.getKey() instanceof Integer ? prefix + "[" + e.getKey() + "]"
+                                                                : prefix + "['" + e.getKey() + "']";
+                    mergeJson(where, path, e.getValue());
+                }
+            } else {
+                json(where, prefix, (String) node);
+            }
+        }
+
+        /**
+         * A copy for one path matched by this pattern route, with ${n} filled in
+         */
+        Spec fill(String[] path) {
+            Spec copy = new Spec();
+            copy.status = status;
+            headers.forEach((name, value) -> copy.headers.put(name, fill(value, path)));
+            copy.mergeJson("", "$", fillJson(json, path));
+            for (String text : contains) {
+                copy.contains.add(fill(text, path));
+            }
+            return copy;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object fillJson(Object node, String[] path) {
+            if (node instanceof String) {
+                return fill((String) node, path);
+            }
+            Map<Object, Object> copy = node instanceof TreeMap ? new TreeMap<>() : new LinkedHashMap<>();
+            ((Map<Object, Object>) node).forEach((key, value) -> copy.put(key, fillJson(value, path)));
+            return copy;
+        }
+
+        private String fill(String text, String[] path) {
+            for (int i = 0; i < path.length; i++) {
+                text = text.replace("${" + i + "}", path[i]);
+            }
+            return text;
+        }
+
+        /**
+         * The .route(...) call that serves this spec
+         */
+        String call(String method, String path) {
+            return call(method, path, null);
+        }
+        
+        /**
+         * The .routeBody(...) call that serves this spec only for requestBody,
+         * or .route(...) when that is null
+         */
+        String call(String method, String path, String requestBody) {
+            String body = body(method + " " + path);
+            Map<String, String> all = new LinkedHashMap<>(headers);
+            if (!json.isEmpty() && all.keySet().stream().noneMatch("Content-Type"::equalsIgnoreCase)) {
+                all.put("Content-Type", "application/json");
+            }
+            StringBuilder call = new StringBuilder(requestBody == null ? ".route(" : ".routeBody(")
+                .append('"').append(method).append("\", ").append(quote(path)).append(", ");
+            if (requestBody != null) {
+                call.append(quote(requestBody)).append(", ");
+            }
+            call.append(status != null ? status : 200).append(", ").append(quote(body));
+            for (Map.Entry<String, String> header : all.entrySet()) {
+                call.append(", ").append(quote(header.getKey())).append(", ").append(quote(header.getValue()));
+            }
+            return call.append(")").toString();
+        }
+
+        /**
+         * The json expectations as a document, with body contains texts that name
+         * a member ("id": or "id":42,) added as members; other texts are the body
+         * of a response without json, and cannot be served with one
+         */
+        private String body(String route) {
+            List<String> notLast = new ArrayList<>();
+            List<String> text = new ArrayList<>();
+            for (String part : contains) {
+                Matcher member = MEMBER.matcher(part);
+                if (member.matches() && (member.group(2).isEmpty() || JSON_SCALAR.matcher(member.group(2)).matches())) {
+                    String value = member.group(2).isEmpty() ? "null" : member.group(2);
+                    Object existing = json.putIfAbsent(member.group(1), value);
+                    if (existing == null || member.group(2).isEmpty() || existing.equals(value)) {
+                        if (!member.group(3).isEmpty()) {
+                            notLast.add(member.group(1));
+                        }
+                        continue;
+                    }
+                }
+                text.add(part);
+            }
+            if (json.isEmpty()) {
+                return String.join("\n", text);
+            }
+            // Members that must be followed by a comma go first
+            Map<String, Object> ordered = new LinkedHashMap<>();
+            for (String key : notLast) {
+                ordered.put(key, json.get(key));
+            }
+            ordered.putAll(json);
+            if (notLast.containsAll(ordered.keySet())) {
+                ordered.put("stub", "true");
+            }
+            String document = serialize(ordered);
+            for (String part : text) {
+                if (!document.contains(part)) {
+                    warnings.add(route + ": body cannot contain " + part + " next to the expected json");
+                }
+            }
+            return document;
+        }
+
+        @SuppressWarnings("unchecked")
+        private String serialize(Object node) {
+            if (node instanceof String) {
+                return (String) node;
+            }
+            StringBuilder sb = new StringBuilder();
+            if (node instanceof TreeMap) {
+                TreeMap<Integer, Object> array = (TreeMap<Integer, Object>) node;
+                sb.append('[');
+                for (int i = 0; i <= array.lastKey(); i++) {
+                    sb.append(i > 0 ? "," : "").append(array.containsKey(i) ? serialize(array.get(i)) : "null");
+                }
+                return sb.append(']').toString();
+            }
+            sb.append('{');
+            for (Map.Entry<String, Object> e : ((Map<String, Object>) node).entrySet()) {
+                sb.append(sb.length() > 1 ? "," : "").append('"').append(e.getKey()).append("\":")
+                  .append(serialize(e.getValue()));
+            }
+            return sb.append('}').toString();
+        }
+    }
+
+    /**
+     * Segments of $.name, $['name'] and $[0] paths: names and indexes, or null if unsupported
+     */
+    static List<Object> jsonPath(String path) {
+        if (!path.startsWith("$")) {
+            return null;
+        }
+        List<Object> segments = new ArrayList<>();
+        int i = 1;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                int end = i + 1;
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                segments.add(path.substring(i + 1, end));
+                i = end;
+            } else if (c == '[') {
+                int end = path.indexOf(']', i);
+                if (end < 0) {
+                    return null;
+                }
+                String inner = path.substring(i + 1, end).trim();
+                if (inner.startsWith("'") && inner.endsWith("'") && inner.length() >= 2) {
+                    segments.add(inner.substring(1, inner.length() - 1));
+                } else {
+                    try {
+                        segments.add(Integer.parseInt(inner));
+                    } catch (NumberFormatException e) {
+                        return null;
+                    }
+                }
+                i = end + 1;
+            } else {
+                return null;
+            }
+        }
+        return segments.isEmpty() ? null : segments;
+    }
+
+    private static String quote(String text) {
+        return "\"" + CodeGenerator.escapeJava(text) + "\"";
+    }
+}
@@ -0,0 +1,133 @@
+package codegen;
+
+import ast.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packs tests into the string format read by runtime.RequestTable.
+ * Only tests whose strings are fully known at compile time can be packed:
+ * no loops, no data rows, and no values captured by setup. Tests with
+ * bodies large enough for the body file are left to generated methods.
+ */
+public class TableEncoder {
+    private static final int CHUNK_SIZE = 16 * 1024;  // chars; stays below the 64 KB constant limit
+    
+    private VariableSubstitutor substitutor;
+    private StringBuilder table;
+    
+    public TableEncoder(VariableSubstitutor substitutor) {
+        this.substitutor = substitutor;
+        this.table = new StringBuilder();
+    }
+    
+    public boolean canEncode(TestNode test) {
+        if (test.isDataDriven() || !test.getLoops().isEmpty()) {
+            return false;
+        }
+        for (RequestNode request : test.getRequests()) {
+            if (!substitutor.isConstant(request.getPath()) || !substitutor.isConstant(request.getBody())) {
+                return false;
+            }
+            // Large bodies are mapped from the body file and body files streamed from disk
+            if (BodyStore.isLarge(request.getBody()) || request.hasBodyFile()) {
+                return false;
+            }
+            // The table decides body handling itself, like AUTO
+            if (request.getBodyHandling() != RequestNode.BodyHandling.AUTO) {
+                return false;
+            }
+            for (HeaderNode header : request.getHeaders()) {
+                if (!substitutor.isConstant(header.getValue())) {
+                    return false;
+                }
+            }
+        }
+        for (AssertionNode assertion : test.getAssertions()) {
+            if (!substitutor.isConstant(assertion.getExpectedValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Append a test to the table
+     */
+    public void add(TestNode test) {
+        StringBuilder record = new StringBuilder();
+        field(record, test.getName());
+        field(record, test.getRequests().size());
+        for (RequestNode request : test.getRequests()) {
+            field(record, request.getMethod().name());
+            field(record, substitutor.substitute(request.getPath()));
+            field(record, request.getHeaders().size());
+            for (HeaderNode header : request.getHeaders()) {
+                field(record, header.getKey());
+                field(record, substitutor.substitute(header.getValue()));
+            }
+            field(record, request.hasBody() ? 1 : 0);
+            field(record, request.hasBody() ? substitutor.substitute(request.getBody()) : "");
+        }
+        field(record, test.getAssertions().size());
+        for (AssertionNode assertion : test.getAssertions()) {
+            encode(record, assertion);
+        }
+        field(table, record.toString());
+    }
+    
+    /**
+     * The table split into chunks small enough for Java string constants
+     */
+    public List<String> chunks() {
+        List<String> chunks = new ArrayList<>();
+        int pos = 0;
+        while (pos < table.length()) {
+            int end = Math.min(pos + CHUNK_SIZE, table.length());
+            if (end < table.length() && Character.isHighSurrogate(table.charAt(end - 1))) {
+                end--;
+            }
+            chunks.add(table.substring(pos, end));
+            pos = end;
+        }
+        return chunks;
+    }
+    
+    private void encode(StringBuilder record, AssertionNode assertion) {
+        field(record, assertion.getType().name());
+        switch (assertion.getType()) {
+            case STATUS:
+                field(record, assertion.getExpectedStatusCode());
+                field(record, "");
+                break;
+            case HEADER_EQUALS:
+            case HEADER_CONTAINS:
+                // Header values are compared as written, like the generated assertions
+                field(record, assertion.getHeaderKey());
+                field(record, assertion.getExpectedValue());
+                break;
+            case BODY_CONTAINS:
+                field(record, substitutor.substitute(assertion.getExpectedValue()));
+                field(record, "");
+                break;
+            case JSON_EQUALS:
+                field(record, assertion.getJsonPath());
+                field(record, substitutor.substitute(assertion.getExpectedValue()));
+                break;
+            case LATENCY_BELOW:
+            case SIZE_BELOW:
+            case UNCOMPRESSED_SIZE_BELOW:
+                field(record, String.valueOf(assertion.getLimit()));
+                field(record, "");
+                break;
+        }
+    }
+    
+    private static void field(StringBuilder out, int value) {
+        field(out, String.valueOf(value));
+    }
+    
+    private static void field(StringBuilder out, String value) {
+        out.append(value.length()).append(':').append(value);
+    }
+}
@@ -1,20 +1,130 @@
 package codegen;
 
 import ast.VariableNode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * Handles variable substitution in strings and paths
  * Replaces $varName with actual values
+ * 
+ * let variables are known at compile time and are inlined. Runtime variables
+ * (values captured by setup, loop counters, ...) only exist while the tests run;
+ * strings that use them are turned into Java concatenation expressions.
  */
 public class VariableSubstitutor {
     private Map<String, VariableNode> variables;
+    private Map<String, String> runtimeVariables;  // name -> Java expression
+    private String rowExpression;                  // Row that resolves other names, if any
     private static final Pattern VAR_PATTERN = Pattern.compile("\\$([A-Za-z_][A-Za-z0-9_]*)");
     
     public VariableSubstitutor(Map<String, VariableNode> variables) {
         this.variables = variables;
+        this.runtimeVariables = new HashMap<>();
+    }
+    
+    /**
+     * Declare a variable whose value is only known at runtime
+     */
+    public void addRuntimeVariable(String name, String javaExpression) {
+        runtimeVariables.put(name, javaExpression);
+    }
+    
+    public void removeRuntimeVariable(String name) {
+        runtimeVariables.remove(name);
+    }
+    
+    /**
+     * Resolve names that are not otherwise defined as columns of a data row.
+     * Pass null to turn this off again.
+     */
+    public void setRowVariable(String javaExpression) {
+        this.rowExpression = javaExpression;
+    }
+    
+    /**
+     * Substitute variables and return a Java expression for the resulting string.
+     * Example: "Bearer $token" with a captured token becomes "Bearer " + cap_token
+     */
+    public String toJava(String input) {
+        return toJava(input, VariableSubstitutor::quote);
+    }
+    
+    /**
+     * Like toJava(input), with the literal text between variables turned into
+     * Java expressions by the given function
+     */
+    public String toJava(String input, Function<String, String> literals) {
+        return toJava(input, literals, Function.identity());
+    }
+    
+    /**
+     * Like toJava(input), for an expected JSON literal: runtime values are
+     * escaped so that quotes and backslashes in them stay inside a JSON string
+     */
+    public String toJsonJava(String input) {
+        return toJava(input, VariableSubstitutor::quote, value -> "JsonPathExtractor.escape(" + value + ")");
+    }
+    
+    private String toJava(String input, Function<String, String> literals, Function<String, String> values) {
+        if (input == null) {
+            return "\"\"";
+        }
+        
+        List<String> parts = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        Matcher matcher = VAR_PATTERN.matcher(input);
+        int last = 0;
+        boolean startsWithLiteral = false;
+        
+        while (matcher.find()) {
+            literal.append(input, last, matcher.start());
+            String varName = matcher.group(1);
+            String runtime = runtimeVariables.get(varName);
+            if (runtime == null && rowExpression != null && !variables.containsKey(varName)) {
+                runtime = rowExpression + ".get(" + quote(varName) + ")";
+            }
+            if (runtime == null) {
+                literal.append(valueOf(varName));
+            } else {
+                if (literal.length() > 0) {
+                    startsWithLiteral |= parts.isEmpty();
+                    parts.add(literals.apply(literal.toString()));
+                    literal.setLength(0);
+                }
+                parts.add(values.apply(runtime));
+            }
+            last = matcher.end();
+        }
+        literal.append(input.substring(last));
+        if (literal.length() > 0 || parts.isEmpty()) {
+            startsWithLiteral |= parts.isEmpty();
+            parts.add(literals.apply(literal.toString()));
+        }
+        
+        // Make sure the expression is a String even if it starts with a non-String value
+        if (!startsWithLiteral) {
+            parts.add(0, "\"\"");
+        }
+        return String.join(" + ", parts);
+    }
+    
+    private static String quote(String text) {
+        return "\"" + CodeGenerator.escapeJava(text) + "\"";
+    }
+    
+    private String valueOf(String varName) {
+        VariableNode var = variables.get(varName);
+        if (var == null) {
+            throw new RuntimeException("Undefined variable: $" + varName);
+        }
+        return var.getValue().toString();
     }
     
     /**
@@ -31,13 +141,11 @@ public class VariableSubstitutor {
         
         while (matcher.find()) {
             String varName = matcher.group(1);
-            VariableNode var = variables.get(varName);
-            
-            if (var == null) {
-                throw new RuntimeException("Undefined variable: $" + varName);
+            if (runtimeVariables.containsKey(varName)) {
+                throw new RuntimeException("$" + varName + " is only known at runtime and cannot be used here");
             }
             
-            String replacement = var.getValue().toString();
+            String replacement = valueOf(varName);
             matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
         }
         
@@ -45,6 +153,60 @@ public class VariableSubstitutor {
         return result.toString();
     }
     
+    /**
+     * Arguments for runtime.Payloads.file after the file name: the data row or null,
+     * then name and value of every variable in scope, since any of them may be used
+     * by placeholders in the file
+     */
+    public String payloadArguments() {
+        Map<String, String> scope = new TreeMap<>();
+        for (String name : variables.keySet()) {
+            scope.put(name, quote(valueOf(name)));
+        }
+        for (Map.Entry<String, String> e : runtimeVariables.entrySet()) {
+            scope.put(e.getKey(), "String.valueOf(" + e.getValue() + ")");
+        }
+        StringBuilder sb = new StringBuilder(rowExpression != null ? rowExpression : "null");
+        for (Map.Entry<String, String> e : scope.entrySet()) {
+            sb.append(", ").append(quote(e.getKey())).append(", ").append(e.getValue());
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * Check if a string only uses variables known at compile time
+     */
+    public boolean isConstant(String input) {
+        if (input == null) {
+            return true;
+        }
+        Matcher matcher = VAR_PATTERN.matcher(input);
+        while (matcher.find()) {
+            String varName = matcher.group(1);
+            if (runtimeVariables.containsKey(varName) ||
+                    (rowExpression != null && !variables.containsKey(varName))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Check if a string uses the given variable
+     */
+    public boolean references(String input, String varName) {
+        if (input == null) {
+            return false;
+        }
+        Matcher matcher = VAR_PATTERN.matcher(input);
+        while (matcher.find()) {
+            if (matcher.group(1).equals(varName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     /**
      * Check if a string contains any variables
      */
@@ -0,0 +1,128 @@
+package compiler;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Build check for compiled test classes: fails when a method has more bytecode
+ * than HotSpot will JIT-compile (8000 bytes, see -XX:-DontCompileHugeMethods).
+ * Usage: java compiler.MethodSizeChecker <classes-dir-or-file> [limit]
+ */
+public class MethodSizeChecker {
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: java compiler.MethodSizeChecker <classes-dir-or-file> [limit]");
+            System.exit(1);
+        }
+        int limit = args.length > 1 ? Integer.parseInt(args[1]) : codegen.BytecodeEstimator.HUGE_METHOD_LIMIT;
+        
+        List<String> violations = new ArrayList<>();
+        int classes = 0;
+        try (Stream<Path> files = Files.walk(Paths.get(args[0]))) {
+            for (Path file : (Iterable<Path>) files.filter(f -> f.toString().endsWith(".class"))::iterator) {
+                classes++;
+                try (InputStream in = Files.newInputStream(file)) {
+                    for (String method : hugeMethods(in, limit)) {
+                        violations.add(file.getFileName() + ": " + method);
+                    }
+                }
+            }
+        }
+        
+        if (!violations.isEmpty()) {
+            System.err.println("✗ Methods over " + limit + " bytes of bytecode will not be JIT-compiled:");
+            for (String violation : violations) {
+                System.err.println("  " + violation);
+            }
+            System.exit(1);
+        }
+        System.out.println("✓ " + classes + " class file(s), no method over " + limit + " bytes");
+    }
+    
+    /**
+     * Methods of one class file whose Code attribute is longer than limit, as "name (N bytes)"
+     */
+    public static List<String> hugeMethods(InputStream stream, int limit) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != 0xCAFEBABE) {
+            throw new IOException("Not a class file");
+        }
+        in.readUnsignedShort();  // minor version
+        in.readUnsignedShort();  // major version
+        
+        // Only UTF-8 entries are needed: method and attribute names
+        int count = in.readUnsignedShort();
+        String[] utf8 = new String[count];
+        for (int i = 1; i < count; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1:  // Utf8
+                    utf8[i] = in.readUTF();
+                    break;
+                case 7: case 8: case 16: case 19: case 20:  // Class, String, MethodType, Module, Package
+                    in.skipBytes(2);
+                    break;
+                case 15:  // MethodHandle
+                    in.skipBytes(3);
+                    break;
+                case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18:
+                    in.skipBytes(4);
+                    break;
+                case 5: case 6:  // Long and Double take two entries
+                    in.skipBytes(8);
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+        
+        in.skipBytes(6);  // access flags, this class, super class
+        in.skipBytes(2 * in.readUnsignedShort());  // interfaces
+        int fields = in.readUnsignedShort();
+        for (int i = 0; i < fields; i++) {
+            in.skipBytes(6);
+            skipAttributes(in);
+        }
+        
+        List<String> huge = new ArrayList<>();
+        int methods = in.readUnsignedShort();
+        for (int i = 0; i < methods; i++) {
+            in.skipBytes(2);
+            String name = utf8[in.readUnsignedShort()];
+            in.skipBytes(2);
+            int attributes = in.readUnsignedShort();
+            for (int a = 0; a < attributes; a++) {
+                String attribute = utf8[in.readUnsignedShort()];
+                int length = in.readInt();
+                if (attribute.equals("Code")) {
+                    in.skipBytes(4);  // max stack, max locals
+                    int codeLength = in.readInt();
+                    if (codeLength > limit) {
+                        huge.add(name + " (" + codeLength + " bytes)");
+                    }
+                    in.skipBytes(length - 8);
+                } else {
+                    in.skipBytes(length);
+                }
+            }
+        }
+        return huge;
+    }
+    
+    private static void skipAttributes(DataInputStream in) throws IOException {
+        int attributes = in.readUnsignedShort();
+        for (int a = 0; a < attributes; a++) {
+            in.skipBytes(2);
+            in.skipBytes(in.readInt());
+        }
+    }
+}
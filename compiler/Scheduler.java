@@ -0,0 +1,83 @@
+package compiler;
+
+import ast.ProgramNode;
+import ast.TestNode;
+import runtime.History;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Orders the tests of a suite (--order) from the outcome log appended by
+ * runtime.History, so that a broken build shows up first:
+ * tests that failed in one of their last RECENT runs come first, latest failure
+ * first; then tests without history, which are usually new; then the rest
+ * longest first, which packs parallel runs best. Ties keep source order.
+ */
+public class Scheduler {
+    static final int RECENT = 3;
+
+    private final Map<String, List<History.Record>> history;  // by "Class.Test", oldest first
+
+    private Scheduler(Map<String, List<History.Record>> history) {
+        this.history = history;
+    }
+
+    /**
+     * Read the outcome log; a missing file means no history, so source order is kept
+     */
+    public static Scheduler read(Path file) throws IOException {
+        Map<String, List<History.Record>> history = new HashMap<>();
+        for (History.Record record : History.read(file)) {
+            history.computeIfAbsent(record.test(), k -> new ArrayList<>()).add(record);
+        }
+        return new Scheduler(history);
+    }
+
+    public void order(ProgramNode program, String className) {
+        Map<TestNode, Rank> ranks = new HashMap<>();
+        for (TestNode test : program.getTests()) {
+            ranks.put(test, rank(history.get(className + "." + test.getName())));
+        }
+        // List.sort is stable, so equal ranks keep source order
+        program.getTests().sort((a, b) -> ranks.get(a).compareTo(ranks.get(b)));
+    }
+
+    private static Rank rank(List<History.Record> runs) {
+        if (runs == null) {
+            return new Rank(1, 0);
+        }
+        long lastFailure = 0;
+        for (int i = Math.max(0, runs.size() - RECENT); i < runs.size(); i++) {
+            if (!runs.get(i).passed()) {
+                lastFailure = Math.max(lastFailure, runs.get(i).runMillis());
+            }
+        }
+        if (lastFailure > 0) {
+            return new Rank(0, -lastFailure);
+        }
+        return new Rank(2, -runs.get(runs.size() - 1).durationMillis());
+    }
+
+    /**
+     * Group (0 recently failed, 1 no history, 2 passing), then a key within the group
+     */
+    private static final class Rank implements Comparable<Rank> {
+        final int group;
+        final long key;
+
+        Rank(int group, long key) {
+            this.group = group;
+            this.key = key;
+        }
+
+        @Override
+        public int compareTo(Rank other) {
+            return group != other.group ? Integer.compare(group, other.group) : Long.compare(key, other.key);
+        }
+    }
+}
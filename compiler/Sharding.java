@@ -0,0 +1,170 @@
+package compiler;
+
+import ast.CapacityNode;
+import ast.LoadNode;
+import ast.MixNode;
+import ast.ProgramNode;
+import ast.ScenarioNode;
+import ast.TestNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Splits the tests of one or more suites into shards of about equal duration
+ * (--shard i/N) and drops every test outside the selected shard before code is
+ * generated. Durations come from the timing file written and read by runtime.Timings.
+ *
+ * Tests are placed longest first, each on the shard with the least work so far
+ * (LPT). Ties go to the earlier test and the lower shard, so without any
+ * history every node computes the same round-robin split. Tests with no
+ * history count as the median of the known ones.
+ *
+ * Load, capacity and scenario blocks stay on shard 1 together with the tests
+ * they drive, which they call directly.
+ */
+public class Sharding {
+    private final int index;  // 1-based
+    private final int count;
+    private final Map<String, Long> history;
+
+    public Sharding(int index, int count, Map<String, Long> history) {
+        if (count < 1 || index < 1 || index > count) {
+            throw new RuntimeException("Shard must be i/N with 1 <= i <= N, got " + index + "/" + count);
+        }
+        this.index = index;
+        this.count = count;
+        this.history = history;
+    }
+
+    /**
+     * Parse "i/N"
+     */
+    public static Sharding parse(String spec, Map<String, Long> history) {
+        String[] parts = spec.split("/");
+        try {
+            if (parts.length == 2) {
+                return new Sharding(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()), history);
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new RuntimeException("Shard must be i/N, got '" + spec + "'");
+    }
+
+    /**
+     * Keep only the tests (and workloads) of this shard in the programs;
+     * classNames are the generated class names, in the same order
+     */
+    public void select(List<ProgramNode> programs, List<String> classNames) {
+        List<Unit> units = new ArrayList<>();
+        for (int p = 0; p < programs.size(); p++) {
+            Set<String> driven = workloadTests(programs.get(p));
+            for (TestNode test : programs.get(p).getTests()) {
+                Long millis = history.get(classNames.get(p) + "." + test.getName());
+                units.add(new Unit(units.size(), test, millis, driven.contains(test.getName())));
+            }
+        }
+
+        long unknown = median(units);
+        long[] load = new long[count];
+        List<Unit> order = new ArrayList<>(units);
+        order.sort((a, b) -> {
+            // Pinned tests first, then longest first, then in source order
+            if (a.pinned != b.pinned) {
+                return a.pinned ? -1 : 1;
+            }
+            int cmp = Long.compare(b.cost(unknown), a.cost(unknown));
+            return cmp != 0 ? cmp : Integer.compare(a.position, b.position);
+        });
+        Set<TestNode> selected = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Unit unit : order) {
+            int shard = 0;
+            if (!unit.pinned) {
+                for (int s = 1; s < count; s++) {
+                    if (load[s] < load[shard]) {
+                        shard = s;
+                    }
+                }
+            }
+            load[shard] += unit.cost(unknown);
+            if (shard == index - 1) {
+                selected.add(unit.test);
+            }
+        }
+
+        for (ProgramNode program : programs) {
+            program.getTests().removeIf(test -> !selected.contains(test));
+            if (index != 1) {
+                program.getLoads().clear();
+                program.getCapacities().clear();
+                program.getScenarios().clear();
+            }
+        }
+        if (history.isEmpty()) {
+            System.out.println(String.format("  Shard %d/%d: %d of %d tests (no timing history, split by count)",
+                index, count, selected.size(), units.size()));
+        } else {
+            long total = 0;
+            for (long l : load) {
+                total += l;
+            }
+            System.out.println(String.format("  Shard %d/%d: %d of %d tests, about %.1fs of %.1fs",
+                index, count, selected.size(), units.size(), load[index - 1] / 1000.0, total / 1000.0));
+        }
+    }
+    
+    private static Set<String> workloadTests(ProgramNode program) {
+        Set<String> names = new HashSet<>();
+        for (LoadNode load : program.getLoads()) {
+            names.add(load.getTestName());
+        }
+        for (CapacityNode capacity : program.getCapacities()) {
+            names.add(capacity.getTestName());
+        }
+        for (ScenarioNode scenario : program.getScenarios()) {
+            for (MixNode mix : scenario.getMix()) {
+                names.add(mix.getTestName());
+            }
+        }
+        return names;
+    }
+
+    private static long median(List<Unit> units) {
+        List<Long> known = new ArrayList<>();
+        for (Unit unit : units) {
+            if (unit.millis != null) {
+                known.add(unit.millis);
+            }
+        }
+        if (known.isEmpty()) {
+            return 1;
+        }
+        Collections.sort(known);
+        return known.get(known.size() / 2);
+    }
+
+    private static final class Unit {
+        final int position;
+        final TestNode test;
+        final Long millis;  // null without history
+        final boolean pinned;
+
+        Unit(int position, TestNode test, Long millis, boolean pinned) {
+            this.position = position;
+            this.test = test;
+            this.millis = millis;
+            this.pinned = pinned;
+        }
+
+        // A test never costs nothing, or all zero-time tests would pile onto one shard
+        long cost(long unknown) {
+            return Math.max(1, millis != null ? millis : unknown);
+        }
+    }
+}
@@ -2,33 +2,89 @@ package compiler;
 
 import scanner.Lexer;
 import parser.Parser;
+import ast.ASTNode;
+import ast.CapacityNode;
+import ast.CaptureNode;
+import ast.ConfigNode;
+import ast.FixtureNode;
+import ast.LoadNode;
+import ast.LoopNode;
+import ast.MixNode;
 import ast.ProgramNode;
+import ast.RequestNode;
+import ast.ScenarioNode;
+import ast.TestNode;
+import ast.WorkloadNode;
 import codegen.CodeGenerator;
+import codegen.StubGenerator;
 import java_cup.runtime.Symbol;
+import runtime.Timings;
 
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Main compiler entry point
- * Usage: java compiler.TestLangCompiler input.test output.java
+ * Usage: java compiler.TestLangCompiler input.test output.java [input.test output.java ...]
+ *        [--table] [--shard i/N] [--timings file] [--order] [--history file] [--stub]
  */
 public class TestLangCompiler {
+    private static final String DEFAULT_TIMINGS = "build/reports/timings.txt";
+    private static final String DEFAULT_HISTORY = "build/reports/history.bin";
     
     public static void main(String[] args) {
-        if (args.length != 2) {
-            System.err.println("Usage: java compiler.TestLangCompiler <input.test> <output.java>");
+        List<String> files = new ArrayList<>();
+        boolean tableMode = false;
+        String shard = null;
+        String timings = DEFAULT_TIMINGS;
+        boolean order = false;
+        String history = DEFAULT_HISTORY;
+        boolean stub = false;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--table")) {
+                tableMode = true;
+            } else if (args[i].equals("--order")) {
+                order = true;
+            } else if (args[i].equals("--stub")) {
+                stub = true;
+            } else if (args[i].equals("--shard") && i + 1 < args.length) {
+                shard = args[++i];
+            } else if (args[i].equals("--timings") && i + 1 < args.length) {
+                timings = args[++i];
+            } else if (args[i].equals("--history") && i + 1 < args.length) {
+                history = args[++i];
+            } else if (args[i].startsWith("--")) {
+                System.err.println("Unknown option: " + args[i]);
+                System.exit(1);
+            } else {
+                files.add(args[i]);
+            }
+        }
+        if (files.isEmpty() || files.size() % 2 != 0) {
+            System.err.println("Usage: java compiler.TestLangCompiler <input.test> <output.java> " +
+                               "[<input.test> <output.java> ...] [--table] [--shard i/N] [--timings file] " +
+                               "[--order] [--history file] [--stub]");
             System.exit(1);
         }
         
-        String inputFile = args[0];
-        String outputFile = args[1];
-        
         try {
-            compile(inputFile, outputFile);
+            Sharding sharding = shard == null ? null :
+                Sharding.parse(shard, Timings.read(Paths.get(timings)));
+            Scheduler scheduler = order ? Scheduler.read(Paths.get(history)) : null;
+            compile(files, tableMode, sharding, scheduler, stub);
             System.out.println("✓ Compilation successful!");
-            System.out.println("  Input:  " + inputFile);
-            System.out.println("  Output: " + outputFile);
+            for (int i = 0; i < files.size(); i += 2) {
+                System.out.println("  Input:  " + files.get(i));
+                System.out.println("  Output: " + files.get(i + 1));
+            }
         } catch (Exception e) {
             System.err.println("✗ Compilation failed: " + e.getMessage());
             e.printStackTrace();
@@ -37,6 +93,73 @@ public class TestLangCompiler {
     }
     
     public static void compile(String inputFile, String outputFile) throws Exception {
+        compile(inputFile, outputFile, false);
+    }
+    
+    public static void compile(String inputFile, String outputFile, boolean tableMode) throws Exception {
+        ProgramNode program = parse(inputFile);
+        
+        // Step 3: Code Generation
+        System.out.println("[3/3] Generating code...");
+        generate(program, outputFile, tableMode);
+    }
+    
+    /**
+     * Compile several suites given as input, output pairs. With sharding only the
+     * tests of one shard are generated; a suite left without anything to run gets
+     * no class, and an output file from an earlier run is removed. With a
+     * scheduler the tests run in the order it gives them.
+     */
+    public static void compile(List<String> files, boolean tableMode, Sharding sharding,
+                               Scheduler scheduler) throws Exception {
+        compile(files, tableMode, sharding, scheduler, false);
+    }
+    
+    /**
+     * As above; with stubs, every suite also gets a stub of its backend,
+     * <Class>Stub.java next to the tests, covering all its tests whatever the shard
+     */
+    public static void compile(List<String> files, boolean tableMode, Sharding sharding,
+                               Scheduler scheduler, boolean stubs) throws Exception {
+        List<ProgramNode> programs = new ArrayList<>();
+        List<String> classNames = new ArrayList<>();
+        for (int i = 0; i < files.size(); i += 2) {
+            programs.add(parse(files.get(i)));
+            classNames.add(CodeGenerator.className(files.get(i + 1)));
+            if (stubs) {
+                StubGenerator stub = new StubGenerator(programs.get(programs.size() - 1));
+                stub.generate(files.get(i + 1));
+                for (String warning : stub.getWarnings()) {
+                    System.out.println("  stub warning: " + warning);
+                }
+            }
+        }
+        if (sharding != null) {
+            sharding.select(programs, classNames);
+        }
+        
+        System.out.println("[3/3] Generating code...");
+        for (int i = 0; i < programs.size(); i++) {
+            ProgramNode program = programs.get(i);
+            String outputFile = files.get(2 * i + 1);
+            if (program.getTests().isEmpty() && program.getLoads().isEmpty() &&
+                program.getCapacities().isEmpty() && program.getScenarios().isEmpty()) {
+                System.out.println("  " + files.get(2 * i) + ": nothing in this shard");
+                Files.deleteIfExists(Paths.get(outputFile));
+                Files.deleteIfExists(Paths.get(outputFile).resolveSibling(classNames.get(i) + ".bodies"));
+                continue;
+            }
+            if (scheduler != null) {
+                scheduler.order(program, classNames.get(i));
+            }
+            CodeGenerator generator = new CodeGenerator(program);
+            generator.setTableMode(tableMode);
+            generator.setOrdered(scheduler != null);
+            generator.generate(outputFile);
+        }
+    }
+    
+    private static ProgramNode parse(String inputFile) throws Exception {
         // Step 1: Lexical Analysis (Scanning)
         System.out.println("[1/3] Scanning...");
         Lexer lexer = new Lexer(new FileReader(inputFile));
@@ -49,10 +172,12 @@ public class TestLangCompiler {
         
         // Validate AST
         validateProgram(program);
-        
-        // Step 3: Code Generation
-        System.out.println("[3/3] Generating code...");
+        return program;
+    }
+    
+    private static void generate(ProgramNode program, String outputFile, boolean tableMode) throws Exception {
         CodeGenerator generator = new CodeGenerator(program);
+        generator.setTableMode(tableMode);
         generator.generate(outputFile);
     }
     
@@ -67,14 +192,301 @@ public class TestLangCompiler {
         
         // Validate each test
         for (var test : program.getTests()) {
-            if (test.getRequests().isEmpty()) {
+            int requests = test.getRequests().size();
+            int assertions = test.getAssertions().size();
+            String where = "Test '" + test.getName() + "'";
+            for (RequestNode request : test.getRequests()) {
+                validateRequest(where, request);
+            }
+            validateBodyKept(where, test.getRequests(), test.getAssertions());
+            for (LoopNode loop : test.getLoops()) {
+                validateLoop(program, test.getName(), loop);
+                for (RequestNode request : loop.getRequests()) {
+                    validateRequest(where, request);
+                }
+                validateBodyKept(where, loop.getRequests(), loop.getAssertions());
+                requests += loop.getRequests().size();
+                assertions += loop.getAssertions().size();
+            }
+            if (requests == 0) {
                 throw new RuntimeException("Test '" + test.getName() + 
                                          "' must contain at least one request");
             }
-            if (test.getAssertions().size() < 2) {
+            if (assertions < 2) {
                 throw new RuntimeException("Test '" + test.getName() + 
                                          "' must contain at least 2 assertions");
             }
+            if (!test.getAssertions().isEmpty() && test.getRequests().isEmpty()) {
+                throw new RuntimeException("Test '" + test.getName() + 
+                                         "' has assertions outside its loops but no request for them");
+            }
+        }
+        
+        validateConfig(program.getConfig());
+        
+        // Validate setup and teardown
+        validateFixture(program, program.getSetup());
+        validateFixture(program, program.getTeardown());
+        
+        // Validate load blocks; the generated field and method are named after the test
+        Set<String> loaded = new HashSet<>();
+        for (LoadNode load : program.getLoads()) {
+            String where = "Load '" + load.getName() + "' (line " + load.getLineNumber() + ")";
+            if (!loaded.add(load.getName())) {
+                throw new RuntimeException(where + ": test '" + load.getTestName() + "' already has a load block");
+            }
+            checkReplayable(program, where, load.getTestName());
+            validateSettings(load, where,
+                new String[] { "rps", "max_concurrency", "max_errors" },
+                new String[] { "duration", "ramp_up" });
+            if (load.getTargetRps() <= 0) {
+                throw new RuntimeException(where + " needs a positive 'rps'");
+            }
+            if (load.getDurationMillis() <= 0) {
+                throw new RuntimeException(where + " needs a positive 'duration'");
+            }
+            if (load.getMaxConcurrency() <= 0) {
+                throw new RuntimeException(where + " needs a positive 'max_concurrency'");
+            }
+        }
+        
+        // Validate capacity blocks
+        Set<String> searched = new HashSet<>();
+        for (CapacityNode capacity : program.getCapacities()) {
+            String where = "Capacity '" + capacity.getName() + "' (line " + capacity.getLineNumber() + ")";
+            if (!searched.add(capacity.getName())) {
+                throw new RuntimeException(where + ": test '" + capacity.getTestName() + "' already has a capacity block");
+            }
+            checkReplayable(program, where, capacity.getTestName());
+            validateSettings(capacity, where,
+                new String[] { "percentile", "max_error_pct", "max_concurrency", "increase" },
+                new String[] { "latency_slo", "step" });
+            if (capacity.getLatencySloMillis() <= 0) {
+                throw new RuntimeException(where + " needs a positive 'latency_slo'");
+            }
+            if (capacity.getPercentile() <= 0 || capacity.getPercentile() > 100) {
+                throw new RuntimeException(where + ": 'percentile' must be between 1 and 100");
+            }
+            if (capacity.getStepMillis() <= 0 || capacity.getMaxConcurrency() <= 0 || capacity.getIncrease() <= 0) {
+                throw new RuntimeException(where + ": 'step', 'max_concurrency' and 'increase' must be positive");
+            }
+        }
+        
+        // Validate scenarios
+        Set<String> scenarios = new HashSet<>();
+        for (ScenarioNode scenario : program.getScenarios()) {
+            String where = "Scenario '" + scenario.getName() + "' (line " + scenario.getLineNumber() + ")";
+            if (!scenarios.add(scenario.getName())) {
+                throw new RuntimeException(where + ": another scenario has the same name");
+            }
+            validateSettings(scenario, where,
+                new String[] { "users", "max_errors" },
+                new String[] { "duration", "ramp_up" });
+            if (scenario.getUsers() <= 0) {
+                throw new RuntimeException(where + " needs a positive 'users'");
+            }
+            if (scenario.getDurationMillis() <= 0) {
+                throw new RuntimeException(where + " needs a positive 'duration'");
+            }
+            if (scenario.getMix().isEmpty()) {
+                throw new RuntimeException(where + " must contain at least one mix entry");
+            }
+            for (MixNode mix : scenario.getMix()) {
+                String entry = where + ", mix '" + mix.getTestName() + "'";
+                checkReplayable(program, entry, mix.getTestName());
+                if (mix.getWeight() <= 0) {
+                    throw new RuntimeException(entry + " needs a positive weight");
+                }
+                switch (mix.getThinkDistribution()) {
+                    case "none":
+                    case "constant":
+                        break;
+                    case "uniform":
+                        if (mix.getThinkMaxMillis() < mix.getThinkMillis()) {
+                            throw new RuntimeException(entry + ": uniform think time needs (min, max) with min <= max");
+                        }
+                        break;
+                    case "exponential":
+                        if (mix.getThinkMaxMillis() >= 0) {
+                            throw new RuntimeException(entry + ": exponential think time takes only the mean");
+                        }
+                        break;
+                    default:
+                        throw new RuntimeException(entry + ": unknown think time distribution '" + 
+                                                 mix.getThinkDistribution() + "'");
+                }
+            }
+        }
+    }
+    
+    /**
+     * Config settings are positive numbers or choose a content coding by name
+     */
+    private static void validateConfig(ConfigNode config) {
+        if (config == null) {
+            return;
+        }
+        for (Map.Entry<String, Object> setting : config.getSettings().entrySet()) {
+            String key = setting.getKey();
+            List<String> allowed;
+            if (key.equals("max_rps") || key.equals("max_in_flight") || key.equals("warmup")) {
+                if (!(setting.getValue() instanceof Integer) || (Integer) setting.getValue() <= 0) {
+                    throw new RuntimeException("Config: '" + key + "' must be a positive number");
+                }
+                continue;
+            } else if (key.equals("compression")) {
+                allowed = Arrays.asList("gzip", "deflate", "none");
+            } else if (key.equals("request_compression")) {
+                allowed = Arrays.asList("gzip", "none");
+            } else {
+                throw new RuntimeException("Config: unknown setting '" + key + "'");
+            }
+            if (!allowed.contains(setting.getValue())) {
+                throw new RuntimeException("Config: '" + key + "' must be one of " + String.join(", ", allowed));
+            }
+        }
+    }
+    
+    /**
+     * Workloads replay a test without arguments, so it must exist and not be data-driven
+     */
+    private static void checkReplayable(ProgramNode program, String where, String testName) {
+        TestNode test = program.getTest(testName);
+        if (test == null) {
+            throw new RuntimeException(where + " refers to unknown test '" + testName + "'");
+        }
+        if (test.isDataDriven()) {
+            throw new RuntimeException(where + " cannot replay data-driven test '" + testName + "'");
+        }
+    }
+    
+    /**
+     * Loop bounds must be non-empty and the loop variable must not shadow another variable
+     */
+    private static void validateLoop(ProgramNode program, String testName, LoopNode loop) {
+        String where = "Loop in test '" + testName + "' (line " + loop.getLineNumber() + ")";
+        if (loop.getRequests().isEmpty()) {
+            throw new RuntimeException(where + " must contain at least one request");
+        }
+        if (!loop.hasVariable()) {
+            if (loop.getTo() < 1) {
+                throw new RuntimeException(where + ": repeat count must be at least 1");
+            }
+            return;
+        }
+        if (loop.getFrom() > loop.getTo()) {
+            throw new RuntimeException(where + ": empty range " + loop.getFrom() + ".." + loop.getTo());
+        }
+        String var = loop.getVariable();
+        boolean captured = false;
+        if (program.getSetup() != null) {
+            for (CaptureNode capture : program.getSetup().getCaptures()) {
+                captured |= capture.getName().equals(var);
+            }
+        }
+        if (program.getVariables().containsKey(var) || captured) {
+            throw new RuntimeException(where + ": loop variable $" + var + " conflicts with another variable");
+        }
+    }
+    
+    /**
+     * Fixture assertions and captures apply to the request before them;
+     * captured names become variables and must not shadow a let
+     */
+    private static void validateFixture(ProgramNode program, FixtureNode fixture) {
+        if (fixture == null) {
+            return;
+        }
+        String where = (fixture.getKind() == FixtureNode.Kind.SETUP ? "Setup" : "Teardown") +
+                       " (line " + fixture.getLineNumber() + ")";
+        List<ASTNode> statements = fixture.getStatements();
+        if (statements.isEmpty() || !(statements.get(0) instanceof RequestNode)) {
+            throw new RuntimeException(where + " must start with a request");
+        }
+        Set<String> captured = new HashSet<>();
+        for (int i = 0; i < statements.size(); i++) {
+            ASTNode statement = statements.get(i);
+            if (statement instanceof RequestNode) {
+                validateRequest(where, (RequestNode) statement);
+                int end = i + 1;
+                while (end < statements.size() && !(statements.get(end) instanceof RequestNode)) {
+                    end++;
+                }
+                validateBodyKept(where, statements.subList(i, i + 1), statements.subList(i + 1, end));
+            }
+            if (!(statement instanceof CaptureNode)) {
+                continue;
+            }
+            CaptureNode capture = (CaptureNode) statement;
+            if (fixture.getKind() == FixtureNode.Kind.TEARDOWN) {
+                throw new RuntimeException(where + ": captures are only allowed in setup");
+            }
+            if (program.getVariables().containsKey(capture.getName())) {
+                throw new RuntimeException(where + ": capture '" + capture.getName() + 
+                                         "' conflicts with a let variable");
+            }
+            if (!captured.add(capture.getName())) {
+                throw new RuntimeException(where + ": '" + capture.getName() + "' is captured twice");
+            }
+        }
+    }
+    
+    /**
+     * Only POST and PUT send a body, either inline or from a file
+     */
+    private static void validateRequest(String where, RequestNode request) {
+        boolean sendsBody = request.getMethod() == RequestNode.HttpMethod.POST ||
+                            request.getMethod() == RequestNode.HttpMethod.PUT;
+        if (!sendsBody && (request.hasBody() || request.hasBodyFile())) {
+            throw new RuntimeException(where + ": " + request.getMethod() + " " + request.getPath() +
+                                     " cannot have a body");
+        }
+        if (request.hasBody() && request.hasBodyFile()) {
+            throw new RuntimeException(where + ": " + request.getMethod() + " " + request.getPath() +
+                                     " has both a body and a body file");
+        }
+        if (request.getBodyHandling() == RequestNode.BodyHandling.FIRST &&
+                (request.getBodyLimit() <= 0 || request.getBodyLimit() > Integer.MAX_VALUE / 2)) {
+            throw new RuntimeException(where + ": " + request.getMethod() + " " + request.getPath() +
+                                     " must capture between 1 byte and 1 GB of the body");
+        }
+    }
+    
+    /**
+     * Assertions and captures apply to the last request before them, which must
+     * then keep its body if they read it
+     */
+    private static void validateBodyKept(String where, List<? extends ASTNode> requests,
+                                         List<? extends ASTNode> checks) {
+        if (requests.isEmpty()) {
+            return;
+        }
+        RequestNode request = (RequestNode) requests.get(requests.size() - 1);
+        if (request.getBodyHandling() == RequestNode.BodyHandling.DISCARD && CodeGenerator.readsBody(checks)) {
+            throw new RuntimeException(where + ": " + request.getMethod() + " " + request.getPath() +
+                                     " discards its body, but the assertions after it read the body");
+        }
+    }
+    
+    /**
+     * Check that every setting is known and has the right kind of value
+     */
+    private static void validateSettings(WorkloadNode node, String where, 
+                                         String[] numberKeys, String[] durationKeys) {
+        for (Map.Entry<String, Object> setting : node.getSettings().entrySet()) {
+            String key = setting.getKey();
+            Object value = setting.getValue();
+            if (Arrays.asList(numberKeys).contains(key)) {
+                if (!(value instanceof Integer)) {
+                    throw new RuntimeException(where + ": '" + key + "' must be a number");
+                }
+            } else if (Arrays.asList(durationKeys).contains(key)) {
+                if (!(value instanceof Long)) {
+                    throw new RuntimeException(where + ": '" + key + "' must be a duration such as 30s or 500ms");
+                }
+            } else {
+                throw new RuntimeException(where + ": unknown setting '" + key + "'");
+            }
         }
     }
 }
\ No newline at end of file
@@ -1,99 +1,189 @@
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.*;
 import static org.junit.jupiter.api.Assertions.*;
 import java.net.http.*;
-import java.net.*;
-import java.time.Duration;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.stream.*;
+import runtime.*;
 
 public class GeneratedTests {
-    static String BASE = "http://localhost:8080";
-    static Map<String, String> DEFAULT_HEADERS = new HashMap<>();
-    static HttpClient client;
+    static final Suite SUITE = new Suite("http://localhost:8080")
+        .header("Content-Type", "application/json")
+        .header("X-App", "TestLangDemo");
+    static {
+        FailFast.skipWith(org.opentest4j.TestAbortedException::new);
+    }
+    static String cap_token;
 
     @BeforeAll
-    static void setup() {
-        client = HttpClient.newBuilder()
-            .connectTimeout(Duration.ofSeconds(5))
-            .build();
-        DEFAULT_HEADERS.put("Content-Type", "application/json");
-        DEFAULT_HEADERS.put("X-App", "TestLangDemo");
+    static void setup() throws Exception {
+        SUITE.warmUp(20, SUITE.get("/api/users/42"));
+        {
+            Exchange resp = SUITE.send(SUITE.post("/api/login", "{ \"username\": \"admin\", \"password\": \"1234\" }"));
+            resp.expectStatus(200);
+            Object[] json = resp.json(new JsonPathExtractor("$.token"));
+            cap_token = JsonPathExtractor.text(json[0], "$.token");
+        }
+    }
+
+    @AfterAll
+    static void teardown() throws Exception {
+        {
+            Exchange resp = SUITE.send(SUITE.put("/api/users/42", "{ \"role\": \"USER\" }")
+                .header("Authorization", "Bearer " + cap_token));
+            resp.expectStatus(200);
+            Object[] json = resp.json(new JsonPathExtractor("$.role"));
+            resp.expectJson(json[0], "$.role", "\"USER\"");
+        }
     }
 
     @Test
     void test_Login() throws Exception {
-        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(BASE + "/api/login"))
-            .timeout(Duration.ofSeconds(10))
-            .POST(HttpRequest.BodyPublishers.ofString("{ \"username\": \"admin\", \"password\": \"1234\" }", StandardCharsets.UTF_8));
-        for (var e : DEFAULT_HEADERS.entrySet()) {
-            b.header(e.getKey(), e.getValue());
-        }
-        HttpResponse<String> resp = client.send(b.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        Timings.run("GeneratedTests.Login", () -> run_Login());
+    }
 
-        assertEquals(200, resp.statusCode());
-        assertTrue(resp.headers().firstValue("Content-Type").orElse("").contains("json"));
-        assertTrue(resp.body().contains("\"token\":"));
+    static void run_Login() throws Exception {
+        Exchange resp = SUITE.send(SUITE.post("/api/login", "{ \"username\": \"admin\", \"password\": \"1234\" }"));
+        resp.expectStatus(200);
+        resp.expectHeaderContains("Content-Type", "json");
+        resp.expectBodyContains("\"token\":");
     }
 
+    static final JsonPathExtractor JSON_GetUserById = new JsonPathExtractor("$.id", "$.username");
+
     @Test
     void test_GetUserById() throws Exception {
-        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(BASE + "/api/users/42"))
-            .timeout(Duration.ofSeconds(10))
-            .GET();
-        for (var e : DEFAULT_HEADERS.entrySet()) {
-            b.header(e.getKey(), e.getValue());
-        }
-        HttpResponse<String> resp = client.send(b.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        Timings.run("GeneratedTests.GetUserById", () -> run_GetUserById());
+    }
 
-        assertEquals(200, resp.statusCode());
-        assertTrue(resp.body().contains("\"id\":42"));
-        assertTrue(resp.body().contains("\"username\":"));
+    static void run_GetUserById() throws Exception {
+        Exchange resp = SUITE.send(SUITE.get("/api/users/42"), 4096L);
+        resp.expectStatus(200);
+        Object[] json = resp.json(JSON_GetUserById);
+        resp.expectJson(json[0], "$.id", "42");
+        resp.expectJson(json[1], "$.username", "\"alice\"");
+        resp.expectLatencyBelow(500);
+        resp.expectSizeBelow(4096L);
     }
 
+    static final JsonPathExtractor JSON_UpdateUser = new JsonPathExtractor("$.updated", "$.role");
+
     @Test
     void test_UpdateUser() throws Exception {
-        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(BASE + "/api/users/42"))
-            .timeout(Duration.ofSeconds(10))
-            .PUT(HttpRequest.BodyPublishers.ofString("{ \"role\": \"ADMIN\" }", StandardCharsets.UTF_8));
-        for (var e : DEFAULT_HEADERS.entrySet()) {
-            b.header(e.getKey(), e.getValue());
-        }
-        HttpResponse<String> resp = client.send(b.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        Timings.run("GeneratedTests.UpdateUser", () -> run_UpdateUser());
+    }
 
-        assertEquals(200, resp.statusCode());
-        assertEquals("TestLangDemo", resp.headers().firstValue("X-App").orElse(""));
-        assertTrue(resp.headers().firstValue("Content-Type").orElse("").contains("json"));
-        assertTrue(resp.body().contains("\"updated\":true"));
-        assertTrue(resp.body().contains("\"role\":\"ADMIN\""));
+    static void run_UpdateUser() throws Exception {
+        Exchange resp = SUITE.send(SUITE.put("/api/users/42", "{ \"role\": \"ADMIN\" }")
+            .header("Authorization", "Bearer " + cap_token));
+        resp.expectStatus(200);
+        resp.expectHeader("X-App", "TestLangDemo");
+        resp.expectHeaderContains("Content-Type", "json");
+        Object[] json = resp.json(JSON_UpdateUser);
+        resp.expectJson(json[0], "$.updated", "true");
+        resp.expectJson(json[1], "$.role", "\"ADMIN\"");
     }
 
     @Test
     void test_DeleteUser() throws Exception {
-        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(BASE + "/api/users/999"))
-            .timeout(Duration.ofSeconds(10))
-            .DELETE();
-        for (var e : DEFAULT_HEADERS.entrySet()) {
-            b.header(e.getKey(), e.getValue());
-        }
-        HttpResponse<String> resp = client.send(b.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        Timings.run("GeneratedTests.DeleteUser", () -> run_DeleteUser());
+    }
 
-        assertEquals(200, resp.statusCode());
-        assertTrue(resp.body().contains("\"deleted\":"));
+    static void run_DeleteUser() throws Exception {
+        Exchange resp = SUITE.send(SUITE.delete("/api/users/999"));
+        resp.expectStatus(200);
+        resp.expectBodyContains("\"deleted\":");
     }
 
     @Test
     void test_LoginDifferentUser() throws Exception {
-        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(BASE + "/api/login"))
-            .timeout(Duration.ofSeconds(10))
-            .POST(HttpRequest.BodyPublishers.ofString("{ \"username\": \"testuser\", \"password\": \"test123\" }", StandardCharsets.UTF_8));
-        b.header("User-Agent", "TestLangClient/1.0");
-        for (var e : DEFAULT_HEADERS.entrySet()) {
-            b.header(e.getKey(), e.getValue());
+        Timings.run("GeneratedTests.LoginDifferentUser", () -> run_LoginDifferentUser());
+    }
+
+    static void run_LoginDifferentUser() throws Exception {
+        Exchange resp = SUITE.send(SUITE.post("/api/login", "{ \"username\": \"testuser\", \"password\": \"test123\" }")
+            .header("User-Agent", "TestLangClient/1.0"));
+        resp.expectStatus(200);
+        resp.expectBodyContains("\"token\":");
+    }
+
+    @Test
+    void test_SoakUsers() throws Exception {
+        Timings.run("GeneratedTests.SoakUsers", () -> run_SoakUsers());
+    }
+
+    static void run_SoakUsers() throws Exception {
+        loop_SoakUsers_1();
+        loop_SoakUsers_2();
+    }
+
+    static void loop_SoakUsers_1() throws Exception {
+        for (int i = 1; i <= 41; i++) {
+            Exchange resp = SUITE.send(SUITE.get("/api/users/" + i), Suite.DISCARD);
+            resp.expectStatus(404);
+        }
+    }
+
+    static void loop_SoakUsers_2() throws Exception {
+        HttpRequest template0 = SUITE.build(SUITE.get("/api/users/42"));
+        for (int i = 1; i <= 50; i++) {
+            Exchange resp = SUITE.send(template0, Suite.DISCARD);
+            resp.expectStatus(200);
+            resp.expectLatencyBelow(500);
         }
-        HttpResponse<String> resp = client.send(b.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    static final JsonPathExtractor JSON_GetUserFromRows = new JsonPathExtractor("$.username");
+
+    static final String ROWS_GetUserFromRows = "examples/users.csv";
+
+    @TestFactory
+    Stream<DynamicTest> test_GetUserFromRows() throws Exception {
+        return Rows.open(ROWS_GetUserFromRows)
+            .map(row -> DynamicTest.dynamicTest(row.toString(), () ->
+                Timings.run("GeneratedTests.GetUserFromRows", () -> run_GetUserFromRows(row))));
+    }
 
-        assertEquals(200, resp.statusCode());
-        assertTrue(resp.body().contains("\"token\":"));
+    static void run_GetUserFromRows(Row row) throws Exception {
+        Exchange resp = SUITE.send(SUITE.get("/api/users/" + row.get("id")));
+        resp.expectStatus(200);
+        Object[] json = resp.json(JSON_GetUserFromRows);
+        resp.expectJson(json[0], "$.username", "\"" + JsonPathExtractor.escape(row.get("username")) + "\"");
+    }
+
+    static final LoadGenerator LOAD_GetUserById = new LoadGenerator("GetUserById", 50, 10000L, 16, 2000L);
+
+    @Test
+    @Tag("load")
+    @EnabledIfSystemProperty(named = "testlang.perf", matches = "true")
+    void load_GetUserById() throws Exception {
+        LoadReport report = LOAD_GetUserById.run(() -> run_GetUserById());
+        System.out.println(report);
+        System.out.println("  histogram log: " + report.writeHistogramLog());
+        assertTrue(report.getErrors() <= 0, () -> "too many errors\n" + report);
+    }
+
+    @Test
+    @Tag("capacity")
+    @EnabledIfSystemProperty(named = "testlang.perf", matches = "true")
+    void capacity_GetUserById() throws Exception {
+        CapacityReport report = new CapacitySearch("GetUserById", 100L, 99, 1, 3000L, 64, 2)
+            .run(() -> run_GetUserById());
+        System.out.println(report);
+        assertNotNull(report.getKnee(), () -> report.toString());
+    }
+
+    @Test
+    @Tag("scenario")
+    @EnabledIfSystemProperty(named = "testlang.perf", matches = "true")
+    void scenario_MixedTraffic() throws Exception {
+        ScenarioRunner runner = new ScenarioRunner("MixedTraffic", 20, 30000L, 5000L);
+        runner.add("GetUserById", 70, ThinkTime.uniform(100L, 500L), () -> run_GetUserById());
+        runner.add("Login", 20, ThinkTime.exponential(1000L), () -> run_Login());
+        runner.add("UpdateUser", 10, ThinkTime.constant(200L), () -> run_UpdateUser());
+        ScenarioReport report = runner.run();
+        System.out.println(report);
+        assertTrue(report.getErrors() <= 0, () -> "too many errors\n" + report);
     }
 
 }
@@ -33,17 +33,41 @@ public class Parser extends java_cup.runtime.lr_parser {
   /** Production table. */
   protected static final short _production_table[][] = 
     unpackFromStrings(new String[] {
-    "\000\043\000\002\002\004\000\002\002\005\000\002\003" +
+    "\000\157\000\002\002\004\000\002\002\005\000\002\003" +
     "\003\000\002\003\002\000\002\004\006\000\002\005\007" +
-    "\000\002\005\004\000\002\005\002\000\002\021\007\000" +
-    "\002\006\004\000\002\006\002\000\002\007\007\000\002" +
-    "\010\003\000\002\010\003\000\002\011\004\000\002\011" +
-    "\003\000\002\012\007\000\002\013\004\000\002\013\003" +
-    "\000\002\014\003\000\002\014\003\000\002\015\005\000" +
-    "\002\015\005\000\002\015\006\000\002\015\006\000\002" +
-    "\016\005\000\002\016\002\000\002\017\004\000\002\017" +
-    "\002\000\002\020\003\000\002\020\006\000\002\022\007" +
-    "\000\002\022\010\000\002\022\010\000\002\022\007" });
+    "\000\002\005\004\000\002\005\007\000\002\005\002\000" +
+    "\002\040\007\000\002\006\004\000\002\006\002\000\002" +
+    "\007\007\000\002\043\003\000\002\043\003\000\002\043" +
+    "\003\000\002\043\003\000\002\043\003\000\002\043\003" +
+    "\000\002\043\003\000\002\043\003\000\002\043\003\000" +
+    "\002\043\003\000\002\043\003\000\002\043\003\000\002" +
+    "\043\003\000\002\043\003\000\002\043\003\000\002\043" +
+    "\003\000\002\043\003\000\002\043\003\000\002\043\003" +
+    "\000\002\043\003\000\002\043\003\000\002\043\003\000" +
+    "\002\043\003\000\002\010\003\000\002\010\003\000\002" +
+    "\011\004\000\002\011\003\000\002\012\003\000\002\012" +
+    "\003\000\002\012\003\000\002\012\003\000\002\012\003" +
+    "\000\002\016\006\000\002\016\006\000\002\017\004\000" +
+    "\002\017\002\000\002\020\003\000\002\020\003\000\002" +
+    "\020\003\000\002\021\010\000\002\021\010\000\002\013" +
+    "\007\000\002\013\012\000\002\022\007\000\002\023\007" +
+    "\000\002\024\007\000\002\025\007\000\002\025\004\000" +
+    "\002\025\002\000\002\026\010\000\002\027\004\000\002" +
+    "\027\007\000\002\027\011\000\002\027\002\000\002\030" +
+    "\007\000\002\030\002\000\002\031\003\000\002\031\003" +
+    "\000\002\031\003\000\002\031\003\000\002\032\004\000" +
+    "\002\032\003\000\002\033\003\000\002\033\003\000\002" +
+    "\033\003\000\002\014\007\000\002\014\013\000\002\015" +
+    "\004\000\002\015\004\000\002\015\002\000\002\034\006" +
+    "\000\002\034\006\000\002\034\006\000\002\034\006\000" +
+    "\002\035\005\000\002\035\002\000\002\036\004\000\002" +
+    "\036\002\000\002\037\003\000\002\037\006\000\002\037" +
+    "\007\000\002\037\005\000\002\037\006\000\002\037\004" +
+    "\000\002\041\007\000\002\041\010\000\002\041\010\000" +
+    "\002\041\007\000\002\041\010\000\002\041\007\000\002" +
+    "\041\007\000\002\041\010\000\002\042\003\000\002\042" +
+    "\003\000\002\042\003\000\002\042\003\000\002\042\003" +
+    "\000\002\042\003" });
 
   /** Access to production table. */
   public short[][] production_table() {return _production_table;}
@@ -51,60 +75,223 @@ public class Parser extends java_cup.runtime.lr_parser {
   /** Parse-action table. */
   protected static final short[][] _action_table = 
     unpackFromStrings(new String[] {
-    "\000\120\000\010\004\004\007\ufffe\010\ufffe\001\002\000" +
-    "\004\023\113\001\002\000\004\002\112\001\002\000\006" +
-    "\007\ufff7\010\ufff7\001\002\000\006\007\uffff\010\uffff\001" +
-    "\002\000\006\007\011\010\013\001\002\000\004\025\104" +
-    "\001\002\000\006\007\ufff8\010\ufff8\001\002\000\004\025" +
-    "\017\001\002\000\006\002\ufff2\010\ufff2\001\002\000\006" +
-    "\002\000\010\013\001\002\000\006\002\ufff3\010\ufff3\001" +
-    "\002\000\004\023\020\001\002\000\014\011\030\012\027" +
-    "\013\021\014\025\015\024\001\002\000\004\026\101\001" +
-    "\002\000\016\011\uffee\012\uffee\013\uffee\014\uffee\015\uffee" +
-    "\024\uffee\001\002\000\016\011\uffef\012\uffef\013\uffef\014" +
-    "\uffef\015\uffef\024\uffef\001\002\000\010\006\063\016\061" +
-    "\017\062\001\002\000\004\026\057\001\002\000\016\011" +
-    "\030\012\027\013\021\014\025\015\024\024\056\001\002" +
-    "\000\004\026\034\001\002\000\004\026\032\001\002\000" +
-    "\016\011\uffed\012\uffed\013\uffed\014\uffed\015\uffed\024\uffed" +
-    "\001\002\000\004\022\033\001\002\000\016\011\uffec\012" +
-    "\uffec\013\uffec\014\uffec\015\uffec\024\uffec\001\002\000\006" +
-    "\022\uffe7\023\035\001\002\000\010\006\uffe5\017\uffe5\024" +
-    "\uffe5\001\002\000\004\022\037\001\002\000\016\011\uffea" +
-    "\012\uffea\013\uffea\014\uffea\015\uffea\024\uffea\001\002\000" +
-    "\010\006\045\017\043\024\044\001\002\000\010\006\uffe4" +
-    "\017\uffe4\024\uffe4\001\002\000\010\006\uffe6\017\uffe6\024" +
-    "\uffe6\001\002\000\004\021\052\001\002\000\004\022\uffe8" +
-    "\001\002\000\004\026\046\001\002\000\004\021\047\001" +
-    "\002\000\004\026\050\001\002\000\004\022\051\001\002" +
-    "\000\012\005\ufff9\006\ufff9\017\ufff9\024\ufff9\001\002\000" +
-    "\004\026\053\001\002\000\004\022\054\001\002\000\010" +
-    "\006\uffe3\017\uffe3\024\uffe3\001\002\000\016\011\ufff0\012" +
-    "\ufff0\013\ufff0\014\ufff0\015\ufff0\024\ufff0\001\002\000\006" +
-    "\002\ufff1\010\ufff1\001\002\000\004\022\060\001\002\000" +
-    "\016\011\uffeb\012\uffeb\013\uffeb\014\uffeb\015\uffeb\024\uffeb" +
-    "\001\002\000\004\021\076\001\002\000\004\020\073\001" +
-    "\002\000\004\026\064\001\002\000\006\020\065\021\066" +
-    "\001\002\000\004\026\071\001\002\000\004\026\067\001" +
-    "\002\000\004\022\070\001\002\000\016\011\uffe1\012\uffe1" +
-    "\013\uffe1\014\uffe1\015\uffe1\024\uffe1\001\002\000\004\022" +
-    "\072\001\002\000\016\011\uffe0\012\uffe0\013\uffe0\014\uffe0" +
-    "\015\uffe0\024\uffe0\001\002\000\004\026\074\001\002\000" +
-    "\004\022\075\001\002\000\016\011\uffdf\012\uffdf\013\uffdf" +
-    "\014\uffdf\015\uffdf\024\uffdf\001\002\000\004\027\077\001" +
-    "\002\000\004\022\100\001\002\000\016\011\uffe2\012\uffe2" +
-    "\013\uffe2\014\uffe2\015\uffe2\024\uffe2\001\002\000\006\022" +
-    "\uffe7\023\035\001\002\000\004\022\103\001\002\000\016" +
-    "\011\uffe9\012\uffe9\013\uffe9\014\uffe9\015\uffe9\024\uffe9\001" +
-    "\002\000\004\021\105\001\002\000\006\026\106\027\107" +
-    "\001\002\000\004\022\ufff5\001\002\000\004\022\ufff4\001" +
-    "\002\000\004\022\111\001\002\000\006\007\ufff6\010\ufff6" +
-    "\001\002\000\004\002\001\001\002\000\010\005\ufffa\006" +
-    "\ufffa\024\ufffa\001\002\000\010\005\117\006\045\024\116" +
-    "\001\002\000\010\005\ufffb\006\ufffb\024\ufffb\001\002\000" +
-    "\006\007\ufffd\010\ufffd\001\002\000\004\021\120\001\002" +
-    "\000\004\026\121\001\002\000\004\022\122\001\002\000" +
-    "\010\005\ufffc\006\ufffc\024\ufffc\001\002" });
+    "\000\353\000\022\004\004\007\ufffe\010\ufffe\011\ufffe\012" +
+    "\ufffe\033\ufffe\034\ufffe\035\ufffe\001\002\000\004\056\342" +
+    "\001\002\000\004\002\341\001\002\000\020\007\ufff6\010" +
+    "\ufff6\011\ufff6\012\ufff6\033\ufff6\034\ufff6\035\ufff6\001\002" +
+    "\000\020\007\uffff\010\uffff\011\uffff\012\uffff\033\uffff\034" +
+    "\uffff\035\uffff\001\002\000\020\007\024\010\016\011\027" +
+    "\012\023\033\021\034\015\035\025\001\002\000\020\002" +
+    "\000\010\016\011\027\012\023\033\021\034\015\035\025" +
+    "\001\002\000\020\002\uffd5\010\uffd5\011\uffd5\012\uffd5\033" +
+    "\uffd5\034\uffd5\035\uffd5\001\002\000\020\002\uffda\010\uffda" +
+    "\011\uffda\012\uffda\033\uffda\034\uffda\035\uffda\001\002\000" +
+    "\020\007\ufff7\010\ufff7\011\ufff7\012\ufff7\033\ufff7\034\ufff7" +
+    "\035\ufff7\001\002\000\060\011\047\012\060\023\046\024" +
+    "\054\025\062\026\066\027\056\030\070\031\072\033\061" +
+    "\034\045\035\063\036\057\037\067\043\071\044\065\045" +
+    "\050\047\055\050\064\051\051\052\053\053\073\060\052" +
+    "\001\002\000\060\011\047\012\060\023\046\024\054\025" +
+    "\062\026\066\027\056\030\070\031\072\033\061\034\045" +
+    "\035\063\036\057\037\067\043\071\044\065\045\050\047" +
+    "\055\050\064\051\051\052\053\053\073\060\052\001\002" +
+    "\000\020\002\uffd6\010\uffd6\011\uffd6\012\uffd6\033\uffd6\034" +
+    "\uffd6\035\uffd6\001\002\000\020\002\uffd8\010\uffd8\011\uffd8" +
+    "\012\uffd8\033\uffd8\034\uffd8\035\uffd8\001\002\000\060\011" +
+    "\047\012\060\023\046\024\054\025\062\026\066\027\056" +
+    "\030\070\031\072\033\061\034\045\035\063\036\057\037" +
+    "\067\043\071\044\065\045\050\047\055\050\064\051\051" +
+    "\052\053\053\073\060\052\001\002\000\020\002\uffd7\010" +
+    "\uffd7\011\uffd7\012\uffd7\033\uffd7\034\uffd7\035\uffd7\001\002" +
+    "\000\004\056\262\001\002\000\060\011\047\012\060\023" +
+    "\046\024\054\025\062\026\066\027\056\030\070\031\072" +
+    "\033\061\034\045\035\063\036\057\037\067\043\071\044" +
+    "\065\045\050\047\055\050\064\051\051\052\053\053\073" +
+    "\060\052\001\002\000\060\011\047\012\060\023\046\024" +
+    "\054\025\062\026\066\027\056\030\070\031\072\033\061" +
+    "\034\045\035\063\036\057\037\067\043\071\044\065\045" +
+    "\050\047\055\050\064\051\051\052\053\053\073\060\052" +
+    "\001\002\000\020\002\uffd9\010\uffd9\011\uffd9\012\uffd9\033" +
+    "\uffd9\034\uffd9\035\uffd9\001\002\000\004\056\030\001\002" +
+    "\000\020\007\uffd1\013\uffd1\014\uffd1\015\uffd1\016\uffd1\017" +
+    "\uffd1\057\uffd1\001\002\000\020\007\041\013\040\014\037" +
+    "\015\032\016\035\017\034\057\042\001\002\000\004\061" +
+    "\215\001\002\000\020\007\uffd0\013\uffd0\014\uffd0\015\uffd0" +
+    "\016\uffd0\017\uffd0\057\uffd0\001\002\000\020\006\151\020" +
+    "\145\021\150\023\153\027\147\030\152\031\146\001\002" +
+    "\000\004\061\142\001\002\000\020\007\uffd2\013\uffd2\014" +
+    "\uffd2\015\uffd2\016\uffd2\017\uffd2\057\uffd2\001\002\000\004" +
+    "\061\137\001\002\000\004\061\104\001\002\000\060\011" +
+    "\047\012\060\023\046\024\054\025\062\026\066\027\056" +
+    "\030\070\031\072\033\061\034\045\035\063\036\057\037" +
+    "\067\043\071\044\065\045\050\047\055\050\064\051\051" +
+    "\052\053\053\073\060\052\001\002\000\020\002\uffd4\010" +
+    "\uffd4\011\uffd4\012\uffd4\033\uffd4\034\uffd4\035\uffd4\001\002" +
+    "\000\020\007\uffce\013\uffce\014\uffce\015\uffce\016\uffce\017" +
+    "\uffce\057\uffce\001\002\000\020\007\uffcf\013\uffcf\014\uffcf" +
+    "\015\uffcf\016\uffcf\017\uffcf\057\uffcf\001\002\000\010\047" +
+    "\ufff0\054\ufff0\056\ufff0\001\002\000\010\047\uffec\054\uffec" +
+    "\056\uffec\001\002\000\010\047\ufff3\054\ufff3\056\ufff3\001" +
+    "\002\000\010\047\uffe3\054\uffe3\056\uffe3\001\002\000\010" +
+    "\047\uffe0\054\uffe0\056\uffe0\001\002\000\010\047\ufff4\054" +
+    "\ufff4\056\ufff4\001\002\000\010\047\uffdf\054\uffdf\056\uffdf" +
+    "\001\002\000\010\047\uffeb\054\uffeb\056\uffeb\001\002\000" +
+    "\010\047\uffe2\054\uffe2\056\uffe2\001\002\000\010\047\uffe8" +
+    "\054\uffe8\056\uffe8\001\002\000\010\047\uffee\054\uffee\056" +
+    "\uffee\001\002\000\010\047\ufff2\054\ufff2\056\ufff2\001\002" +
+    "\000\010\047\ufff1\054\ufff1\056\ufff1\001\002\000\010\047" +
+    "\uffea\054\uffea\056\uffea\001\002\000\010\047\uffef\054\uffef" +
+    "\056\uffef\001\002\000\010\047\uffe1\054\uffe1\056\uffe1\001" +
+    "\002\000\010\047\uffe4\054\uffe4\056\uffe4\001\002\000\010" +
+    "\047\uffe9\054\uffe9\056\uffe9\001\002\000\010\047\uffed\054" +
+    "\uffed\056\uffed\001\002\000\010\047\uffe7\054\uffe7\056\uffe7" +
+    "\001\002\000\010\047\uffe5\054\uffe5\056\uffe5\001\002\000" +
+    "\010\047\uffe6\054\uffe6\056\uffe6\001\002\000\010\047\uffde" +
+    "\054\uffde\056\uffde\001\002\000\004\054\075\001\002\000" +
+    "\006\006\076\023\077\001\002\000\004\061\102\001\002" +
+    "\000\004\061\100\001\002\000\004\055\101\001\002\000" +
+    "\020\007\uffcd\013\uffcd\014\uffcd\015\uffcd\016\uffcd\017\uffcd" +
+    "\057\uffcd\001\002\000\004\055\103\001\002\000\020\007" +
+    "\uffcc\013\uffcc\014\uffcc\015\uffcc\016\uffcc\017\uffcc\057\uffcc" +
+    "\001\002\000\006\055\uffa9\056\105\001\002\000\014\006" +
+    "\uffa7\021\uffa7\052\uffa7\053\uffa7\057\uffa7\001\002\000\004" +
+    "\055\107\001\002\000\024\007\uffae\013\uffae\014\uffae\015" +
+    "\uffae\016\uffae\017\uffae\043\uffae\044\uffae\057\uffae\001\002" +
+    "\000\014\006\116\021\114\052\117\053\111\057\115\001" +
+    "\002\000\004\055\136\001\002\000\014\006\uffa6\021\uffa6" +
+    "\052\uffa6\053\uffa6\057\uffa6\001\002\000\014\006\uffa8\021" +
+    "\uffa8\052\uffa8\053\uffa8\057\uffa8\001\002\000\004\054\130" +
+    "\001\002\000\004\055\uffaa\001\002\000\004\061\124\001" +
+    "\002\000\004\060\120\001\002\000\006\055\121\066\122" +
+    "\001\002\000\014\006\uffa3\021\uffa3\052\uffa3\053\uffa3\057" +
+    "\uffa3\001\002\000\004\055\123\001\002\000\014\006\uffa2" +
+    "\021\uffa2\052\uffa2\053\uffa2\057\uffa2\001\002\000\004\054" +
+    "\125\001\002\000\004\061\126\001\002\000\004\055\127" +
+    "\001\002\000\020\005\ufff8\006\ufff8\021\ufff8\052\ufff8\053" +
+    "\ufff8\057\ufff8\060\ufff8\001\002\000\006\051\132\061\131" +
+    "\001\002\000\004\055\135\001\002\000\004\061\133\001" +
+    "\002\000\004\055\134\001\002\000\014\006\uffa4\021\uffa4" +
+    "\052\uffa4\053\uffa4\057\uffa4\001\002\000\014\006\uffa5\021" +
+    "\uffa5\052\uffa5\053\uffa5\057\uffa5\001\002\000\014\006\uffa1" +
+    "\021\uffa1\052\uffa1\053\uffa1\057\uffa1\001\002\000\006\055" +
+    "\uffa9\056\105\001\002\000\004\055\141\001\002\000\024" +
+    "\007\uffac\013\uffac\014\uffac\015\uffac\016\uffac\017\uffac\043" +
+    "\uffac\044\uffac\057\uffac\001\002\000\006\055\uffa9\056\105" +
+    "\001\002\000\004\055\144\001\002\000\024\007\uffad\013" +
+    "\uffad\014\uffad\015\uffad\016\uffad\017\uffad\043\uffad\044\uffad" +
+    "\057\uffad\001\002\000\004\054\212\001\002\000\004\030" +
+    "\206\001\002\000\004\032\203\001\002\000\004\022\200" +
+    "\001\002\000\004\061\171\001\002\000\004\032\166\001" +
+    "\002\000\004\061\154\001\002\000\004\054\155\001\002" +
+    "\000\016\024\160\025\162\026\163\061\156\063\164\064" +
+    "\161\001\002\000\004\055\uff98\001\002\000\004\055\165" +
+    "\001\002\000\004\055\uff95\001\002\000\004\055\uff97\001" +
+    "\002\000\004\055\uff94\001\002\000\004\055\uff93\001\002" +
+    "\000\004\055\uff96\001\002\000\024\007\uff9c\013\uff9c\014" +
+    "\uff9c\015\uff9c\016\uff9c\017\uff9c\043\uff9c\044\uff9c\057\uff9c" +
+    "\001\002\000\004\066\167\001\002\000\004\055\170\001" +
+    "\002\000\024\007\uff9a\013\uff9a\014\uff9a\015\uff9a\016\uff9a" +
+    "\017\uff9a\043\uff9a\044\uff9a\057\uff9a\001\002\000\006\022" +
+    "\172\054\173\001\002\000\004\061\176\001\002\000\004" +
+    "\061\174\001\002\000\004\055\175\001\002\000\024\007" +
+    "\uff9f\013\uff9f\014\uff9f\015\uff9f\016\uff9f\017\uff9f\043\uff9f" +
+    "\044\uff9f\057\uff9f\001\002\000\004\055\177\001\002\000" +
+    "\024\007\uff9e\013\uff9e\014\uff9e\015\uff9e\016\uff9e\017\uff9e" +
+    "\043\uff9e\044\uff9e\057\uff9e\001\002\000\004\061\201\001" +
+    "\002\000\004\055\202\001\002\000\024\007\uff9d\013\uff9d" +
+    "\014\uff9d\015\uff9d\016\uff9d\017\uff9d\043\uff9d\044\uff9d\057" +
+    "\uff9d\001\002\000\004\065\204\001\002\000\004\055\205" +
+    "\001\002\000\024\007\uff9b\013\uff9b\014\uff9b\015\uff9b\016" +
+    "\uff9b\017\uff9b\043\uff9b\044\uff9b\057\uff9b\001\002\000\004" +
+    "\032\207\001\002\000\004\066\210\001\002\000\004\055" +
+    "\211\001\002\000\024\007\uff99\013\uff99\014\uff99\015\uff99" +
+    "\016\uff99\017\uff99\043\uff99\044\uff99\057\uff99\001\002\000" +
+    "\004\064\213\001\002\000\004\055\214\001\002\000\024" +
+    "\007\uffa0\013\uffa0\014\uffa0\015\uffa0\016\uffa0\017\uffa0\043" +
+    "\uffa0\044\uffa0\057\uffa0\001\002\000\006\055\uffa9\056\105" +
+    "\001\002\000\004\055\217\001\002\000\024\007\uffab\013" +
+    "\uffab\014\uffab\015\uffab\016\uffab\017\uffab\043\uffab\044\uffab" +
+    "\057\uffab\001\002\000\004\056\221\001\002\000\010\036" +
+    "\uffc4\057\uffc4\060\uffc4\001\002\000\010\036\223\057\224" +
+    "\060\225\001\002\000\060\011\047\012\060\023\046\024" +
+    "\054\025\062\026\066\027\056\030\070\031\072\033\061" +
+    "\034\045\035\063\036\057\037\067\043\071\044\065\045" +
+    "\050\047\055\050\064\051\051\052\053\053\073\060\052" +
+    "\001\002\000\020\002\uffc7\010\uffc7\011\uffc7\012\uffc7\033" +
+    "\uffc7\034\uffc7\035\uffc7\001\002\000\004\054\227\001\002" +
+    "\000\010\036\uffc5\057\uffc5\060\uffc5\001\002\000\012\060" +
+    "\234\061\231\064\233\065\232\001\002\000\004\055\235" +
+    "\001\002\000\004\055\uffba\001\002\000\004\055\uffbb\001" +
+    "\002\000\004\055\uffbc\001\002\000\004\055\uffb9\001\002" +
+    "\000\010\036\uffc6\057\uffc6\060\uffc6\001\002\000\004\054" +
+    "\237\001\002\000\004\064\240\001\002\000\006\037\242" +
+    "\055\uffbf\001\002\000\004\055\253\001\002\000\006\060" +
+    "\244\065\243\001\002\000\004\055\uffc2\001\002\000\004" +
+    "\040\245\001\002\000\004\065\246\001\002\000\006\041" +
+    "\250\042\247\001\002\000\004\065\251\001\002\000\004" +
+    "\055\uffc1\001\002\000\004\041\252\001\002\000\004\055" +
+    "\uffc0\001\002\000\010\036\uffc3\057\uffc3\060\uffc3\001\002" +
+    "\000\004\054\255\001\002\000\006\061\256\064\257\001" +
+    "\002\000\004\055\uffdd\001\002\000\004\055\uffdc\001\002" +
+    "\000\004\055\261\001\002\000\020\007\ufff5\010\ufff5\011" +
+    "\ufff5\012\ufff5\033\ufff5\034\ufff5\035\ufff5\001\002\000\020" +
+    "\007\uffd1\013\uffd1\014\uffd1\015\uffd1\016\uffd1\017\uffd1\057" +
+    "\uffd1\001\002\000\020\007\041\013\040\014\037\015\032" +
+    "\016\035\017\034\057\264\001\002\000\020\002\uffd3\010" +
+    "\uffd3\011\uffd3\012\uffd3\033\uffd3\034\uffd3\035\uffd3\001\002" +
+    "\000\004\056\266\001\002\000\006\057\uffbd\060\uffbd\001" +
+    "\002\000\006\057\271\060\270\001\002\000\004\054\272" +
+    "\001\002\000\020\002\uffc9\010\uffc9\011\uffc9\012\uffc9\033" +
+    "\uffc9\034\uffc9\035\uffc9\001\002\000\012\060\234\061\231" +
+    "\064\233\065\232\001\002\000\004\055\274\001\002\000" +
+    "\006\057\uffbe\060\uffbe\001\002\000\006\047\277\056\276" +
+    "\001\002\000\020\013\040\014\037\015\032\016\035\017" +
+    "\034\043\303\044\304\001\002\000\004\050\300\001\002" +
+    "\000\004\061\301\001\002\000\004\056\302\001\002\000" +
+    "\020\013\040\014\037\015\032\016\035\017\034\043\303" +
+    "\044\304\001\002\000\004\064\326\001\002\000\004\062" +
+    "\314\001\002\000\022\013\uffb6\014\uffb6\015\uffb6\016\uffb6" +
+    "\017\uffb6\043\uffb6\044\uffb6\057\uffb6\001\002\000\022\013" +
+    "\uffb4\014\uffb4\015\uffb4\016\uffb4\017\uffb4\043\uffb4\044\uffb4" +
+    "\057\uffb4\001\002\000\022\013\uffb7\014\uffb7\015\uffb7\016" +
+    "\uffb7\017\uffb7\043\uffb7\044\uffb7\057\uffb7\001\002\000\022" +
+    "\013\040\014\037\015\032\016\035\017\034\043\303\044" +
+    "\304\057\313\001\002\000\022\013\uffb5\014\uffb5\015\uffb5" +
+    "\016\uffb5\017\uffb5\043\uffb5\044\uffb5\057\uffb5\001\002\000" +
+    "\022\013\uffb8\014\uffb8\015\uffb8\016\uffb8\017\uffb8\043\uffb8" +
+    "\044\uffb8\057\uffb8\001\002\000\020\002\uffca\010\uffca\011" +
+    "\uffca\012\uffca\033\uffca\034\uffca\035\uffca\001\002\000\004" +
+    "\045\315\001\002\000\004\064\316\001\002\000\004\046" +
+    "\317\001\002\000\004\064\320\001\002\000\004\056\321" +
+    "\001\002\000\016\013\uffaf\014\uffaf\015\uffaf\016\uffaf\017" +
+    "\uffaf\057\uffaf\001\002\000\016\013\040\014\037\015\032" +
+    "\016\035\017\034\057\324\001\002\000\016\013\uffb0\014" +
+    "\uffb0\015\uffb0\016\uffb0\017\uffb0\057\uffb0\001\002\000\022" +
+    "\013\uffb2\014\uffb2\015\uffb2\016\uffb2\017\uffb2\043\uffb2\044" +
+    "\uffb2\057\uffb2\001\002\000\016\013\uffb1\014\uffb1\015\uffb1" +
+    "\016\uffb1\017\uffb1\057\uffb1\001\002\000\004\056\327\001" +
+    "\002\000\016\013\uffaf\014\uffaf\015\uffaf\016\uffaf\017\uffaf" +
+    "\057\uffaf\001\002\000\016\013\040\014\037\015\032\016" +
+    "\035\017\034\057\331\001\002\000\022\013\uffb3\014\uffb3" +
+    "\015\uffb3\016\uffb3\017\uffb3\043\uffb3\044\uffb3\057\uffb3\001" +
+    "\002\000\022\013\040\014\037\015\032\016\035\017\034" +
+    "\043\303\044\304\057\333\001\002\000\020\002\uffcb\010" +
+    "\uffcb\011\uffcb\012\uffcb\033\uffcb\034\uffcb\035\uffcb\001\002" +
+    "\000\004\056\335\001\002\000\006\057\uffbd\060\uffbd\001" +
+    "\002\000\006\057\337\060\270\001\002\000\020\002\uffc8" +
+    "\010\uffc8\011\uffc8\012\uffc8\033\uffc8\034\uffc8\035\uffc8\001" +
+    "\002\000\020\002\uffdb\010\uffdb\011\uffdb\012\uffdb\033\uffdb" +
+    "\034\uffdb\035\uffdb\001\002\000\004\002\001\001\002\000" +
+    "\012\005\ufff9\006\ufff9\057\ufff9\060\ufff9\001\002\000\012" +
+    "\005\347\006\116\057\346\060\345\001\002\000\012\005" +
+    "\ufffb\006\ufffb\057\ufffb\060\ufffb\001\002\000\004\054\353" +
+    "\001\002\000\020\007\ufffd\010\ufffd\011\ufffd\012\ufffd\033" +
+    "\ufffd\034\ufffd\035\ufffd\001\002\000\004\054\350\001\002" +
+    "\000\004\061\351\001\002\000\004\055\352\001\002\000" +
+    "\012\005\ufffc\006\ufffc\057\ufffc\060\ufffc\001\002\000\012" +
+    "\060\234\061\231\064\233\065\232\001\002\000\004\055" +
+    "\355\001\002\000\012\005\ufffa\006\ufffa\057\ufffa\060\ufffa" +
+    "\001\002" });
 
   /** Access to parse-action table. */
   public short[][] action_table() {return _action_table;}
@@ -112,19 +299,45 @@ public class Parser extends java_cup.runtime.lr_parser {
   /** <code>reduce_goto</code> table. */
   protected static final short[][] _reduce_table = 
     unpackFromStrings(new String[] {
-    "\000\120\000\010\002\004\003\005\004\006\001\001\000" +
+    "\000\353\000\010\002\004\003\005\004\006\001\001\000" +
     "\002\001\001\000\002\001\001\000\004\006\007\001\001" +
-    "\000\002\001\001\000\010\007\011\011\014\012\013\001" +
+    "\000\002\001\001\000\022\007\013\011\010\012\012\013" +
+    "\025\016\017\022\021\023\016\024\011\001\001\000\016" +
+    "\012\337\013\025\016\017\022\021\023\016\024\011\001" +
     "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
-    "\000\002\001\001\000\004\012\015\001\001\000\002\001" +
-    "\001\000\002\001\001\000\012\013\025\014\022\015\021" +
-    "\022\030\001\001\000\002\001\001\000\002\001\001\000" +
-    "\002\001\001\000\002\001\001\000\002\001\001\000\010" +
-    "\014\054\015\021\022\030\001\001\000\002\001\001\000" +
+    "\000\004\043\333\001\001\000\004\043\274\001\001\000" +
+    "\002\001\001\000\002\001\001\000\004\043\264\001\001" +
+    "\000\002\001\001\000\002\001\001\000\004\043\253\001" +
+    "\001\000\004\043\217\001\001\000\002\001\001\000\002" +
+    "\001\001\000\004\017\030\001\001\000\012\020\035\021" +
+    "\042\034\032\041\043\001\001\000\002\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\004\043\073" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\004\035\105\001" +
+    "\001\000\004\036\107\001\001\000\002\001\001\000\002" +
+    "\001\001\000\006\037\112\040\111\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\004\035\137\001\001" +
+    "\000\002\001\001\000\002\001\001\000\004\035\142\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
     "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
-    "\001\001\000\004\016\035\001\001\000\004\017\037\001" +
-    "\001\000\002\001\001\000\002\001\001\000\006\020\041" +
-    "\021\040\001\001\000\002\001\001\000\002\001\001\000" +
+    "\001\001\000\004\042\156\001\001\000\002\001\001\000" +
     "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
     "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
     "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
@@ -134,13 +347,43 @@ public class Parser extends java_cup.runtime.lr_parser {
     "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
     "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
     "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
-    "\001\001\000\004\016\101\001\001\000\002\001\001\000" +
-    "\002\001\001\000\002\001\001\000\004\010\107\001\001" +
+    "\001\001\000\004\035\215\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\004\025\221\001\001" +
+    "\000\004\026\225\001\001\000\004\043\235\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\004" +
+    "\031\227\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\004\027" +
+    "\240\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
     "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
-    "\002\001\001\000\002\001\001\000\004\005\113\001\001" +
-    "\000\004\021\114\001\001\000\002\001\001\000\002\001" +
+    "\004\010\257\001\001\000\002\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\004\017\262\001" +
+    "\001\000\012\020\035\021\042\034\032\041\043\001\001" +
+    "\000\002\001\001\000\002\001\001\000\004\030\266\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\000\004\031\272\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\014\014\305\032\331\033\306" +
+    "\034\304\041\310\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\014\014\305\032\307\033\306" +
+    "\034\304\041\310\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\000\012\014\305\033\311\034\304\041\310\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\004\015\321\001\001\000\006" +
+    "\034\324\041\322\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\004\015\327" +
+    "\001\001\000\006\034\324\041\322\001\001\000\002\001" +
+    "\001\000\012\014\305\033\311\034\304\041\310\001\001" +
+    "\000\002\001\001\000\002\001\001\000\004\030\335\001" +
     "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
-    "\000\002\001\001" });
+    "\000\002\001\001\000\004\005\342\001\001\000\004\040" +
+    "\343\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\004\031\353\001\001\000\002" +
+    "\001\001\000\002\001\001" });
 
   /** Access to <code>reduce_goto</code> table. */
   public short[][] reduce_table() {return _reduce_table;}
@@ -199,6 +442,44 @@ public class Parser extends java_cup.runtime.lr_parser {
 /** Cup generated class to encapsulate user supplied action code.*/
 @SuppressWarnings({"rawtypes", "unchecked", "unused"})
 class CUP$Parser$actions {
+
+
+    /* Quote a DSL string as a JSON string literal */
+    private String jsonString(String s) {
+        return "\"" + s.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private RequestNode requestNode(RequestNode.HttpMethod method, String path, List items) {
+        RequestNode req = new RequestNode(method, path);
+        for (Object item : items) {
+            if (item instanceof HeaderNode) {
+                req.addHeader((HeaderNode) item);
+            } else if (item instanceof String) {
+                req.setBody((String) item);
+            } else if (item instanceof BodyFileNode) {
+                req.setBodyFile(((BodyFileNode) item).getPath());
+            } else if (item instanceof BodyCaptureNode) {
+                BodyCaptureNode capture = (BodyCaptureNode) item;
+                req.setBodyHandling(capture.getHandling(), capture.getLimit());
+            }
+        }
+        return req;
+    }
+
+    private TestNode testNode(String name, List stmts) {
+        TestNode test = new TestNode(name);
+        for (Object stmt : stmts) {
+            if (stmt instanceof RequestNode) {
+                test.addRequest((RequestNode) stmt);
+            } else if (stmt instanceof AssertionNode) {
+                test.addAssertion((AssertionNode) stmt);
+            } else if (stmt instanceof LoopNode) {
+                test.addLoop((LoopNode) stmt);
+            }
+        }
+        return test;
+    }
+
   private final Parser parser;
 
   /** Constructor */
@@ -255,8 +536,29 @@ class CUP$Parser$actions {
         for (Object var : v) {
             prog.addVariable((VariableNode) var);
         }
-        for (Object test : t) {
-            prog.addTest((TestNode) test);
+        for (Object b : t) {
+            if (b instanceof TestNode) {
+                prog.addTest((TestNode) b);
+            } else if (b instanceof FixtureNode) {
+                FixtureNode fixture = (FixtureNode) b;
+                if (fixture.getKind() == FixtureNode.Kind.SETUP) {
+                    if (prog.getSetup() != null) {
+                        throw new RuntimeException("Only one setup block is allowed (line " + fixture.getLineNumber() + ")");
+                    }
+                    prog.setSetup(fixture);
+                } else {
+                    if (prog.getTeardown() != null) {
+                        throw new RuntimeException("Only one teardown block is allowed (line " + fixture.getLineNumber() + ")");
+                    }
+                    prog.setTeardown(fixture);
+                }
+            } else if (b instanceof LoadNode) {
+                prog.addLoad((LoadNode) b);
+            } else if (b instanceof CapacityNode) {
+                prog.addCapacity((CapacityNode) b);
+            } else if (b instanceof ScenarioNode) {
+                prog.addScenario((ScenarioNode) b);
+            }
         }
         RESULT = prog;
     
@@ -299,6 +601,9 @@ class CUP$Parser$actions {
                 config.setBaseUrl((String) item);
             } else if (item instanceof HeaderNode) {
                 config.addHeader((HeaderNode) item);
+            } else {
+                Object[] setting = (Object[]) item;
+                config.setSetting((String) setting[0], setting[1]);
             }
         }
         RESULT = config;
@@ -344,7 +649,28 @@ class CUP$Parser$actions {
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 7: // config_items ::= 
+          case 7: // config_items ::= config_items IDENTIFIER EQUALS setting_value SEMICOLON 
+            {
+              List RESULT =null;
+		int listleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
+		int listright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
+		List list = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
+		int keyleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
+		int keyright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
+		String key = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int vleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int vright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Object v = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        list.add(new Object[] { key, v });
+        RESULT = list;
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("config_items",3, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 8: // config_items ::= 
             {
               List RESULT =null;
 		
@@ -355,7 +681,7 @@ class CUP$Parser$actions {
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 8: // header_decl ::= HEADER STRING EQUALS STRING SEMICOLON 
+          case 9: // header_decl ::= HEADER STRING EQUALS STRING SEMICOLON 
             {
               HeaderNode RESULT =null;
 		int keyleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
@@ -367,12 +693,12 @@ class CUP$Parser$actions {
 		
         RESULT = new HeaderNode(key, val);
     
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("header_decl",15, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("header_decl",30, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 9: // variables ::= variables variable 
+          case 10: // variables ::= variables variable 
             {
               List RESULT =null;
 		int listleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
@@ -390,7 +716,7 @@ class CUP$Parser$actions {
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 10: // variables ::= 
+          case 11: // variables ::= 
             {
               List RESULT =null;
 		
@@ -401,7 +727,7 @@ class CUP$Parser$actions {
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 11: // variable ::= LET IDENTIFIER EQUALS value SEMICOLON 
+          case 12: // variable ::= LET name EQUALS value SEMICOLON 
             {
               VariableNode RESULT =null;
 		int nameleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
@@ -418,357 +744,1369 @@ class CUP$Parser$actions {
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 12: // value ::= STRING 
+          case 13: // name ::= IDENTIFIER 
             {
-              Object RESULT =null;
-		int sleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
-		int sright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
-		String s = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 RESULT = s; 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("value",6, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              String RESULT =null;
+		int nleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int nright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		String n = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = n; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("name",33, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 13: // value ::= NUMBER 
+          case 14: // name ::= SETUP 
             {
-              Object RESULT =null;
-		int nleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
-		int nright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
-		Integer n = (Integer)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 RESULT = n; 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("value",6, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              String RESULT =null;
+		 RESULT = "setup"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("name",33, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 14: // tests ::= tests test_block 
+          case 15: // name ::= TEARDOWN 
             {
-              List RESULT =null;
-		int listleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
-		int listright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
-		List list = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		int tleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
-		int tright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
-		TestNode t = (TestNode)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		
-        list.add(t);
-        RESULT = list;
-    
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("tests",7, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              String RESULT =null;
+		 RESULT = "teardown"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("name",33, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 15: // tests ::= test_block 
+          case 16: // name ::= LOAD 
             {
-              List RESULT =null;
-		int tleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
-		int tright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
-		TestNode t = (TestNode)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		
-        List list = new ArrayList();
-        list.add(t);
-        RESULT = list;
-    
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("tests",7, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              String RESULT =null;
+		 RESULT = "load"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("name",33, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 16: // test_block ::= TEST IDENTIFIER LBRACE test_statements RBRACE 
+          case 17: // name ::= CAPACITY 
             {
-              TestNode RESULT =null;
-		int nameleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
-		int nameright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
-		String name = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		int stmtsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
-		int stmtsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
-		List stmts = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		
-        TestNode test = new TestNode(name);
-        for (Object stmt : stmts) {
-            if (stmt instanceof RequestNode) {
-                test.addRequest((RequestNode) stmt);
-            } else if (stmt instanceof AssertionNode) {
-                test.addAssertion((AssertionNode) stmt);
-            }
-        }
-        RESULT = test;
-    
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("test_block",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              String RESULT =null;
+		 RESULT = "capacity"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("name",33, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 17: // test_statements ::= test_statements test_statement 
+          case 18: // name ::= SCENARIO 
             {
-              List RESULT =null;
-		int listleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
-		int listright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
-		List list = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		int stmtleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
-		int stmtright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
-		Object stmt = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		
-        list.add(stmt);
-        RESULT = list;
-    
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("test_statements",9, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              String RESULT =null;
+		 RESULT = "scenario"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("name",33, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 18: // test_statements ::= test_statement 
+          case 19: // name ::= MIX 
             {
-              List RESULT =null;
-		int stmtleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
-		int stmtright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
-		Object stmt = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		
-        List list = new ArrayList();
-        list.add(stmt);
-        RESULT = list;
-    
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("test_statements",9, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              String RESULT =null;
+		 RESULT = "mix"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("name",33, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 19: // test_statement ::= request 
+          case 20: // name ::= THINK 
             {
-              Object RESULT =null;
-		int rleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
-		int rright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
-		RequestNode r = (RequestNode)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 RESULT = r; 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("test_statement",10, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              String RESULT =null;
+		 RESULT = "think"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("name",33, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 20: // test_statement ::= assertion 
+          case 21: // name ::= JSON 
             {
-              Object RESULT =null;
-		int aleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
-		int aright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
-		AssertionNode a = (AssertionNode)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 RESULT = a; 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("test_statement",10, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              String RESULT =null;
+		 RESULT = "json"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("name",33, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 21: // request ::= GET STRING SEMICOLON 
+          case 22: // name ::= TRUE 
             {
-              RequestNode RESULT =null;
-		int pathleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
-		int pathright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
-		String path = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		
-        RESULT = new RequestNode(RequestNode.HttpMethod.GET, path);
-    
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("request",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              String RESULT =null;
+		 RESULT = "true"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("name",33, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 22: // request ::= DELETE STRING SEMICOLON 
+          case 23: // name ::= FALSE 
             {
-              RequestNode RESULT =null;
-		int pathleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
-		int pathright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
-		String path = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		
-        RESULT = new RequestNode(RequestNode.HttpMethod.DELETE, path);
-    
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("request",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              String RESULT =null;
+		 RESULT = "false"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("name",33, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 23: // request ::= POST STRING request_block_opt SEMICOLON 
+          case 24: // name ::= NULL 
             {
-              RequestNode RESULT =null;
-		int pathleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
-		int pathright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
-		String path = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		int itemsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
-		int itemsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
-		List items = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		
-        RequestNode req = new RequestNode(RequestNode.HttpMethod.POST, path);
-        for (Object item : items) {
-            if (item instanceof HeaderNode) {
-                req.addHeader((HeaderNode) item);
-            } else if (item instanceof String) {
-                req.setBody((String) item);
-            }
-        }
-        RESULT = req;
-    
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("request",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              String RESULT =null;
+		 RESULT = "null"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("name",33, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 24: // request ::= PUT STRING request_block_opt SEMICOLON 
+          case 25: // name ::= LATENCY 
             {
-              RequestNode RESULT =null;
-		int pathleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
-		int pathright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
-		String path = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		int itemsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
-		int itemsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
-		List items = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		
-        RequestNode req = new RequestNode(RequestNode.HttpMethod.PUT, path);
-        for (Object item : items) {
-            if (item instanceof HeaderNode) {
-                req.addHeader((HeaderNode) item);
-            } else if (item instanceof String) {
-                req.setBody((String) item);
-            }
-        }
-        RESULT = req;
-    
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("request",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              String RESULT =null;
+		 RESULT = "latency"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("name",33, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 25: // request_block_opt ::= LBRACE request_items RBRACE 
+          case 26: // name ::= SIZE 
             {
-              List RESULT =null;
-		int itemsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
-		int itemsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
-		List items = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		 RESULT = items; 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("request_block_opt",12, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              String RESULT =null;
+		 RESULT = "size"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("name",33, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 26: // request_block_opt ::= 
+          case 27: // name ::= UNCOMPRESSED 
             {
-              List RESULT =null;
-		 RESULT = new ArrayList(); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("request_block_opt",12, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              String RESULT =null;
+		 RESULT = "uncompressed"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("name",33, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 27: // request_items ::= request_items request_item 
+          case 28: // name ::= REPEAT 
             {
-              List RESULT =null;
-		int listleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
-		int listright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
-		List list = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		int itemleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
-		int itemright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
-		Object item = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		
-        list.add(item);
-        RESULT = list;
-    
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("request_items",13, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              String RESULT =null;
+		 RESULT = "repeat"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("name",33, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 28: // request_items ::= 
+          case 29: // name ::= FOR 
             {
-              List RESULT =null;
-		
-        RESULT = new ArrayList();
-    
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("request_items",13, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              String RESULT =null;
+		 RESULT = "for"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("name",33, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 29: // request_item ::= header_decl 
+          case 30: // name ::= IN 
             {
-              Object RESULT =null;
-		int hleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
-		int hright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
-		HeaderNode h = (HeaderNode)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 RESULT = h; 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("request_item",14, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              String RESULT =null;
+		 RESULT = "in"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("name",33, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 30: // request_item ::= BODY EQUALS STRING SEMICOLON 
+          case 31: // name ::= WITH 
             {
-              Object RESULT =null;
-		int sleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
-		int sright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
-		String s = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		 RESULT = s; 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("request_item",14, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              String RESULT =null;
+		 RESULT = "with"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("name",33, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 31: // assertion ::= EXPECT STATUS EQUALS NUMBER SEMICOLON 
+          case 32: // name ::= ROWS 
             {
-              AssertionNode RESULT =null;
-		int codeleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
-		int coderight = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
-		Integer code = (Integer)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		
-        RESULT = new AssertionNode(AssertionNode.AssertionType.STATUS, code);
-    
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("assertion",16, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              String RESULT =null;
+		 RESULT = "rows"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("name",33, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 32: // assertion ::= EXPECT HEADER STRING EQUALS STRING SEMICOLON 
+          case 33: // name ::= FILE 
             {
-              AssertionNode RESULT =null;
-		int keyleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
-		int keyright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
-		String key = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		int valleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
-		int valright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
-		String val = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		
-        RESULT = new AssertionNode(AssertionNode.AssertionType.HEADER_EQUALS, key, val);
-    
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("assertion",16, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              String RESULT =null;
+		 RESULT = "file"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("name",33, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 33: // assertion ::= EXPECT HEADER STRING CONTAINS STRING SEMICOLON 
+          case 34: // name ::= CAPTURE 
             {
-              AssertionNode RESULT =null;
-		int keyleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
-		int keyright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
-		String key = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		int valleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
-		int valright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
-		String val = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		
-        RESULT = new AssertionNode(AssertionNode.AssertionType.HEADER_CONTAINS, key, val);
-    
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("assertion",16, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              String RESULT =null;
+		 RESULT = "capture"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("name",33, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 34: // assertion ::= EXPECT BODY CONTAINS STRING SEMICOLON 
+          case 35: // name ::= DISCARD 
             {
-              AssertionNode RESULT =null;
+              String RESULT =null;
+		 RESULT = "discard"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("name",33, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 36: // value ::= STRING 
+            {
+              Object RESULT =null;
+		int sleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int sright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		String s = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = s; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("value",6, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 37: // value ::= NUMBER 
+            {
+              Object RESULT =null;
+		int nleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int nright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Integer n = (Integer)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = n; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("value",6, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 38: // tests ::= tests block 
+            {
+              List RESULT =null;
+		int listleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int listright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		List list = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int bleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int bright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Object b = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		
+        list.add(b);
+        RESULT = list;
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("tests",7, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 39: // tests ::= block 
+            {
+              List RESULT =null;
+		int bleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int bright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Object b = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		
+        List list = new ArrayList();
+        list.add(b);
+        RESULT = list;
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("tests",7, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 40: // block ::= test_block 
+            {
+              Object RESULT =null;
+		int tleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int tright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		TestNode t = (TestNode)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = t; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("block",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 41: // block ::= fixture_block 
+            {
+              Object RESULT =null;
+		int fleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int fright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		FixtureNode f = (FixtureNode)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = f; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("block",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 42: // block ::= load_block 
+            {
+              Object RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		LoadNode l = (LoadNode)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = l; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("block",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 43: // block ::= capacity_block 
+            {
+              Object RESULT =null;
+		int cleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int cright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		CapacityNode c = (CapacityNode)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = c; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("block",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 44: // block ::= scenario_block 
+            {
+              Object RESULT =null;
+		int sleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int sright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		ScenarioNode s = (ScenarioNode)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = s; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("block",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 45: // fixture_block ::= SETUP LBRACE fixture_statements RBRACE 
+            {
+              FixtureNode RESULT =null;
+		int sleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
+		int sright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
+		Object s = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int stmtsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int stmtsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		List stmts = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        FixtureNode fixture = new FixtureNode(FixtureNode.Kind.SETUP);
+        fixture.setLineNumber(sleft);
+        for (Object stmt : stmts) {
+            fixture.addStatement((ASTNode) stmt);
+        }
+        RESULT = fixture;
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("fixture_block",12, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 46: // fixture_block ::= TEARDOWN LBRACE fixture_statements RBRACE 
+            {
+              FixtureNode RESULT =null;
+		int tleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
+		int tright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
+		Object t = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int stmtsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int stmtsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		List stmts = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        FixtureNode fixture = new FixtureNode(FixtureNode.Kind.TEARDOWN);
+        fixture.setLineNumber(tleft);
+        for (Object stmt : stmts) {
+            fixture.addStatement((ASTNode) stmt);
+        }
+        RESULT = fixture;
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("fixture_block",12, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 47: // fixture_statements ::= fixture_statements fixture_statement 
+            {
+              List RESULT =null;
+		int listleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int listright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		List list = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int stmtleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int stmtright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		ASTNode stmt = (ASTNode)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		
+        list.add(stmt);
+        RESULT = list;
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("fixture_statements",13, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 48: // fixture_statements ::= 
+            {
+              List RESULT =null;
+		
+        RESULT = new ArrayList();
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("fixture_statements",13, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 49: // fixture_statement ::= request 
+            {
+              ASTNode RESULT =null;
+		int rleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		RequestNode r = (RequestNode)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = r; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("fixture_statement",14, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 50: // fixture_statement ::= assertion 
+            {
+              ASTNode RESULT =null;
+		int aleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int aright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		AssertionNode a = (AssertionNode)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = a; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("fixture_statement",14, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 51: // fixture_statement ::= capture 
+            {
+              ASTNode RESULT =null;
+		int cleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int cright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		CaptureNode c = (CaptureNode)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = c; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("fixture_statement",14, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 52: // capture ::= LET name EQUALS JSON STRING SEMICOLON 
+            {
+              CaptureNode RESULT =null;
+		int nameleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
+		int nameright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
+		String name = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
+		int pathleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int pathright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		String path = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        CaptureNode capture = new CaptureNode(name, CaptureNode.Source.JSON, path);
+        capture.setLineNumber(nameleft);
+        RESULT = capture;
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("capture",15, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 53: // capture ::= LET name EQUALS HEADER STRING SEMICOLON 
+            {
+              CaptureNode RESULT =null;
+		int nameleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
+		int nameright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
+		String name = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
+		int keyleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int keyright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		String key = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        CaptureNode capture = new CaptureNode(name, CaptureNode.Source.HEADER, key);
+        capture.setLineNumber(nameleft);
+        RESULT = capture;
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("capture",15, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 54: // test_block ::= TEST name LBRACE test_statements RBRACE 
+            {
+              TestNode RESULT =null;
+		int nameleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
+		int nameright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
+		String name = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int stmtsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int stmtsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		List stmts = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        RESULT = testNode(name, stmts);
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("test_block",9, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 55: // test_block ::= TEST name WITH ROWS STRING LBRACE test_statements RBRACE 
+            {
+              TestNode RESULT =null;
+		int nameleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)).left;
+		int nameright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)).right;
+		String name = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-6)).value;
+		int fileleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
+		int fileright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
+		String file = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int stmtsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int stmtsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		List stmts = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        TestNode test = testNode(name, stmts);
+        test.setRowsFile(file);
+        RESULT = test;
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("test_block",9, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-7)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 56: // load_block ::= LOAD name LBRACE settings RBRACE 
+            {
+              LoadNode RESULT =null;
+		int nameleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
+		int nameright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
+		String name = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int sleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int sright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Map s = (Map)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        LoadNode load = new LoadNode(name);
+        load.setLineNumber(nameleft);
+        for (Object key : s.keySet()) {
+            load.setSetting((String) key, s.get(key));
+        }
+        RESULT = load;
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("load_block",16, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 57: // capacity_block ::= CAPACITY name LBRACE settings RBRACE 
+            {
+              CapacityNode RESULT =null;
+		int nameleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
+		int nameright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
+		String name = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int sleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int sright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Map s = (Map)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        CapacityNode capacity = new CapacityNode(name);
+        capacity.setLineNumber(nameleft);
+        for (Object key : s.keySet()) {
+            capacity.setSetting((String) key, s.get(key));
+        }
+        RESULT = capacity;
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("capacity_block",17, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 58: // scenario_block ::= SCENARIO name LBRACE scenario_items RBRACE 
+            {
+              ScenarioNode RESULT =null;
+		int nameleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
+		int nameright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
+		String name = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int itemsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int itemsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		List items = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        ScenarioNode scenario = new ScenarioNode(name);
+        scenario.setLineNumber(nameleft);
+        for (Object item : items) {
+            if (item instanceof MixNode) {
+                scenario.addMix((MixNode) item);
+            } else {
+                Object[] setting = (Object[]) item;
+                scenario.setSetting((String) setting[0], setting[1]);
+            }
+        }
+        RESULT = scenario;
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("scenario_block",18, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 59: // scenario_items ::= scenario_items IDENTIFIER EQUALS setting_value SEMICOLON 
+            {
+              List RESULT =null;
+		int listleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
+		int listright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
+		List list = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
+		int keyleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
+		int keyright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
+		String key = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int vleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int vright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Object v = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        list.add(new Object[] { key, v });
+        RESULT = list;
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("scenario_items",19, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 60: // scenario_items ::= scenario_items mix_entry 
+            {
+              List RESULT =null;
+		int listleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int listright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		List list = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int mleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int mright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		MixNode m = (MixNode)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		
+        list.add(m);
+        RESULT = list;
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("scenario_items",19, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 61: // scenario_items ::= 
+            {
+              List RESULT =null;
+		
+        RESULT = new ArrayList();
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("scenario_items",19, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 62: // mix_entry ::= MIX name EQUALS NUMBER think_opt SEMICOLON 
+            {
+              MixNode RESULT =null;
+		int testleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
+		int testright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
+		String test = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
+		int weightleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int weightright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		Integer weight = (Integer)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int thinkleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int thinkright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Object[] think = (Object[])((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        MixNode mix = new MixNode(test, weight);
+        mix.setLineNumber(testleft);
+        if (think != null) {
+            mix.setThinkTime((String) think[0], (Long) think[1], (Long) think[2]);
+        }
+        RESULT = mix;
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("mix_entry",20, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 63: // think_opt ::= THINK DURATION 
+            {
+              Object[] RESULT =null;
+		int dleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int dright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Long d = (Long)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		
+        RESULT = new Object[] { "constant", d, -1L };
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("think_opt",21, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 64: // think_opt ::= THINK IDENTIFIER LPAREN DURATION RPAREN 
+            {
+              Object[] RESULT =null;
+		int distleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
+		int distright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
+		String dist = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int dleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int dright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Long d = (Long)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        RESULT = new Object[] { dist, d, -1L };
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("think_opt",21, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 65: // think_opt ::= THINK IDENTIFIER LPAREN DURATION COMMA DURATION RPAREN 
+            {
+              Object[] RESULT =null;
+		int distleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).left;
+		int distright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).right;
+		String dist = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-5)).value;
+		int minleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
+		int minright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
+		Long min = (Long)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int maxleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int maxright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Long max = (Long)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        RESULT = new Object[] { dist, min, max };
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("think_opt",21, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 66: // think_opt ::= 
+            {
+              Object[] RESULT =null;
+		
+        RESULT = null;
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("think_opt",21, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 67: // settings ::= settings IDENTIFIER EQUALS setting_value SEMICOLON 
+            {
+              Map RESULT =null;
+		int mapleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
+		int mapright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
+		Map map = (Map)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
+		int keyleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
+		int keyright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
+		String key = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int vleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int vright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Object v = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        map.put(key, v);
+        RESULT = map;
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("settings",22, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 68: // settings ::= 
+            {
+              Map RESULT =null;
+		
+        RESULT = new LinkedHashMap();
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("settings",22, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 69: // setting_value ::= NUMBER 
+            {
+              Object RESULT =null;
+		int nleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int nright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Integer n = (Integer)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = n; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("setting_value",23, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 70: // setting_value ::= DURATION 
+            {
+              Object RESULT =null;
+		int dleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int dright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Long d = (Long)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = d; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("setting_value",23, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 71: // setting_value ::= STRING 
+            {
+              Object RESULT =null;
+		int sleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int sright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		String s = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = s; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("setting_value",23, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 72: // setting_value ::= IDENTIFIER 
+            {
+              Object RESULT =null;
+		int wordleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int wordright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		String word = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = word; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("setting_value",23, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 73: // test_statements ::= test_statements test_statement 
+            {
+              List RESULT =null;
+		int listleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int listright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		List list = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int stmtleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int stmtright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Object stmt = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		
+        list.add(stmt);
+        RESULT = list;
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("test_statements",24, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 74: // test_statements ::= test_statement 
+            {
+              List RESULT =null;
+		int stmtleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int stmtright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Object stmt = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		
+        List list = new ArrayList();
+        list.add(stmt);
+        RESULT = list;
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("test_statements",24, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 75: // test_statement ::= request 
+            {
+              Object RESULT =null;
+		int rleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		RequestNode r = (RequestNode)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = r; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("test_statement",25, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 76: // test_statement ::= assertion 
+            {
+              Object RESULT =null;
+		int aleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int aright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		AssertionNode a = (AssertionNode)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = a; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("test_statement",25, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 77: // test_statement ::= loop 
+            {
+              Object RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		LoopNode l = (LoopNode)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = l; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("test_statement",25, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 78: // loop ::= REPEAT NUMBER LBRACE loop_statements RBRACE 
+            {
+              LoopNode RESULT =null;
+		int rleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
+		Object r = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
+		int nleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
+		int nright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
+		Integer n = (Integer)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int stmtsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int stmtsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		List stmts = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        LoopNode loop = new LoopNode(null, 1, n);
+        loop.setLineNumber(rleft);
+        for (Object stmt : stmts) {
+            if (stmt instanceof RequestNode) {
+                loop.addRequest((RequestNode) stmt);
+            } else {
+                loop.addAssertion((AssertionNode) stmt);
+            }
+        }
+        RESULT = loop;
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("loop",10, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 79: // loop ::= FOR VARREF IN NUMBER DOTDOT NUMBER LBRACE loop_statements RBRACE 
+            {
+              LoopNode RESULT =null;
+		int fleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-8)).left;
+		int fright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-8)).right;
+		Object f = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-8)).value;
+		int varleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-7)).left;
+		int varright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-7)).right;
+		String var = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-7)).value;
+		int fromleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).left;
+		int fromright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).right;
+		Integer from = (Integer)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-5)).value;
+		int toleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
+		int toright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
+		Integer to = (Integer)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int stmtsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int stmtsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		List stmts = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        LoopNode loop = new LoopNode(var, from, to);
+        loop.setLineNumber(fleft);
+        for (Object stmt : stmts) {
+            if (stmt instanceof RequestNode) {
+                loop.addRequest((RequestNode) stmt);
+            } else {
+                loop.addAssertion((AssertionNode) stmt);
+            }
+        }
+        RESULT = loop;
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("loop",10, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-8)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 80: // loop_statements ::= loop_statements request 
+            {
+              List RESULT =null;
+		int listleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int listright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		List list = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int rleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		RequestNode r = (RequestNode)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		
+        list.add(r);
+        RESULT = list;
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("loop_statements",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 81: // loop_statements ::= loop_statements assertion 
+            {
+              List RESULT =null;
+		int listleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int listright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		List list = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int aleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int aright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		AssertionNode a = (AssertionNode)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		
+        list.add(a);
+        RESULT = list;
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("loop_statements",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 82: // loop_statements ::= 
+            {
+              List RESULT =null;
+		
+        RESULT = new ArrayList();
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("loop_statements",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 83: // request ::= GET STRING request_block_opt SEMICOLON 
+            {
+              RequestNode RESULT =null;
+		int pathleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int pathright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		String path = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int itemsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int itemsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		List items = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        RESULT = requestNode(RequestNode.HttpMethod.GET, path, items);
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("request",26, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 84: // request ::= DELETE STRING request_block_opt SEMICOLON 
+            {
+              RequestNode RESULT =null;
+		int pathleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int pathright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		String path = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int itemsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int itemsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		List items = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        RESULT = requestNode(RequestNode.HttpMethod.DELETE, path, items);
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("request",26, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 85: // request ::= POST STRING request_block_opt SEMICOLON 
+            {
+              RequestNode RESULT =null;
+		int pathleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int pathright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		String path = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int itemsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int itemsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		List items = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        RESULT = requestNode(RequestNode.HttpMethod.POST, path, items);
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("request",26, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 86: // request ::= PUT STRING request_block_opt SEMICOLON 
+            {
+              RequestNode RESULT =null;
+		int pathleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int pathright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		String path = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int itemsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int itemsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		List items = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        RESULT = requestNode(RequestNode.HttpMethod.PUT, path, items);
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("request",26, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 87: // request_block_opt ::= LBRACE request_items RBRACE 
+            {
+              List RESULT =null;
+		int itemsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int itemsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		List items = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = items; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("request_block_opt",27, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 88: // request_block_opt ::= 
+            {
+              List RESULT =null;
+		 RESULT = new ArrayList(); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("request_block_opt",27, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 89: // request_items ::= request_items request_item 
+            {
+              List RESULT =null;
+		int listleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int listright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		List list = (List)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int itemleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int itemright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Object item = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		
+        list.add(item);
+        RESULT = list;
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("request_items",28, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 90: // request_items ::= 
+            {
+              List RESULT =null;
+		
+        RESULT = new ArrayList();
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("request_items",28, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 91: // request_item ::= header_decl 
+            {
+              Object RESULT =null;
+		int hleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int hright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		HeaderNode h = (HeaderNode)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = h; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("request_item",29, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 92: // request_item ::= BODY EQUALS STRING SEMICOLON 
+            {
+              Object RESULT =null;
+		int sleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int sright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		String s = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = s; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("request_item",29, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 93: // request_item ::= BODY EQUALS FILE STRING SEMICOLON 
+            {
+              Object RESULT =null;
+		int fleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int fright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		String f = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = new BodyFileNode(f); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("request_item",29, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 94: // request_item ::= CAPTURE IDENTIFIER SEMICOLON 
+            {
+              Object RESULT =null;
+		int modeleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int moderight = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		String mode = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        if (!mode.equals("full")) {
+            throw new RuntimeException("Expected 'capture full;' or 'capture first <size>;' (line " + modeleft + ")");
+        }
+        RESULT = new BodyCaptureNode(RequestNode.BodyHandling.FULL, 0);
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("request_item",29, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 95: // request_item ::= CAPTURE IDENTIFIER DATASIZE SEMICOLON 
+            {
+              Object RESULT =null;
+		int modeleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int moderight = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		String mode = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int sizeleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int sizeright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Long size = (Long)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        if (!mode.equals("first")) {
+            throw new RuntimeException("Expected 'capture first <size>;' (line " + modeleft + ")");
+        }
+        RESULT = new BodyCaptureNode(RequestNode.BodyHandling.FIRST, size);
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("request_item",29, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 96: // request_item ::= DISCARD SEMICOLON 
+            {
+              Object RESULT =null;
+		 RESULT = new BodyCaptureNode(RequestNode.BodyHandling.DISCARD, 0); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("request_item",29, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 97: // assertion ::= EXPECT STATUS EQUALS NUMBER SEMICOLON 
+            {
+              AssertionNode RESULT =null;
+		int codeleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int coderight = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Integer code = (Integer)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        RESULT = new AssertionNode(AssertionNode.AssertionType.STATUS, code);
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("assertion",31, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 98: // assertion ::= EXPECT HEADER STRING EQUALS STRING SEMICOLON 
+            {
+              AssertionNode RESULT =null;
+		int keyleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
+		int keyright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
+		String key = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int valleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int valright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		String val = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        RESULT = new AssertionNode(AssertionNode.AssertionType.HEADER_EQUALS, key, val);
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("assertion",31, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 99: // assertion ::= EXPECT HEADER STRING CONTAINS STRING SEMICOLON 
+            {
+              AssertionNode RESULT =null;
+		int keyleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
+		int keyright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
+		String key = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int valleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int valright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		String val = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        RESULT = new AssertionNode(AssertionNode.AssertionType.HEADER_CONTAINS, key, val);
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("assertion",31, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 100: // assertion ::= EXPECT BODY CONTAINS STRING SEMICOLON 
+            {
+              AssertionNode RESULT =null;
 		int valleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
 		int valright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
 		String val = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
 		
         RESULT = new AssertionNode(AssertionNode.AssertionType.BODY_CONTAINS, val);
     
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("assertion",16, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("assertion",31, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 101: // assertion ::= EXPECT JSON STRING EQUALS json_value SEMICOLON 
+            {
+              AssertionNode RESULT =null;
+		int pathleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
+		int pathright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
+		String path = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int valleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int valright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		String val = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        RESULT = new AssertionNode(AssertionNode.AssertionType.JSON_EQUALS, path, val);
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("assertion",31, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 102: // assertion ::= EXPECT LATENCY LT DURATION SEMICOLON 
+            {
+              AssertionNode RESULT =null;
+		int limitleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int limitright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Long limit = (Long)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        RESULT = new AssertionNode(AssertionNode.AssertionType.LATENCY_BELOW, limit.longValue());
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("assertion",31, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 103: // assertion ::= EXPECT SIZE LT DATASIZE SEMICOLON 
+            {
+              AssertionNode RESULT =null;
+		int limitleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int limitright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Long limit = (Long)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        RESULT = new AssertionNode(AssertionNode.AssertionType.SIZE_BELOW, limit.longValue());
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("assertion",31, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 104: // assertion ::= EXPECT UNCOMPRESSED SIZE LT DATASIZE SEMICOLON 
+            {
+              AssertionNode RESULT =null;
+		int limitleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int limitright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Long limit = (Long)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		
+        RESULT = new AssertionNode(AssertionNode.AssertionType.UNCOMPRESSED_SIZE_BELOW, limit.longValue());
+    
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("assertion",31, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 105: // json_value ::= STRING 
+            {
+              String RESULT =null;
+		int sleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int sright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		String s = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = jsonString(s); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("json_value",32, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 106: // json_value ::= NUMBER 
+            {
+              String RESULT =null;
+		int nleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int nright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Integer n = (Integer)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = String.valueOf(n); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("json_value",32, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 107: // json_value ::= JSON_NUMBER 
+            {
+              String RESULT =null;
+		int nleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int nright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		String n = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = n; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("json_value",32, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 108: // json_value ::= TRUE 
+            {
+              String RESULT =null;
+		 RESULT = "true"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("json_value",32, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 109: // json_value ::= FALSE 
+            {
+              String RESULT =null;
+		 RESULT = "false"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("json_value",32, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 110: // json_value ::= NULL 
+            {
+              String RESULT =null;
+		 RESULT = "null"; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("json_value",32, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
@@ -8,28 +8,59 @@ package parser;
 /** CUP generated class containing symbol constants. */
 public class sym {
   /* terminals */
-  public static final int POST = 8;
-  public static final int SEMICOLON = 16;
-  public static final int RBRACE = 18;
-  public static final int TEST = 6;
-  public static final int STATUS = 12;
-  public static final int EXPECT = 11;
-  public static final int IDENTIFIER = 19;
-  public static final int LBRACE = 17;
-  public static final int PUT = 9;
-  public static final int CONTAINS = 14;
-  public static final int STRING = 20;
-  public static final int EQUALS = 15;
-  public static final int NUMBER = 21;
+  public static final int WITH = 37;
+  public static final int EQUALS = 42;
+  public static final int PUT = 11;
+  public static final int JSON_NUMBER = 49;
+  public static final int LOAD = 25;
+  public static final int JSON = 17;
+  public static final int LPAREN = 30;
+  public static final int REPEAT = 33;
+  public static final int STATUS = 14;
+  public static final int LATENCY = 21;
+  public static final int ROWS = 38;
+  public static final int FOR = 34;
+  public static final int DELETE = 12;
+  public static final int CONFIG = 2;
+  public static final int RPAREN = 31;
+  public static final int SEMICOLON = 43;
+  public static final int UNCOMPRESSED = 23;
+  public static final int SETUP = 7;
+  public static final int LT = 24;
+  public static final int MIX = 28;
+  public static final int IN = 35;
+  public static final int COMMA = 32;
+  public static final int GET = 9;
+  public static final int DOTDOT = 36;
+  public static final int TEARDOWN = 8;
+  public static final int SCENARIO = 27;
+  public static final int DURATION = 51;
   public static final int EOF = 0;
+  public static final int VARREF = 48;
+  public static final int SIZE = 22;
+  public static final int TRUE = 18;
+  public static final int TEST = 6;
   public static final int error = 1;
-  public static final int LET = 5;
-  public static final int BODY = 13;
+  public static final int DATASIZE = 52;
+  public static final int NULL = 20;
+  public static final int NUMBER = 50;
+  public static final int EXPECT = 13;
+  public static final int CAPACITY = 26;
+  public static final int CONTAINS = 16;
+  public static final int DISCARD = 41;
   public static final int HEADER = 4;
+  public static final int LBRACE = 44;
+  public static final int POST = 10;
+  public static final int FILE = 39;
+  public static final int LET = 5;
+  public static final int RBRACE = 45;
+  public static final int BODY = 15;
+  public static final int STRING = 47;
+  public static final int THINK = 29;
   public static final int BASE_URL = 3;
-  public static final int DELETE = 10;
-  public static final int CONFIG = 2;
-  public static final int GET = 7;
+  public static final int FALSE = 19;
+  public static final int CAPTURE = 40;
+  public static final int IDENTIFIER = 46;
   public static final String[] terminalNames = new String[] {
   "EOF",
   "error",
@@ -38,6 +69,8 @@ public class sym {
   "HEADER",
   "LET",
   "TEST",
+  "SETUP",
+  "TEARDOWN",
   "GET",
   "POST",
   "PUT",
@@ -46,13 +79,42 @@ public class sym {
   "STATUS",
   "BODY",
   "CONTAINS",
+  "JSON",
+  "TRUE",
+  "FALSE",
+  "NULL",
+  "LATENCY",
+  "SIZE",
+  "UNCOMPRESSED",
+  "LT",
+  "LOAD",
+  "CAPACITY",
+  "SCENARIO",
+  "MIX",
+  "THINK",
+  "LPAREN",
+  "RPAREN",
+  "COMMA",
+  "REPEAT",
+  "FOR",
+  "IN",
+  "DOTDOT",
+  "WITH",
+  "ROWS",
+  "FILE",
+  "CAPTURE",
+  "DISCARD",
   "EQUALS",
   "SEMICOLON",
   "LBRACE",
   "RBRACE",
   "IDENTIFIER",
   "STRING",
-  "NUMBER"
+  "VARREF",
+  "JSON_NUMBER",
+  "NUMBER",
+  "DURATION",
+  "DATASIZE"
   };
 }
 
@@ -0,0 +1,159 @@
+package runtime;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Large request bodies stored by the code generator in a side file next to the
+ * generated class. The file is memory-mapped the first time a body is sent, and
+ * bodies are published as slices of the mapping, so they cost no heap until used
+ * and are never copied into a byte[] or String.
+ *
+ * Relative paths resolve against -Dtestlang.bodies, or the working directory.
+ */
+public final class Bodies {
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final String file;
+    private final long[] ranges;  // offset, length, offset, length, ...
+    private volatile ByteBuffer mapped;
+
+    public Bodies(String file, long... ranges) {
+        this.file = file;
+        this.ranges = ranges;
+    }
+
+    /**
+     * Publisher for a body; it can be subscribed to any number of times
+     */
+    public HttpRequest.BodyPublisher publisher(int body) {
+        return new Publisher(body);
+    }
+
+    /**
+     * A body decoded as UTF-8, for bodies that are completed with runtime values
+     */
+    public String text(int body) {
+        return StandardCharsets.UTF_8.decode(slice(body)).toString();
+    }
+
+    private ByteBuffer slice(int body) {
+        ByteBuffer buffer = map().duplicate();
+        int offset = (int) ranges[2 * body];
+        buffer.position(offset);
+        buffer.limit(offset + (int) ranges[2 * body + 1]);
+        return buffer.slice();
+    }
+
+    private ByteBuffer map() {
+        ByteBuffer buffer = mapped;
+        if (buffer == null) {
+            synchronized (this) {
+                buffer = mapped;
+                if (buffer == null) {
+                    buffer = open();
+                    mapped = buffer;
+                }
+            }
+        }
+        return buffer;
+    }
+
+    private ByteBuffer open() {
+        Path path = Paths.get(file);
+        String base = System.getProperty("testlang.bodies");
+        if (!path.isAbsolute() && base != null) {
+            path = Paths.get(base).resolve(path);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Body file over 2 GB: " + path);
+            }
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map request bodies " + path, e);
+        }
+    }
+
+    private final class Publisher implements HttpRequest.BodyPublisher {
+        private final int body;
+
+        Publisher(int body) {
+            this.body = body;
+        }
+
+        @Override
+        public long contentLength() {
+            return ranges[2 * body + 1];
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            subscriber.onSubscribe(new Chunks(slice(body), subscriber));
+        }
+    }
+
+    /**
+     * Hands out the body in read-only chunks as the client asks for them
+     */
+    private static final class Chunks implements Flow.Subscription {
+        private final ByteBuffer remaining;
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger draining = new AtomicInteger();
+        private volatile boolean done;
+
+        Chunks(ByteBuffer remaining, Flow.Subscriber<? super ByteBuffer> subscriber) {
+            this.remaining = remaining;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                done = true;
+                subscriber.onError(new IllegalArgumentException("Requested " + n + " chunks"));
+                return;
+            }
+            demand.getAndAccumulate(n, (a, b) -> a + b < 0 ? Long.MAX_VALUE : a + b);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+        }
+
+        // request() may be called again from onNext; only the outermost call emits
+        private void drain() {
+            if (draining.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                while (!done && demand.get() > 0 && remaining.hasRemaining()) {
+                    int size = Math.min(CHUNK_SIZE, remaining.remaining());
+                    ByteBuffer chunk = remaining.slice();
+                    chunk.limit(size);
+                    remaining.position(remaining.position() + size);
+                    demand.decrementAndGet();
+                    subscriber.onNext(chunk);
+                }
+                if (!done && !remaining.hasRemaining()) {
+                    done = true;
+                    subscriber.onComplete();
+                }
+            } while (draining.decrementAndGet() != 0);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package runtime;
+
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * Keeps the first maxBytes of a response body as a String and drops the rest.
+ * The rest is still read, so the connection can be reused, but it is neither
+ * copied nor decoded.
+ */
+final class BoundedBodySubscriber implements HttpResponse.BodySubscriber<String> {
+    private static final int INITIAL_CAPACITY = 8 * 1024;
+
+    private final int maxBytes;
+    private final CompletableFuture<String> body = new CompletableFuture<>();
+    private byte[] kept = new byte[0];
+    private int count;
+
+    BoundedBodySubscriber(int maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    static HttpResponse.BodyHandler<String> handler(long maxBytes) {
+        int max = (int) Math.min(maxBytes, Integer.MAX_VALUE - 8);
+        return info -> new BoundedBodySubscriber(max);
+    }
+
+    @Override
+    public CompletionStage<String> getBody() {
+        return body;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> buffers) {
+        for (ByteBuffer buffer : buffers) {
+            int take = Math.min(buffer.remaining(), maxBytes - count);
+            if (take <= 0) {
+                continue;
+            }
+            if (count + take > kept.length) {
+                int capacity = Math.max(kept.length * 2, Math.min(maxBytes, INITIAL_CAPACITY));
+                byte[] grown = new byte[Math.min(Math.max(capacity, count + take), maxBytes)];
+                System.arraycopy(kept, 0, grown, 0, count);
+                kept = grown;
+            }
+            buffer.get(kept, count, take);
+            count += take;
+        }
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        body.completeExceptionally(error);
+    }
+
+    @Override
+    public void onComplete() {
+        // A cut through a multi-byte character decodes to a replacement character
+        body.complete(new String(kept, 0, count, StandardCharsets.UTF_8));
+    }
+}
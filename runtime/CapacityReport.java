@@ -0,0 +1,108 @@
+package runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Steps of a capacity search and the knee point: the step with the highest
+ * throughput that still met the latency SLO and the error budget
+ */
+public class CapacityReport {
+    public static class Step {
+        private final int concurrency;
+        private final double throughput;
+        private final long latencyMicros;
+        private final double errorRate;
+        private final boolean withinSlo;
+        
+        public Step(int concurrency, double throughput, long latencyMicros, double errorRate, boolean withinSlo) {
+            this.concurrency = concurrency;
+            this.throughput = throughput;
+            this.latencyMicros = latencyMicros;
+            this.errorRate = errorRate;
+            this.withinSlo = withinSlo;
+        }
+        
+        public int getConcurrency() {
+            return concurrency;
+        }
+        
+        public double getThroughput() {
+            return throughput;
+        }
+        
+        public long getLatencyMicros() {
+            return latencyMicros;
+        }
+        
+        public double getErrorRate() {
+            return errorRate;
+        }
+        
+        public boolean isWithinSlo() {
+            return withinSlo;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("concurrency %4d: %8.1f rps, latency %8.2f ms, errors %5.1f%% %s",
+                concurrency, throughput, latencyMicros / 1000.0, errorRate * 100, withinSlo ? "ok" : "BREACH");
+        }
+    }
+    
+    private final String name;
+    private final long sloMicros;
+    private final double percentile;
+    private final double maxErrorRate;
+    private final List<Step> steps = new ArrayList<>();
+    
+    public CapacityReport(String name, long sloMicros, double percentile, double maxErrorRate) {
+        this.name = name;
+        this.sloMicros = sloMicros;
+        this.percentile = percentile;
+        this.maxErrorRate = maxErrorRate;
+    }
+    
+    void add(Step step) {
+        steps.add(step);
+    }
+    
+    public List<Step> getSteps() {
+        return steps;
+    }
+    
+    /**
+     * The knee point, or null if no step met the SLO
+     */
+    public Step getKnee() {
+        Step knee = null;
+        for (Step step : steps) {
+            if (step.isWithinSlo() && (knee == null || step.getThroughput() > knee.getThroughput())) {
+                knee = step;
+            }
+        }
+        return knee;
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Capacity %s: SLO p%s <= %.1f ms, errors <= %.1f%%%n",
+            name, formatPercentile(), sloMicros / 1000.0, maxErrorRate * 100));
+        for (Step step : steps) {
+            sb.append("  ").append(step).append(String.format("%n"));
+        }
+        Step knee = getKnee();
+        if (knee != null) {
+            sb.append(String.format("  knee: concurrency %d, %.1f rps at p%s %.2f ms",
+                knee.getConcurrency(), knee.getThroughput(), formatPercentile(), knee.getLatencyMicros() / 1000.0));
+        } else {
+            sb.append("  knee: none, the SLO was not met even at concurrency 1");
+        }
+        return sb.toString();
+    }
+    
+    private String formatPercentile() {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
@@ -0,0 +1,101 @@
+package runtime;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Searches for the highest closed-loop concurrency that still meets a latency SLO
+ * and an error budget. Concurrency grows exponentially until the first breach
+ * (slow start), then additively; every breach halves it (AIMD). The search ends
+ * after a fixed number of breaches or once the concurrency ceiling has passed.
+ */
+public class CapacitySearch {
+    private static final int MAX_BREACHES = 3;
+    private static final int MAX_STEPS = 50;
+    
+    private final String name;
+    private final long sloMicros;
+    private final double percentile;
+    private final double maxErrorRate;
+    private final long stepNanos;
+    private final int maxConcurrency;
+    private final int increase;
+    
+    public CapacitySearch(String name, long sloMillis, double percentile, double maxErrorPct,
+                          long stepMillis, int maxConcurrency, int increase) {
+        this.name = name;
+        this.sloMicros = TimeUnit.MILLISECONDS.toMicros(sloMillis);
+        this.percentile = percentile;
+        this.maxErrorRate = maxErrorPct / 100.0;
+        this.stepNanos = TimeUnit.MILLISECONDS.toNanos(stepMillis);
+        this.maxConcurrency = maxConcurrency;
+        this.increase = increase;
+    }
+    
+    public CapacityReport run(LoadGenerator.Iteration iteration) throws InterruptedException {
+        CapacityReport report = new CapacityReport(name, sloMicros, percentile, maxErrorRate);
+        int concurrency = 1;
+        boolean slowStart = true;
+        int breaches = 0;
+        
+        for (int step = 0; step < MAX_STEPS && breaches < MAX_BREACHES; step++) {
+            CapacityReport.Step result = measure(iteration, concurrency);
+            report.add(result);
+            
+            if (result.isWithinSlo()) {
+                if (concurrency >= maxConcurrency) {
+                    break;
+                }
+                concurrency = slowStart ? concurrency * 2 : concurrency + increase;
+                concurrency = Math.min(concurrency, maxConcurrency);
+            } else {
+                breaches++;
+                slowStart = false;
+                concurrency = Math.max(1, concurrency / 2);
+            }
+        }
+        return report;
+    }
+    
+    /**
+     * Run the iteration in a closed loop on the given number of workers for one step
+     */
+    private CapacityReport.Step measure(LoadGenerator.Iteration iteration, int concurrency)
+            throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        AtomicLong completed = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency,
+            Threads.daemonFactory("capacity-" + name));
+        
+        long start = System.nanoTime();
+        long deadline = start + stepNanos;
+        for (int i = 0; i < concurrency; i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    long begin = System.nanoTime();
+                    try {
+                        iteration.run();
+                    } catch (Throwable t) {
+                        errors.incrementAndGet();
+                    }
+                    recorder.recordNanos(System.nanoTime() - begin);
+                    completed.incrementAndGet();
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(stepNanos + TimeUnit.SECONDS.toNanos(60), TimeUnit.NANOSECONDS);
+        workers.shutdownNow();
+        long elapsed = System.nanoTime() - start;
+        
+        LatencyHistogram histogram = recorder.merged();
+        double throughput = completed.get() / (elapsed / 1e9);
+        double errorRate = completed.get() == 0 ? 0 : errors.get() / (double) completed.get();
+        long latency = histogram.getValueAtPercentile(percentile);
+        boolean ok = completed.get() > 0 && latency <= sloMicros && errorRate <= maxErrorRate;
+        return new CapacityReport.Step(concurrency, throughput, latency, errorRate, ok);
+    }
+}
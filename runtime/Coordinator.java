@@ -0,0 +1,303 @@
+package runtime;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the tests or load blocks of a generated class on several worker JVMs
+ * (runtime.Worker) connected over TCP sockets, and merges what they stream
+ * back into one report.
+ *
+ * Tests are handed out one at a time, longest first by the timing history, to
+ * whichever worker is free, so that the workers finish together. A load block
+ * runs on all workers at once, each at 1/N of the rate and concurrency, and
+ * their latency histograms are added into one LoadReport.
+ *
+ * Usage: java -cp <classpath> runtime.Coordinator <TestClass> [--workers N]
+ *        [--port P] [--external] [--load Name]...
+ *
+ * Without --external the coordinator starts the workers itself as local
+ * processes with the same classpath and testlang.* properties; with it, it
+ * waits for workers started elsewhere with runtime.Worker host:port.
+ */
+public final class Coordinator {
+    private static final int ACCEPT_TIMEOUT_MILLIS = 60_000;
+
+    private final TestCatalog catalog;
+    private final List<Connection> workers;
+
+    private Coordinator(TestCatalog catalog, List<Connection> workers) {
+        this.catalog = catalog;
+        this.workers = workers;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String className = null;
+        int count = Runtime.getRuntime().availableProcessors();
+        int port = 0;
+        boolean external = false;
+        List<String> loads = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--workers") && i + 1 < args.length) {
+                count = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--port") && i + 1 < args.length) {
+                port = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--external")) {
+                external = true;
+            } else if (args[i].equals("--load") && i + 1 < args.length) {
+                loads.add(args[++i]);
+            } else if (!args[i].startsWith("--") && className == null) {
+                className = args[i];
+            } else {
+                className = null;
+                break;
+            }
+        }
+        if (className == null || count < 1) {
+            System.err.println("Usage: java runtime.Coordinator <TestClass> [--workers N] [--port P] " +
+                               "[--external] [--load Name]...");
+            System.exit(1);
+        }
+
+        TestCatalog catalog = new TestCatalog(className);
+        List<Process> processes = new ArrayList<>();
+        List<Connection> workers = new ArrayList<>();
+        boolean passed;
+        try (ServerSocket server = new ServerSocket(port)) {
+            server.setSoTimeout(ACCEPT_TIMEOUT_MILLIS);
+            if (external) {
+                System.out.println("Waiting for " + count + " workers on port " + server.getLocalPort());
+            } else {
+                for (int i = 0; i < count; i++) {
+                    processes.add(spawn(server.getLocalPort()));
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                Connection worker = new Connection(server.accept(), i + 1);
+                worker.welcome(className, count);
+                workers.add(worker);
+                System.out.println("  worker " + worker.number + ": " + worker.id);
+            }
+            Coordinator coordinator = new Coordinator(catalog, workers);
+            passed = loads.isEmpty() ? coordinator.runTests() : coordinator.runLoads(loads);
+        } finally {
+            for (Connection worker : workers) {
+                worker.quit();
+            }
+            for (Process process : processes) {
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            }
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    /**
+     * A local worker with this JVM's classpath and testlang.* properties
+     */
+    private static Process spawn(int port) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith("testlang.")) {
+                command.add("-D" + name + "=" + System.getProperty(name));
+            }
+        }
+        command.add(Worker.class.getName());
+        command.add("localhost:" + port);
+        return new ProcessBuilder(command).inheritIO().start();
+    }
+
+    private boolean runTests() throws Exception {
+        Queue<String> queue = new ConcurrentLinkedQueue<>(longestFirst(catalog.tests()));
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger passed = new AtomicInteger();
+        int total = queue.size();
+        long start = System.nanoTime();
+
+        List<Thread> threads = new ArrayList<>();
+        for (Connection worker : workers) {
+            Thread thread = new Thread(() -> {
+                String test;
+                while ((test = queue.poll()) != null) {
+                    String key = catalog.simpleName() + "." + test;
+                    try {
+                        Connection.Result result = worker.runTest(test);
+                        Timings.record(key, result.nanos, result.passed);
+                        ResultStream.result(key, result.nanos, result.passed, result.message);
+                        if (result.passed) {
+                            passed.incrementAndGet();
+                        } else {
+                            failures.add(test + ": " + result.message);
+                        }
+                        print(String.format("  %s %s (%d ms, worker %d)%s", result.passed ? "✓" : "✗", test,
+                            TimeUnit.NANOSECONDS.toMillis(result.nanos), worker.number,
+                            result.passed ? "" : "\n      " + result.message));
+                    } catch (IOException e) {
+                        // The worker is gone; its remaining share goes to the others
+                        failures.add(test + ": worker " + worker.number + " lost: " + e);
+                        print("  ✗ " + test + " (worker " + worker.number + " lost: " + e + ")");
+                        return;
+                    }
+                }
+            }, "coordinator-worker-" + worker.number);
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Tests still queued had no worker left to run them
+        List<String> notRun = new ArrayList<>(queue);
+        System.out.println(String.format("%d tests on %d workers in %.1f s: %d passed, %d failed, %d not run",
+            total, workers.size(), (System.nanoTime() - start) / 1e9, passed.get(), failures.size(), notRun.size()));
+        for (String failure : failures) {
+            System.out.println("  failed: " + failure);
+        }
+        for (String test : notRun) {
+            System.out.println("  not run: " + test);
+        }
+        return failures.isEmpty() && notRun.isEmpty();
+    }
+
+    private boolean runLoads(List<String> loads) throws Exception {
+        for (String name : loads) {
+            LoadGenerator load = catalog.load(name);
+            List<LoadReport> parts = Collections.synchronizedList(new ArrayList<>());
+            List<Thread> threads = new ArrayList<>();
+            List<IOException> lost = Collections.synchronizedList(new ArrayList<>());
+            for (Connection worker : workers) {
+                Thread thread = new Thread(() -> {
+                    try {
+                        parts.add(worker.runLoad(name, workers.size()));
+                    } catch (IOException e) {
+                        lost.add(e);
+                    }
+                }, "coordinator-worker-" + worker.number);
+                thread.start();
+                threads.add(thread);
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            if (!lost.isEmpty()) {
+                throw lost.get(0);
+            }
+            LoadReport report = LoadReport.combine(name, load.getTargetRps(), parts);
+            System.out.println(report);
+            System.out.println("  histogram log: " + report.writeHistogramLog());
+        }
+        return true;
+    }
+
+    /**
+     * Longest first by the timing history; tests without history count as the median
+     */
+    private List<String> longestFirst(List<String> tests) throws IOException {
+        Map<String, Long> history = Timings.read(Timings.file());
+        List<Long> known = new ArrayList<>();
+        for (String test : tests) {
+            Long millis = history.get(catalog.simpleName() + "." + test);
+            if (millis != null) {
+                known.add(millis);
+            }
+        }
+        Collections.sort(known);
+        long unknown = known.isEmpty() ? 0 : known.get(known.size() / 2);
+        List<String> ordered = new ArrayList<>(tests);
+        ordered.sort((a, b) -> Long.compare(
+            history.getOrDefault(catalog.simpleName() + "." + b, unknown),
+            history.getOrDefault(catalog.simpleName() + "." + a, unknown)));
+        return ordered;
+    }
+
+    private static synchronized void print(String line) {
+        System.out.println(line);
+    }
+
+    /**
+     * The coordinator's end of one worker socket
+     */
+    private static final class Connection {
+        final int number;
+        final String id;
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+
+        Connection(Socket socket, int number) throws IOException {
+            this.socket = socket;
+            this.number = number;
+            socket.setTcpNoDelay(true);
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            Worker.expect(in, Worker.HELLO);
+            this.id = in.readUTF();
+        }
+
+        void welcome(String className, int workers) throws IOException {
+            out.writeByte(Worker.WELCOME);
+            out.writeUTF(className);
+            out.writeInt(workers);
+            out.flush();
+        }
+
+        Result runTest(String test) throws IOException {
+            out.writeByte(Worker.RUN_TEST);
+            out.writeUTF(test);
+            out.flush();
+            Worker.expect(in, Worker.RESULT);
+            in.readUTF();
+            return new Result(in.readBoolean(), in.readLong(), in.readUTF());
+        }
+
+        LoadReport runLoad(String name, int workers) throws IOException {
+            out.writeByte(Worker.RUN_LOAD);
+            out.writeUTF(name);
+            out.writeInt(workers);
+            out.flush();
+            Worker.expect(in, Worker.LOAD_RESULT);
+            return LoadReport.readFrom(in);
+        }
+
+        void quit() {
+            try {
+                out.writeByte(Worker.QUIT);
+                out.flush();
+                socket.close();
+            } catch (IOException e) {
+                // Already gone
+            }
+        }
+
+        static final class Result {
+            final boolean passed;
+            final long nanos;
+            final String message;
+
+            Result(boolean passed, long nanos, String message) {
+                this.passed = passed;
+                this.nanos = nanos;
+                this.message = message;
+            }
+        }
+    }
+}
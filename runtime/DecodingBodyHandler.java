@@ -0,0 +1,239 @@
+package runtime;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Wraps a BodyHandler to undo a gzip or deflate Content-Encoding while the body
+ * arrives: every received buffer is inflated into new buffers handed to the
+ * delegate, so the compressed body is never collected first. Bodies without a
+ * content coding pass through unchanged. Counts the decoded bytes either way.
+ */
+public class DecodingBodyHandler<T> implements HttpResponse.BodyHandler<T> {
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    private final HttpResponse.BodyHandler<T> delegate;
+    private volatile long decodedBytes;
+
+    public DecodingBodyHandler(HttpResponse.BodyHandler<T> delegate) {
+        this.delegate = delegate;
+    }
+
+    public static <T> DecodingBodyHandler<T> of(HttpResponse.BodyHandler<T> delegate) {
+        return new DecodingBodyHandler<>(delegate);
+    }
+
+    @Override
+    public HttpResponse.BodySubscriber<T> apply(HttpResponse.ResponseInfo info) {
+        decodedBytes = 0;
+        String coding = info.headers().firstValue("Content-Encoding").orElse("").trim().toLowerCase();
+        HttpResponse.BodySubscriber<T> downstream = delegate.apply(info);
+        switch (coding) {
+            case "gzip":
+            case "x-gzip":
+                return new DecodingSubscriber(downstream, new Inflater(true), true);
+            case "deflate":
+                return new DecodingSubscriber(downstream, new Inflater(), false);
+            default:
+                return new DecodingSubscriber(downstream, null, false);
+        }
+    }
+
+    /**
+     * Size of the body after decoding; equal to the received size without a content coding
+     */
+    public long decodedBytes() {
+        return decodedBytes;
+    }
+
+    private class DecodingSubscriber implements HttpResponse.BodySubscriber<T> {
+        private final HttpResponse.BodySubscriber<T> downstream;
+        private final Inflater inflater;  // null for bodies without a content coding
+        private final boolean gzip;
+        private final CRC32 crc = new CRC32();
+        private byte[] header = new byte[0];  // gzip header bytes until it is complete
+        private boolean headerDone;
+        private final byte[] trailer = new byte[8];
+        private int trailerCount;
+        private Flow.Subscription subscription;
+        private long count;
+        private boolean received;
+        private boolean failed;
+
+        DecodingSubscriber(HttpResponse.BodySubscriber<T> downstream, Inflater inflater, boolean gzip) {
+            this.downstream = downstream;
+            this.inflater = inflater;
+            this.gzip = gzip;
+            this.headerDone = !gzip;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return downstream.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            downstream.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            if (failed) {
+                return;
+            }
+            if (inflater == null) {
+                for (ByteBuffer buffer : buffers) {
+                    count += buffer.remaining();
+                }
+                downstream.onNext(buffers);
+                return;
+            }
+            List<ByteBuffer> decoded = new ArrayList<>();
+            try {
+                for (ByteBuffer buffer : buffers) {
+                    received |= buffer.hasRemaining();
+                    decode(buffer, decoded);
+                }
+            } catch (IOException | DataFormatException e) {
+                fail(e);
+                return;
+            }
+            if (decoded.isEmpty()) {
+                // Nothing to pass on (header or trailer only), so ask for the next buffer ourselves
+                subscription.request(1);
+            } else {
+                downstream.onNext(decoded);
+            }
+        }
+
+        private void decode(ByteBuffer buffer, List<ByteBuffer> decoded) throws IOException, DataFormatException {
+            while (!headerDone && buffer.hasRemaining()) {
+                header = Arrays.copyOf(header, header.length + 1);
+                header[header.length - 1] = buffer.get();
+                headerDone = gzipHeaderLength(header) == header.length;
+            }
+            if (!inflater.finished() && buffer.hasRemaining()) {
+                inflater.setInput(buffer);
+                while (!inflater.finished()) {
+                    ByteBuffer out = ByteBuffer.allocate(CHUNK_SIZE);
+                    int n = inflater.inflate(out);
+                    if (n > 0) {
+                        out.flip();
+                        if (gzip) {
+                            crc.update(out.duplicate());
+                        }
+                        count += n;
+                        decoded.add(out);
+                    } else if (inflater.needsInput()) {
+                        break;
+                    } else if (inflater.needsDictionary()) {
+                        throw new IOException("deflate body needs a preset dictionary");
+                    }
+                }
+            }
+            // After the compressed data a gzip body ends with CRC-32 and size
+            while (inflater.finished() && buffer.hasRemaining()) {
+                byte b = buffer.get();
+                if (gzip && trailerCount < trailer.length) {
+                    trailer[trailerCount++] = b;
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            if (inflater != null) {
+                inflater.end();
+            }
+            if (!failed) {
+                failed = true;
+                downstream.onError(error);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (failed) {
+                return;
+            }
+            // An empty body (a 204, say) may still name a content coding
+            if (inflater != null && received) {
+                if (!inflater.finished()) {
+                    fail(new IOException("compressed body ended early"));
+                    return;
+                }
+                if (gzip && (trailerCount < trailer.length || littleEndian(0) != crc.getValue() ||
+                             littleEndian(4) != (count & 0xffffffffL))) {
+                    fail(new IOException("gzip body fails its CRC or size check"));
+                    return;
+                }
+            }
+            if (inflater != null) {
+                inflater.end();
+            }
+            decodedBytes = count;
+            downstream.onComplete();
+        }
+
+        private void fail(Exception e) {
+            failed = true;
+            if (inflater != null) {
+                inflater.end();
+            }
+            subscription.cancel();
+            downstream.onError(e);
+        }
+
+        private long littleEndian(int offset) {
+            return (trailer[offset] & 0xffL) | (trailer[offset + 1] & 0xffL) << 8 |
+                   (trailer[offset + 2] & 0xffL) << 16 | (trailer[offset + 3] & 0xffL) << 24;
+        }
+    }
+
+    /**
+     * Length of the gzip header (RFC 1952) at the start of b, or -1 if b does not hold all of it yet
+     */
+    static int gzipHeaderLength(byte[] b) throws IOException {
+        int n = b.length;
+        if (n >= 3 && ((b[0] & 0xff) != 0x1f || (b[1] & 0xff) != 0x8b || b[2] != 8)) {
+            throw new IOException("Content-Encoding is gzip but the body is not");
+        }
+        if (n < 10) {
+            return -1;
+        }
+        int flags = b[3] & 0xff;
+        int pos = 10;
+        if ((flags & 4) != 0) {  // FEXTRA
+            if (n < pos + 2) {
+                return -1;
+            }
+            pos += 2 + ((b[pos] & 0xff) | (b[pos + 1] & 0xff) << 8);
+        }
+        for (int flag : new int[] { 8, 16 }) {  // FNAME, FCOMMENT: zero-terminated
+            if ((flags & flag) != 0) {
+                while (pos < n && b[pos] != 0) {
+                    pos++;
+                }
+                if (pos >= n) {
+                    return -1;
+                }
+                pos++;
+            }
+        }
+        if ((flags & 2) != 0) {  // FHCRC
+            pos += 2;
+        }
+        return n >= pos ? pos : -1;
+    }
+}
@@ -0,0 +1,119 @@
+package runtime;
+
+import java.net.http.HttpResponse;
+
+/**
+ * A response together with its timing, and the assertions generated tests run on it.
+ * Failed assertions throw AssertionError, which JUnit reports as a test failure.
+ */
+public final class Exchange {
+    private final HttpResponse<String> response;
+    private final TimedBodyHandler<String> timing;
+    private final DecodingBodyHandler<String> decoding;  // null if the body was discarded
+
+    Exchange(HttpResponse<String> response, TimedBodyHandler<String> timing,
+             DecodingBodyHandler<String> decoding) {
+        this.response = response;
+        this.timing = timing;
+        this.decoding = decoding;
+    }
+
+    public HttpResponse<String> response() {
+        return response;
+    }
+
+    public TimedBodyHandler<String> timing() {
+        return timing;
+    }
+
+    /**
+     * Body size after undoing any Content-Encoding; timing().bytes() is the size received
+     */
+    public long decodedBytes() {
+        return decoding != null ? decoding.decodedBytes() : timing.bytes();
+    }
+
+    public int status() {
+        return response.statusCode();
+    }
+
+    public String body() {
+        return response.body();
+    }
+
+    /**
+     * First value of a header, or "" when absent
+     */
+    public String header(String name) {
+        return response.headers().firstValue(name).orElse("");
+    }
+
+    public String requireHeader(String name) {
+        return response.headers().firstValue(name)
+            .orElseThrow(() -> new AssertionError("missing header " + name));
+    }
+
+    /**
+     * Extract all paths of an extractor from the body in one pass
+     */
+    public Object[] json(JsonPathExtractor extractor) {
+        return extractor.extract(response.body());
+    }
+
+    // Failure messages are only built on failure, the passing path does not allocate
+
+    public void expectStatus(int expected) {
+        if (response.statusCode() != expected) {
+            throw new AssertionError("expected: <" + expected + "> but was: <" + response.statusCode() + ">");
+        }
+    }
+
+    public void expectHeader(String name, String expected) {
+        String actual = header(name);
+        if (!expected.equals(actual)) {
+            throw new AssertionError("header " + name + " expected: <" + expected + "> but was: <" + actual + ">");
+        }
+    }
+
+    public void expectHeaderContains(String name, String expected) {
+        String actual = header(name);
+        if (!actual.contains(expected)) {
+            throw new AssertionError("header " + name + " does not contain <" + expected + ">: <" + actual + ">");
+        }
+    }
+
+    public void expectBodyContains(String expected) {
+        if (!response.body().contains(expected)) {
+            throw new AssertionError("body does not contain <" + expected + ">");
+        }
+    }
+
+    /**
+     * Compare a value extracted with json() to a JSON literal
+     */
+    public void expectJson(Object actual, String path, String expectedLiteral) {
+        if (!JsonPathExtractor.matches(actual, expectedLiteral)) {
+            throw new AssertionError(path + ": expected " + expectedLiteral + " but was " +
+                JsonPathExtractor.describe(actual));
+        }
+    }
+
+    public void expectLatencyBelow(long millis) {
+        if (timing.totalMillis() >= millis) {
+            throw new AssertionError("latency exceeds " + millis + " ms: " + timing);
+        }
+    }
+
+    public void expectSizeBelow(long bytes) {
+        if (timing.bytes() >= bytes) {
+            throw new AssertionError("size exceeds " + bytes + " bytes: " + timing);
+        }
+    }
+
+    public void expectUncompressedSizeBelow(long bytes) {
+        if (decodedBytes() >= bytes) {
+            throw new AssertionError("uncompressed size exceeds " + bytes + " bytes: " + decodedBytes() +
+                " bytes, " + timing.bytes() + " received");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package runtime;
+
+import java.net.http.HttpRequest;
+
+/**
+ * Metrics hook called for every request sent through a Suite.
+ * Listeners run on the sending thread and should return quickly.
+ */
+public interface ExchangeListener {
+    void onResponse(HttpRequest request, Exchange exchange);
+
+    default void onFailure(HttpRequest request, Throwable error) {
+    }
+}
@@ -0,0 +1,88 @@
+package runtime;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Fail-fast mode (-Dtestlang.failFast=true): the first failing test stops the
+ * run. Requests still in flight on other threads are cancelled by interrupting
+ * the threads waiting for them, and every test that has not finished yet is
+ * skipped rather than failed, so a broken build is reported in seconds.
+ *
+ * The runtime does not depend on JUnit; generated classes pass the exception
+ * that JUnit reports as a skipped test (TestAbortedException) to skipWith.
+ */
+public final class FailFast {
+    private static final boolean ENABLED = Boolean.getBoolean("testlang.failFast");
+    private static final AtomicReference<String> FIRST_FAILURE = new AtomicReference<>();
+    private static final Set<Thread> WAITING = ConcurrentHashMap.newKeySet();
+    private static volatile Function<String, ? extends RuntimeException> skip = IllegalStateException::new;
+
+    private FailFast() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static void skipWith(Function<String, ? extends RuntimeException> exception) {
+        skip = exception;
+    }
+
+    /**
+     * Skip the calling test if an earlier test has failed
+     */
+    static void check() {
+        if (tripped()) {
+            throw skipped();
+        }
+    }
+
+    static boolean tripped() {
+        return FIRST_FAILURE.get() != null;
+    }
+
+    /**
+     * Report a failed test. The first failure cancels the requests other threads
+     * are waiting for; false means another test failed first and this one was
+     * most likely cut short by that, so it counts as skipped.
+     */
+    static boolean failed(String test) {
+        if (!ENABLED) {
+            return true;
+        }
+        if (!FIRST_FAILURE.compareAndSet(null, test)) {
+            return false;
+        }
+        for (Thread thread : WAITING) {
+            if (thread != Thread.currentThread()) {
+                thread.interrupt();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Suite.send registers the thread for the time it waits for a response
+     */
+    static void waiting(Thread thread) {
+        if (ENABLED) {
+            WAITING.add(thread);
+        }
+    }
+
+    static void done(Thread thread) {
+        if (ENABLED) {
+            WAITING.remove(thread);
+        }
+    }
+
+    /**
+     * Exception for a test that was cut short or never started because another failed
+     */
+    static RuntimeException skipped() {
+        return skip.apply("Skipped by fail-fast: " + FIRST_FAILURE.get() + " failed");
+    }
+}
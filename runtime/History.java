@@ -0,0 +1,168 @@
+package runtime;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of test outcomes, read by the compiler to order tests
+ * (--order). Each run appends one record per test in a single write:
+ * the "Class.Test" key (modified UTF-8), the start of the run (epoch ms),
+ * the duration (ms) and whether the test passed. Every record is framed by
+ * its length and the CRC32 of its content, so a record cut short by a crash
+ * is skipped when the log is read, and the records appended after it are
+ * found again at the next valid frame.
+ *
+ * The log is build/reports/history.bin unless -Dtestlang.history names another
+ * file. Once it grows past MAX_BYTES it is rewritten with the last KEEP
+ * records of every test.
+ */
+public final class History {
+    static final long MAX_BYTES = 1024 * 1024;
+    static final int KEEP = 16;
+    private static final int FRAME = 2 * Integer.BYTES;  // length, CRC32
+    private static final int MAX_RECORD = 2 + 65535 + Long.BYTES + Integer.BYTES + 1;
+
+    private History() {
+    }
+
+    public static Path file() {
+        String file = System.getProperty("testlang.history");
+        return file != null ? Paths.get(file) : Reports.directory().resolve("history.bin");
+    }
+
+    /**
+     * The outcome of one test in one run
+     */
+    public static final class Record {
+        final String test;
+        final long runMillis;
+        final int durationMillis;
+        final boolean passed;
+
+        Record(String test, long runMillis, int durationMillis, boolean passed) {
+            this.test = test;
+            this.runMillis = runMillis;
+            this.durationMillis = durationMillis;
+            this.passed = passed;
+        }
+
+        /** "Class.Test" */
+        public String test() {
+            return test;
+        }
+
+        /** Start of the run, epoch ms */
+        public long runMillis() {
+            return runMillis;
+        }
+
+        public int durationMillis() {
+            return durationMillis;
+        }
+
+        public boolean passed() {
+            return passed;
+        }
+    }
+
+    /**
+     * Append the records of one run, then compact the log if it has grown too large
+     */
+    static void append(Path file, List<Record> records) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            out.write(encode(records));
+        }
+        if (Files.size(file) > MAX_BYTES) {
+            compact(file);
+        }
+    }
+
+    private static void compact(Path file) throws IOException {
+        Map<String, Deque<Record>> latest = new LinkedHashMap<>();
+        for (Record record : read(file)) {
+            Deque<Record> kept = latest.computeIfAbsent(record.test, k -> new ArrayDeque<>());
+            kept.addLast(record);
+            if (kept.size() > KEEP) {
+                kept.removeFirst();
+            }
+        }
+        List<Record> records = new ArrayList<>();
+        for (Deque<Record> kept : latest.values()) {
+            records.addAll(kept);
+        }
+        records.sort((a, b) -> Long.compare(a.runMillis, b.runMillis));
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, encode(records));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static byte[] encode(List<Record> records) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(content);
+        CRC32 crc = new CRC32();
+        for (Record record : records) {
+            content.reset();
+            out.writeUTF(record.test);
+            out.writeLong(record.runMillis);
+            out.writeInt(record.durationMillis);
+            out.writeBoolean(record.passed);
+            out.flush();
+            crc.reset();
+            crc.update(content.toByteArray());
+            bytes.write(ByteBuffer.allocate(FRAME).putInt(content.size()).putInt((int) crc.getValue()).array());
+            content.writeTo(bytes);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * The records of the log, oldest first; a missing log has none
+     */
+    public static List<Record> read(Path file) throws IOException {
+        List<Record> records = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return records;
+        }
+        ByteBuffer log = ByteBuffer.wrap(Files.readAllBytes(file));
+        CRC32 crc = new CRC32();
+        int position = 0;
+        while (position + FRAME <= log.limit()) {
+            int length = log.getInt(position);
+            if (length > 0 && length <= MAX_RECORD && position + FRAME + length <= log.limit()) {
+                crc.reset();
+                crc.update(log.array(), position + FRAME, length);
+                if ((int) crc.getValue() == log.getInt(position + Integer.BYTES)) {
+                    DataInputStream in = new DataInputStream(
+                        new ByteArrayInputStream(log.array(), position + FRAME, length));
+                    records.add(new Record(in.readUTF(), in.readLong(), in.readInt(), in.readBoolean()));
+                    position += FRAME + length;
+                    continue;
+                }
+            }
+            // Not a valid frame: part of a record cut short, look for the next one
+            position++;
+        }
+        return records;
+    }
+}
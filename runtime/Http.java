@@ -0,0 +1,49 @@
+package runtime;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Process-wide HTTP client shared by every generated suite, so all tests
+ * in a JVM reuse one connection pool, plus the exchange listeners that
+ * metrics and reporting hook into.
+ */
+public final class Http {
+    private static final List<ExchangeListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private Http() {
+    }
+
+    private static final class Holder {
+        static final HttpClient CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    }
+
+    public static HttpClient client() {
+        return Holder.CLIENT;
+    }
+
+    public static void addListener(ExchangeListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void removeListener(ExchangeListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    static void fireResponse(HttpRequest request, Exchange exchange) {
+        for (ExchangeListener listener : LISTENERS) {
+            listener.onResponse(request, exchange);
+        }
+    }
+
+    static void fireFailure(HttpRequest request, Throwable error) {
+        for (ExchangeListener listener : LISTENERS) {
+            listener.onFailure(request, error);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package runtime;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Extracts a fixed set of JSON paths from a document in a single pass.
+ * Paths are compiled once into a trie; during extraction only the branches
+ * named by some path are descended, everything else is skipped by the tokenizer.
+ *
+ * Supported syntax: $.name, $['name'], $[0] and combinations such as $.items[2].id
+ */
+public class JsonPathExtractor {
+    private final String[] paths;
+    private final Node root;
+    private int targets; // distinct trie nodes that some path ends on
+
+    public JsonPathExtractor(String... paths) {
+        this.paths = paths;
+        this.root = new Node(null);
+        for (int i = 0; i < paths.length; i++) {
+            Node node = root;
+            for (Object segment : parse(paths[i])) {
+                node = node.child(segment);
+            }
+            if (node.slots.isEmpty()) {
+                targets++;
+            }
+            node.slots.add(i);
+        }
+    }
+
+    public String getPath(int index) {
+        return paths[index];
+    }
+
+    /**
+     * Walk the document once and return the value of every path, in declaration order.
+     * Missing paths yield null; an explicit JSON null yields JsonTokenizer.NULL.
+     */
+    public Object[] extract(CharSequence json) {
+        Object[] values = new Object[paths.length];
+        JsonTokenizer tokenizer = new JsonTokenizer(json);
+        int[] remaining = { targets };
+        walk(tokenizer, root, values, remaining);
+        return values;
+    }
+
+    /**
+     * Compare an extracted value with an expected JSON literal such as 42, "admin" or true
+     */
+    public static boolean matches(Object actual, String expectedLiteral) {
+        Object expected = new JsonTokenizer(expectedLiteral).readValue();
+        if (actual instanceof BigDecimal && expected instanceof BigDecimal) {
+            return ((BigDecimal) actual).compareTo((BigDecimal) expected) == 0;
+        }
+        return expected.equals(actual);
+    }
+
+    /**
+     * Text of an extracted value for use in later requests: strings without quotes,
+     * everything else as JSON. A missing value fails, naming the path.
+     */
+    public static String text(Object value, String path) {
+        if (value == null) {
+            throw new AssertionError(path + ": no value to capture");
+        }
+        return value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+    }
+
+    /**
+     * Text of a runtime value escaped for use inside a JSON string literal,
+     * such as a row value in an expected "$.name" literal
+     */
+    public static String escape(Object value) {
+        String text = String.valueOf(value);
+        StringBuilder sb = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c != '"' && c != '\\' && c >= 0x20) {
+                if (sb != null) {
+                    sb.append(c);
+                }
+                continue;
+            }
+            if (sb == null) {
+                sb = new StringBuilder(text.length() + 8).append(text, 0, i);
+            }
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    sb.append(String.format("\\u%04x", (int) c));
+            }
+        }
+        return sb != null ? sb.toString() : text;
+    }
+
+    public static String describe(Object value) {
+        if (value == null) {
+            return "<missing>";
+        }
+        if (value instanceof String) {
+            return "\"" + value + "\"";
+        }
+        return value.toString();
+    }
+
+    private void walk(JsonTokenizer t, Node node, Object[] values, int[] remaining) {
+        if (node.children.isEmpty()) {
+            resolve(node, t.readValue(), values, remaining);
+            return;
+        }
+
+        int start = t.position();
+        char c = t.peek();
+        if (c != '{' && c != '[') {
+            // A scalar where the path expects a container: nothing below it can match,
+            // but a path ending here gets the decoded value like any leaf
+            Object value = t.readValue();
+            if (!node.slots.isEmpty()) {
+                resolve(node, value, values, remaining);
+            }
+            return;
+        }
+        if (c == '{') {
+            walkObject(t, node, values, remaining);
+        } else {
+            walkArray(t, node, values, remaining);
+        }
+
+        if (!node.slots.isEmpty()) {
+            resolve(node, t.slice(start).trim(), values, remaining);
+        }
+    }
+
+    // A key repeated in an object resolves the same node again: the last value wins,
+    // but the node counts only once towards the targets found
+    private static void resolve(Node node, Object value, Object[] values, int[] remaining) {
+        if (values[node.slots.get(0)] == null) {
+            remaining[0]--;
+        }
+        for (int slot : node.slots) {
+            values[slot] = value;
+        }
+    }
+
+    private void walkObject(JsonTokenizer t, Node node, Object[] values, int[] remaining) {
+        t.expect('{');
+        if (t.consume('}')) {
+            return;
+        }
+        do {
+            t.readStringSpan();
+            t.expect(':');
+            Node child = node.childForKey(t);
+            if (child != null) {
+                walk(t, child, values, remaining);
+                if (remaining[0] == 0) {
+                    return;
+                }
+            } else {
+                t.skipValue();
+            }
+        } while (t.consume(','));
+        t.expect('}');
+    }
+
+    private void walkArray(JsonTokenizer t, Node node, Object[] values, int[] remaining) {
+        t.expect('[');
+        if (t.consume(']')) {
+            return;
+        }
+        int index = 0;
+        do {
+            Node child = node.childForIndex(index++);
+            if (child != null) {
+                walk(t, child, values, remaining);
+                if (remaining[0] == 0) {
+                    return;
+                }
+            } else {
+                t.skipValue();
+            }
+        } while (t.consume(','));
+        t.expect(']');
+    }
+
+    /**
+     * Split a path into String (member name) and Integer (array index) segments
+     */
+    static List<Object> parse(String path) {
+        if (!path.startsWith("$")) {
+            throw new IllegalArgumentException("JSON path must start with '$': " + path);
+        }
+        List<Object> segments = new ArrayList<>();
+        int i = 1;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                int end = i + 1;
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                if (end == i + 1) {
+                    throw new IllegalArgumentException("Empty member name in JSON path: " + path);
+                }
+                segments.add(path.substring(i + 1, end));
+                i = end;
+            } else if (c == '[') {
+                int end = path.indexOf(']', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unclosed '[' in JSON path: " + path);
+                }
+                String inner = path.substring(i + 1, end).trim();
+                if (inner.startsWith("'") && inner.endsWith("'") && inner.length() >= 2) {
+                    segments.add(inner.substring(1, inner.length() - 1));
+                } else {
+                    try {
+                        segments.add(Integer.valueOf(inner));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid index '" + inner + "' in JSON path: " + path);
+                    }
+                }
+                i = end + 1;
+            } else {
+                throw new IllegalArgumentException("Unexpected '" + c + "' in JSON path: " + path);
+            }
+        }
+        return segments;
+    }
+
+    private static class Node {
+        final Object segment;
+        final List<Integer> slots = new ArrayList<>();
+        final List<Node> children = new ArrayList<>();
+
+        Node(Object segment) {
+            this.segment = segment;
+        }
+
+        Node child(Object segment) {
+            for (Node c : children) {
+                if (c.segment.equals(segment)) {
+                    return c;
+                }
+            }
+            Node c = new Node(segment);
+            children.add(c);
+            return c;
+        }
+
+        Node childForKey(JsonTokenizer t) {
+            for (Node c : children) {
+                if (c.segment instanceof String && t.spanEquals((String) c.segment)) {
+                    return c;
+                }
+            }
+            return null;
+        }
+
+        Node childForIndex(int index) {
+            for (Node c : children) {
+                if (c.segment instanceof Integer && (Integer) c.segment == index) {
+                    return c;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package runtime;
+
+import java.math.BigDecimal;
+
+/**
+ * Lazy pull tokenizer over a JSON document held in a CharSequence.
+ * Scalars are reported as spans into the input and only turned into
+ * Java objects when asked for, so skipped subtrees never allocate.
+ */
+public class JsonTokenizer {
+    private final CharSequence in;
+    private final int length;
+    private int pos;
+
+    // Span of the last string read (contents only, without quotes)
+    private int spanStart;
+    private int spanEnd;
+    private boolean spanEscaped;
+
+    public JsonTokenizer(CharSequence in) {
+        this.in = in;
+        this.length = in.length();
+        this.pos = 0;
+    }
+
+    public int position() {
+        return pos;
+    }
+
+    /**
+     * Raw JSON text from start up to the current position
+     */
+    public String slice(int start) {
+        return in.subSequence(start, pos).toString();
+    }
+
+    /**
+     * Skip whitespace and return the next significant character without consuming it
+     */
+    public char peek() {
+        skipWhitespace();
+        if (pos >= length) {
+            throw error("Unexpected end of JSON");
+        }
+        return in.charAt(pos);
+    }
+
+    public boolean atEnd() {
+        skipWhitespace();
+        return pos >= length;
+    }
+
+    public void expect(char c) {
+        if (peek() != c) {
+            throw error("Expected '" + c + "' but found '" + in.charAt(pos) + "'");
+        }
+        pos++;
+    }
+
+    /**
+     * Consume c if it is the next significant character
+     */
+    public boolean consume(char c) {
+        if (peek() == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Read a string token and remember its span; nothing is allocated
+     */
+    public void readStringSpan() {
+        expect('"');
+        spanStart = pos;
+        spanEscaped = false;
+        while (pos < length) {
+            char c = in.charAt(pos);
+            if (c == '"') {
+                spanEnd = pos;
+                pos++;
+                return;
+            }
+            if (c == '\\') {
+                spanEscaped = true;
+                pos++;
+            }
+            pos++;
+        }
+        throw error("Unterminated string");
+    }
+
+    /**
+     * Compare the last string span with a key without materializing it
+     */
+    public boolean spanEquals(String key) {
+        if (spanEscaped) {
+            return decodeSpan().equals(key);
+        }
+        int len = spanEnd - spanStart;
+        if (len != key.length()) {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            if (in.charAt(spanStart + i) != key.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Skip one complete value (scalar, object or array) without allocating
+     */
+    public void skipValue() {
+        int depth = 0;
+        do {
+            char c = peek();
+            switch (c) {
+                case '{':
+                case '[':
+                    depth++;
+                    pos++;
+                    break;
+                case '}':
+                case ']':
+                    depth--;
+                    pos++;
+                    break;
+                case ',':
+                case ':':
+                    pos++;
+                    break;
+                case '"':
+                    readStringSpan();
+                    break;
+                default:
+                    skipLiteral();
+                    break;
+            }
+        } while (depth > 0);
+    }
+
+    /**
+     * Read one value and turn it into a Java object:
+     * String, BigDecimal, Boolean, JsonTokenizer.NULL, or raw JSON text for objects and arrays
+     */
+    public Object readValue() {
+        char c = peek();
+        if (c == '"') {
+            readStringSpan();
+            return decodeSpan();
+        }
+        if (c == '{' || c == '[') {
+            int start = pos;
+            skipValue();
+            return slice(start);
+        }
+        int start = pos;
+        skipLiteral();
+        String text = in.subSequence(start, pos).toString();
+        switch (text) {
+            case "true":
+                return Boolean.TRUE;
+            case "false":
+                return Boolean.FALSE;
+            case "null":
+                return NULL;
+            default:
+                try {
+                    return new BigDecimal(text);
+                } catch (NumberFormatException e) {
+                    throw error("Invalid literal '" + text + "'");
+                }
+        }
+    }
+
+    /** Marker for an explicit JSON null (a missing value is a Java null) */
+    public static final Object NULL = new Object() {
+        @Override
+        public String toString() {
+            return "null";
+        }
+    };
+
+    private void skipLiteral() {
+        int start = pos;
+        while (pos < length) {
+            char c = in.charAt(pos);
+            if (c == ',' || c == '}' || c == ']' || c == ':' || Character.isWhitespace(c)) {
+                break;
+            }
+            pos++;
+        }
+        if (pos == start) {
+            throw error("Unexpected character '" + in.charAt(pos) + "'");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < length && Character.isWhitespace(in.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private String decodeSpan() {
+        if (!spanEscaped) {
+            return in.subSequence(spanStart, spanEnd).toString();
+        }
+        StringBuilder sb = new StringBuilder(spanEnd - spanStart);
+        for (int i = spanStart; i < spanEnd; i++) {
+            char c = in.charAt(i);
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            char e = in.charAt(++i);
+            switch (e) {
+                case 'n': sb.append('\n'); break;
+                case 't': sb.append('\t'); break;
+                case 'r': sb.append('\r'); break;
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'u':
+                    sb.append((char) Integer.parseInt(in.subSequence(i + 1, i + 5).toString(), 16));
+                    i += 4;
+                    break;
+                default: sb.append(e); break;
+            }
+        }
+        return sb.toString();
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at offset " + pos);
+    }
+}
@@ -0,0 +1,231 @@
+package runtime;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Log-bucketed latency histogram in the style of HdrHistogram.
+ * Values are microseconds, kept with two significant digits (about 1% error)
+ * from 1 us up to one hour, in a fixed array of about 3,300 counters.
+ *
+ * A histogram has a single writer and is not synchronized; concurrent recording
+ * goes through LatencyRecorder, which gives each thread its own histogram.
+ */
+public class LatencyHistogram {
+    public static final long HIGHEST_TRACKABLE_MICROS = 3_600_000_000L;
+
+    private static final int SUB_BUCKET_COUNT = 256;          // 2 significant digits
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int SUB_BUCKET_HALF_COUNT_MAGNITUDE = 7;
+    private static final long SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+    private static final int LEADING_ZERO_COUNT_BASE = 64 - SUB_BUCKET_HALF_COUNT_MAGNITUDE - 1;
+    private static final int BUCKET_COUNT = bucketsNeeded(HIGHEST_TRACKABLE_MICROS);
+    private static final int COUNTS_LENGTH = (BUCKET_COUNT + 1) * SUB_BUCKET_HALF_COUNT;
+
+    private static final String LOG_HEADER = "# testlang latency histogram v1 (unit=us)";
+
+    private final long[] counts = new long[COUNTS_LENGTH];
+    private long totalCount;
+    private long min = Long.MAX_VALUE;
+    private long max;
+    private long sum;
+
+    public void record(long micros) {
+        long value = Math.max(0, Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        counts[countsIndex(value)]++;
+        totalCount++;
+        sum += value;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    public void recordNanos(long nanos) {
+        record(nanos / 1000);
+    }
+
+    /**
+     * Add all counts of another histogram to this one
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < COUNTS_LENGTH; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0 : sum / (double) totalCount;
+    }
+
+    /**
+     * Value at the given percentile (0-100), reported as the highest value equivalent
+     * to the bucket it falls in so that percentiles never understate latency
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < COUNTS_LENGTH; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(valueFromIndex(i)), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * One-line summary in milliseconds: p50, p90, p99, p99.9 and max
+     */
+    public String summary() {
+        return String.format("p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms (n=%d)",
+            getValueAtPercentile(50) / 1000.0, getValueAtPercentile(90) / 1000.0,
+            getValueAtPercentile(99) / 1000.0, getValueAtPercentile(99.9) / 1000.0,
+            max / 1000.0, totalCount);
+    }
+
+    /**
+     * Write the non-empty buckets as "index count" lines; logs of the same
+     * test from several runs or processes can be merged with read() and add()
+     */
+    public void write(Path file, String name) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write(LOG_HEADER);
+            out.newLine();
+            out.write("# name=" + name + " count=" + totalCount + " min=" + getMin() +
+                      " max=" + max + " sum=" + sum);
+            out.newLine();
+            for (int i = 0; i < COUNTS_LENGTH; i++) {
+                if (counts[i] != 0) {
+                    out.write(i + " " + counts[i]);
+                    out.newLine();
+                }
+            }
+        }
+    }
+
+    public static LatencyHistogram read(Path file) throws IOException {
+        LatencyHistogram h = new LatencyHistogram();
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = in.readLine();
+            if (!LOG_HEADER.equals(line)) {
+                throw new IOException("Not a latency histogram log: " + file);
+            }
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith("# name=")) {
+                    for (String field : line.substring(2).split(" ")) {
+                        String[] kv = field.split("=", 2);
+                        switch (kv[0]) {
+                            case "count": h.totalCount = Long.parseLong(kv[1]); break;
+                            case "min": h.min = h.totalCount == 0 ? Long.MAX_VALUE : Long.parseLong(kv[1]); break;
+                            case "max": h.max = Long.parseLong(kv[1]); break;
+                            case "sum": h.sum = Long.parseLong(kv[1]); break;
+                            default: break;
+                        }
+                    }
+                } else if (!line.isEmpty() && !line.startsWith("#")) {
+                    String[] parts = line.split(" ");
+                    h.counts[Integer.parseInt(parts[0])] = Long.parseLong(parts[1]);
+                }
+            }
+        }
+        return h;
+    }
+
+    /**
+     * Binary form for sending a histogram between processes: the totals, then
+     * the non-empty buckets as index, count pairs
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(totalCount);
+        out.writeLong(min);
+        out.writeLong(max);
+        out.writeLong(sum);
+        int used = 0;
+        for (long count : counts) {
+            used += count != 0 ? 1 : 0;
+        }
+        out.writeInt(used);
+        for (int i = 0; i < COUNTS_LENGTH; i++) {
+            if (counts[i] != 0) {
+                out.writeInt(i);
+                out.writeLong(counts[i]);
+            }
+        }
+    }
+
+    static LatencyHistogram readFrom(DataInput in) throws IOException {
+        LatencyHistogram h = new LatencyHistogram();
+        h.totalCount = in.readLong();
+        h.min = in.readLong();
+        h.max = in.readLong();
+        h.sum = in.readLong();
+        int used = in.readInt();
+        for (int i = 0; i < used; i++) {
+            h.counts[in.readInt()] = in.readLong();
+        }
+        return h;
+    }
+
+    private static int countsIndex(long value) {
+        int bucketIndex = LEADING_ZERO_COUNT_BASE - Long.numberOfLeadingZeros(value | SUB_BUCKET_MASK);
+        int subBucketIndex = (int) (value >>> bucketIndex);
+        return ((bucketIndex + 1) << SUB_BUCKET_HALF_COUNT_MAGNITUDE) + (subBucketIndex - SUB_BUCKET_HALF_COUNT);
+    }
+
+    private static long valueFromIndex(int index) {
+        int bucketIndex = (index >> SUB_BUCKET_HALF_COUNT_MAGNITUDE) - 1;
+        int subBucketIndex = (index & (SUB_BUCKET_HALF_COUNT - 1)) + SUB_BUCKET_HALF_COUNT;
+        if (bucketIndex < 0) {
+            subBucketIndex -= SUB_BUCKET_HALF_COUNT;
+            bucketIndex = 0;
+        }
+        return ((long) subBucketIndex) << bucketIndex;
+    }
+
+    private static long highestEquivalentValue(long value) {
+        int bucketIndex = LEADING_ZERO_COUNT_BASE - Long.numberOfLeadingZeros(value | SUB_BUCKET_MASK);
+        int subBucketIndex = (int) (value >>> bucketIndex);
+        int adjustedBucket = subBucketIndex >= SUB_BUCKET_COUNT ? bucketIndex + 1 : bucketIndex;
+        long lowest = ((long) subBucketIndex) << bucketIndex;
+        return lowest + (1L << adjustedBucket) - 1;
+    }
+
+    private static int bucketsNeeded(long highestTrackable) {
+        long smallestUntrackable = (long) SUB_BUCKET_COUNT;
+        int buckets = 1;
+        while (smallestUntrackable <= highestTrackable) {
+            smallestUntrackable <<= 1;
+            buckets++;
+        }
+        return buckets;
+    }
+}
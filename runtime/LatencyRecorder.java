@@ -0,0 +1,31 @@
+package runtime;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Lock-free concurrent latency recording: every thread writes to its own
+ * LatencyHistogram, and the per-thread histograms are merged once recording is over.
+ * merged() must only be called after the recording threads have finished
+ * (for example after awaiting executor termination).
+ */
+public class LatencyRecorder {
+    private final Queue<LatencyHistogram> histograms = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<LatencyHistogram> local = ThreadLocal.withInitial(() -> {
+        LatencyHistogram h = new LatencyHistogram();
+        histograms.add(h);
+        return h;
+    });
+
+    public void recordNanos(long nanos) {
+        local.get().recordNanos(nanos);
+    }
+
+    public LatencyHistogram merged() {
+        LatencyHistogram result = new LatencyHistogram();
+        for (LatencyHistogram h : histograms) {
+            result.add(h);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,125 @@
+package runtime;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: arrivals follow a fixed schedule (linear ramp-up,
+ * then a constant rate) no matter how quickly earlier iterations complete.
+ * Iterations that cannot start on time because every worker is busy wait in a queue.
+ */
+public class LoadGenerator {
+    /**
+     * One unit of work, typically the generated body of a test
+     */
+    public interface Iteration {
+        void run() throws Exception;
+    }
+    
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+    
+    private final String name;
+    private final double targetRps;
+    private final long durationNanos;
+    private final int maxConcurrency;
+    private final long rampUpNanos;
+    
+    public LoadGenerator(String name, double targetRps, long durationMillis, int maxConcurrency, long rampUpMillis) {
+        if (targetRps <= 0) {
+            throw new IllegalArgumentException("Target rate must be positive");
+        }
+        this.name = name;
+        this.targetRps = targetRps;
+        this.durationNanos = TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        this.maxConcurrency = maxConcurrency;
+        this.rampUpNanos = TimeUnit.MILLISECONDS.toNanos(Math.min(rampUpMillis, durationMillis));
+    }
+    
+    /**
+     * The part of this load that one of several worker processes generates:
+     * the same schedule at 1/workers of the rate and the concurrency
+     */
+    public LoadGenerator share(int workers) {
+        return new LoadGenerator(name, targetRps / workers, TimeUnit.NANOSECONDS.toMillis(durationNanos),
+            (maxConcurrency + workers - 1) / workers, TimeUnit.NANOSECONDS.toMillis(rampUpNanos));
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public double getTargetRps() {
+        return targetRps;
+    }
+    
+    /**
+     * Run the schedule to completion and wait for in-flight iterations to drain
+     */
+    public LoadReport run(Iteration iteration) throws InterruptedException {
+        LoadReport report = new LoadReport(name, targetRps);
+        ExecutorService workers = Executors.newFixedThreadPool(maxConcurrency,
+            Threads.daemonFactory("load-" + name));
+        
+        long start = System.nanoTime();
+        try {
+            for (long k = 0; ; k++) {
+                long offset = intendedOffset(k);
+                if (offset >= durationNanos) {
+                    break;
+                }
+                long intended = start + offset;
+                long wait = intended - System.nanoTime();
+                while (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                    wait = intended - System.nanoTime();
+                }
+                report.scheduled();
+                workers.execute(() -> execute(iteration, report, intended));
+            }
+        } finally {
+            workers.shutdown();
+            workers.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            workers.shutdownNow();
+        }
+        report.finish(System.nanoTime() - start);
+        return report;
+    }
+    
+    /**
+     * Response time is measured from the intended start, not from the moment a worker
+     * picked the iteration up, so time spent queued behind slow responses is not hidden
+     */
+    private static void execute(Iteration iteration, LoadReport report, long intended) {
+        long begin = System.nanoTime();
+        try {
+            iteration.run();
+            long end = System.nanoTime();
+            report.success(end - intended, end - begin);
+        } catch (Throwable t) {
+            // Failed assertions count as errors just like transport failures
+            long end = System.nanoTime();
+            report.error(end - intended, end - begin, t);
+        }
+    }
+    
+    /**
+     * Offset of the k-th arrival from the start of the run.
+     * During ramp-up the rate grows linearly from 0, so arrivals satisfy k = rps * t^2 / (2 * rampUp).
+     */
+    long intendedOffset(long k) {
+        double rampSeconds = rampUpNanos / 1e9;
+        double rampArrivals = targetRps * rampSeconds / 2;
+        double seconds;
+        if (k < rampArrivals) {
+            seconds = Math.sqrt(2 * k * rampSeconds / targetRps);
+        } else {
+            seconds = rampSeconds + (k - rampArrivals) / targetRps;
+        }
+        return (long) (seconds * 1e9);
+    }
+}
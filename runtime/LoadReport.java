@@ -0,0 +1,172 @@
+package runtime;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms collected by a load run.
+ * Response time runs from the intended start of each iteration (corrected for
+ * coordinated omission); service time runs from the moment it actually started.
+ */
+public class LoadReport {
+    private final String name;
+    private final double targetRps;
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LatencyRecorder responseTimes = new LatencyRecorder();
+    private final LatencyRecorder serviceTimes = new LatencyRecorder();
+    private final AtomicReference<Throwable> firstError = new AtomicReference<>();
+    private long elapsedNanos;
+    private LatencyHistogram responseHistogram;
+    private LatencyHistogram serviceHistogram;
+    
+    public LoadReport(String name, double targetRps) {
+        this.name = name;
+        this.targetRps = targetRps;
+    }
+    
+    void scheduled() {
+        scheduled.increment();
+    }
+    
+    void success(long responseNanos, long serviceNanos) {
+        successes.increment();
+        record(responseNanos, serviceNanos);
+    }
+    
+    void error(long responseNanos, long serviceNanos, Throwable t) {
+        errors.increment();
+        firstError.compareAndSet(null, t);
+        record(responseNanos, serviceNanos);
+    }
+    
+    /**
+     * Called once all workers have terminated: merge the per-thread histograms
+     */
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+        this.responseHistogram = responseTimes.merged();
+        this.serviceHistogram = serviceTimes.merged();
+    }
+    
+    private void record(long responseNanos, long serviceNanos) {
+        responseTimes.recordNanos(responseNanos);
+        serviceTimes.recordNanos(serviceNanos);
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public long getScheduled() {
+        return scheduled.sum();
+    }
+    
+    public long getCompleted() {
+        return successes.sum() + errors.sum();
+    }
+    
+    public long getErrors() {
+        return errors.sum();
+    }
+    
+    public Throwable getFirstError() {
+        return firstError.get();
+    }
+    
+    public double getAchievedRps() {
+        return elapsedNanos > 0 ? getCompleted() / (elapsedNanos / 1e9) : 0;
+    }
+    
+    public LatencyHistogram getResponseTimes() {
+        return responseHistogram;
+    }
+    
+    public LatencyHistogram getServiceTimes() {
+        return serviceHistogram;
+    }
+    
+    /**
+     * Write the response-time histogram to build/reports/histograms/<name>.hlog
+     */
+    public Path writeHistogramLog() throws IOException {
+        Path file = Reports.histogramLog(name);
+        responseHistogram.write(file, name);
+        return file;
+    }
+    
+    /**
+     * Binary form of a finished report, sent by runtime.Worker
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeDouble(targetRps);
+        out.writeLong(scheduled.sum());
+        out.writeLong(successes.sum());
+        out.writeLong(errors.sum());
+        out.writeLong(elapsedNanos);
+        Throwable error = firstError.get();
+        out.writeUTF(error == null ? "" : Worker.describe(error));
+        responseHistogram.writeTo(out);
+        serviceHistogram.writeTo(out);
+    }
+    
+    static LoadReport readFrom(DataInput in) throws IOException {
+        LoadReport report = new LoadReport(in.readUTF(), in.readDouble());
+        report.scheduled.add(in.readLong());
+        report.successes.add(in.readLong());
+        report.errors.add(in.readLong());
+        report.elapsedNanos = in.readLong();
+        String error = in.readUTF();
+        if (!error.isEmpty()) {
+            report.firstError.set(new Worker.RemoteFailure(error));
+        }
+        report.responseHistogram = LatencyHistogram.readFrom(in);
+        report.serviceHistogram = LatencyHistogram.readFrom(in);
+        return report;
+    }
+    
+    /**
+     * One report for a load run split over several processes: counters and
+     * histograms add up, the run took as long as its slowest part
+     */
+    static LoadReport combine(String name, double targetRps, List<LoadReport> parts) {
+        LoadReport report = new LoadReport(name, targetRps);
+        report.responseHistogram = new LatencyHistogram();
+        report.serviceHistogram = new LatencyHistogram();
+        for (LoadReport part : parts) {
+            report.scheduled.add(part.getScheduled());
+            report.successes.add(part.successes.sum());
+            report.errors.add(part.getErrors());
+            report.elapsedNanos = Math.max(report.elapsedNanos, part.elapsedNanos);
+            if (part.getFirstError() != null) {
+                report.firstError.compareAndSet(null, part.getFirstError());
+            }
+            report.responseHistogram.add(part.responseHistogram);
+            report.serviceHistogram.add(part.serviceHistogram);
+        }
+        return report;
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Load %s: target %.1f rps, achieved %.1f rps over %.1f s%n",
+            name, targetRps, getAchievedRps(), elapsedNanos / 1e9));
+        sb.append(String.format("  scheduled %d, completed %d, errors %d%n",
+            getScheduled(), getCompleted(), getErrors()));
+        sb.append(String.format("  response time: %s%n", responseHistogram.summary()));
+        sb.append(String.format("  service time:  %s", serviceHistogram.summary()));
+        Throwable error = getFirstError();
+        if (error != null) {
+            sb.append(String.format("%n  first error: %s", error));
+        }
+        return sb.toString();
+    }
+}
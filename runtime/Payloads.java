@@ -0,0 +1,222 @@
+package runtime;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Request bodies streamed from files (body = file "..."). A file is scanned once
+ * for $name placeholders; when none of them names a variable in scope it is sent
+ * with BodyPublishers.ofFile, otherwise it is streamed through a substituting
+ * stream. Either way the file is read in small buffers and never held in memory.
+ *
+ * Placeholders that name no variable are sent unchanged, so JSON such as
+ * "$schema" is safe. Relative paths resolve like data files (-Dtestlang.data).
+ */
+public final class Payloads {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Map<Path, Scan> SCANS = new ConcurrentHashMap<>();
+
+    private Payloads() {
+    }
+
+    /**
+     * Body publisher for a file; variables are name, value pairs, looked up
+     * before the columns of row (which may be null)
+     */
+    public static HttpRequest.BodyPublisher file(String file, Row row, String... variables) throws IOException {
+        Path path = Rows.resolve(file);
+        Map<String, String> values = new HashMap<>();
+        for (String name : placeholders(path)) {
+            String value = lookup(name, row, variables);
+            if (value != null) {
+                values.put(name, value);
+            }
+        }
+        if (values.isEmpty()) {
+            return HttpRequest.BodyPublishers.ofFile(path);
+        }
+        return HttpRequest.BodyPublishers.ofInputStream(() -> {
+            try {
+                return new SubstitutingStream(Files.newInputStream(path), values);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static String lookup(String name, Row row, String[] variables) {
+        for (int i = 0; i < variables.length; i += 2) {
+            if (variables[i].equals(name)) {
+                return variables[i + 1];
+            }
+        }
+        return row != null ? row.find(name) : null;
+    }
+
+    /**
+     * Names of all placeholders in the file, cached until the file changes
+     */
+    static Set<String> placeholders(Path path) throws IOException {
+        long modified = Files.getLastModifiedTime(path).toMillis();
+        Scan scan = SCANS.get(path);
+        if (scan == null || scan.modified != modified) {
+            scan = new Scan(modified, scan(path));
+            SCANS.put(path, scan);
+        }
+        return scan.names;
+    }
+
+    private static Set<String> scan(Path path) throws IOException {
+        Set<String> names = new HashSet<>();
+        StringBuilder name = null;
+        try (InputStream in = Files.newInputStream(path)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int count;
+            while ((count = in.read(buffer)) > 0) {
+                for (int i = 0; i < count; i++) {
+                    byte c = buffer[i];
+                    if (name != null) {
+                        if (name.length() == 0 ? isNameStart(c) : isNamePart(c)) {
+                            name.append((char) c);
+                            continue;
+                        }
+                        if (name.length() > 0) {
+                            names.add(name.toString());
+                        }
+                        name = null;
+                    }
+                    if (c == '$') {
+                        name = new StringBuilder();
+                    }
+                }
+            }
+        }
+        if (name != null && name.length() > 0) {
+            names.add(name.toString());
+        }
+        return Collections.unmodifiableSet(names);
+    }
+
+    // Placeholders are ASCII, and UTF-8 never uses ASCII bytes inside a multi-byte
+    // character, so files are scanned and substituted as bytes without decoding
+    private static boolean isNameStart(byte c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || c == '_';
+    }
+
+    private static boolean isNamePart(byte c) {
+        return isNameStart(c) || (c >= '0' && c <= '9');
+    }
+
+    private static final class Scan {
+        final long modified;
+        final Set<String> names;
+
+        Scan(long modified, Set<String> names) {
+            this.modified = modified;
+            this.names = names;
+        }
+    }
+
+    /**
+     * Copies the file in bulk between '$' signs and writes the UTF-8 value
+     * in place of every placeholder that has one
+     */
+    private static final class SubstitutingStream extends InputStream {
+        private final InputStream in;
+        private final Map<String, String> values;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int pos;
+        private int limit;
+        private StringBuilder name;            // placeholder being read after a '$'
+        private byte[] pending = new byte[0];  // replacement still to be copied out
+        private int pendingPos;
+
+        SubstitutingStream(InputStream in, Map<String, String> values) {
+            this.in = in;
+            this.values = values;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            int n = 0;
+            while (n < len) {
+                if (pendingPos < pending.length) {
+                    int count = Math.min(len - n, pending.length - pendingPos);
+                    System.arraycopy(pending, pendingPos, b, off + n, count);
+                    pendingPos += count;
+                    n += count;
+                    continue;
+                }
+                if (pos == limit && !fill()) {
+                    if (name != null) {
+                        flushName();
+                        continue;
+                    }
+                    break;
+                }
+                if (name != null) {
+                    byte c = buffer[pos];
+                    if (name.length() == 0 ? isNameStart(c) : isNamePart(c)) {
+                        name.append((char) c);
+                        pos++;
+                    } else {
+                        flushName();
+                    }
+                    continue;
+                }
+                int start = pos;
+                int end = Math.min(limit, pos + (len - n));
+                while (pos < end && buffer[pos] != '$') {
+                    pos++;
+                }
+                System.arraycopy(buffer, start, b, off + n, pos - start);
+                n += pos - start;
+                if (pos < end) {
+                    pos++;
+                    name = new StringBuilder();
+                }
+            }
+            return n == 0 ? -1 : n;
+        }
+
+        private boolean fill() throws IOException {
+            int count = in.read(buffer, 0, buffer.length);
+            pos = 0;
+            limit = Math.max(count, 0);
+            return count > 0;
+        }
+
+        private void flushName() {
+            String value = name.length() > 0 ? values.get(name.toString()) : null;
+            String text = value != null ? value : "$" + name;
+            pending = text.getBytes(StandardCharsets.UTF_8);
+            pendingPos = 0;
+            name = null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package runtime;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Location of report files written by the runtime
+ * Set -Dtestlang.reports=dir to override the default build/reports
+ */
+public class Reports {
+    public static Path directory() {
+        return Paths.get(System.getProperty("testlang.reports", "build/reports"));
+    }
+
+    public static Path histogramLog(String name) {
+        return directory().resolve("histograms").resolve(name + ".hlog");
+    }
+}
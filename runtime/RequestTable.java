@@ -0,0 +1,221 @@
+package runtime;
+
+import java.net.http.HttpRequest;
+
+/**
+ * Tests packed into a single string by the table-driven code generator.
+ * The generated class holds only this table and one @TestFactory; every
+ * test is interpreted here, so generated code size no longer grows with
+ * the number of tests.
+ *
+ * Encoding: every field is written as length ':' text, so no escaping is needed.
+ * A record is one test, itself prefixed with its length so the table can be
+ * indexed without decoding; records are decoded on first use and cached.
+ *
+ *   test      = name, requests, request*, assertions, assertion*
+ *   request   = method, path, headers, (key, value)*, hasBody (0/1), body
+ *   assertion = type, first, second
+ */
+public final class RequestTable {
+    private final String data;
+    private final int[] offsets;
+    private final Entry[] entries;
+
+    public RequestTable(String... chunks) {
+        this.data = String.join("", chunks);
+        int count = 0;
+        for (int pos = 0; pos < data.length(); count++) {
+            int colon = data.indexOf(':', pos);
+            pos = colon + 1 + Integer.parseInt(data.substring(pos, colon));
+        }
+        this.offsets = new int[count];
+        this.entries = new Entry[count];
+        int pos = 0;
+        for (int i = 0; i < count; i++) {
+            int colon = data.indexOf(':', pos);
+            offsets[i] = colon + 1;
+            pos = colon + 1 + Integer.parseInt(data.substring(pos, colon));
+        }
+    }
+
+    public int size() {
+        return offsets.length;
+    }
+
+    public String name(int test) {
+        return entry(test).name;
+    }
+
+    /**
+     * Run one test: send its requests in order and check the assertions
+     * against the response to the last one
+     */
+    public void run(int test, Suite suite) throws Exception {
+        Entry entry = entry(test);
+        Exchange exchange = null;
+        Request[] requests = entry.requests;
+        for (int i = 0; i < requests.length; i++) {
+            // Only the last response is checked, and its body only if a check reads it
+            long keep = i == requests.length - 1 && entry.readsBody ? Suite.FULL : Suite.DISCARD;
+            exchange = suite.send(requests[i].builder(suite), keep);
+        }
+        // The checks run in order; the body is parsed at the first json check, so a wrong status fails first
+        Object[] json = null;
+        for (Check check : entry.checks) {
+            if (json == null && check.slot >= 0) {
+                json = exchange.json(entry.extractor);
+            }
+            check.verify(exchange, json);
+        }
+    }
+
+    private Entry entry(int test) {
+        Entry entry = entries[test];
+        if (entry == null) {
+            // Benign race: two threads may decode the same record, both results are equal
+            entry = new Entry(new Decoder(data, offsets[test]));
+            entries[test] = entry;
+        }
+        return entry;
+    }
+
+    private static final class Decoder {
+        private final String data;
+        private int pos;
+
+        Decoder(String data, int pos) {
+            this.data = data;
+            this.pos = pos;
+        }
+
+        String next() {
+            int colon = data.indexOf(':', pos);
+            int end = colon + 1 + Integer.parseInt(data.substring(pos, colon));
+            String field = data.substring(colon + 1, end);
+            pos = end;
+            return field;
+        }
+
+        int nextInt() {
+            return Integer.parseInt(next());
+        }
+    }
+
+    private static final class Entry {
+        final String name;
+        final Request[] requests;
+        final Check[] checks;
+        final JsonPathExtractor extractor;
+        final boolean readsBody;
+
+        Entry(Decoder in) {
+            name = in.next();
+            requests = new Request[in.nextInt()];
+            for (int i = 0; i < requests.length; i++) {
+                requests[i] = new Request(in);
+            }
+            checks = new Check[in.nextInt()];
+            int jsonCount = 0;
+            boolean body = false;
+            String[] jsonPaths = new String[checks.length];
+            for (int i = 0; i < checks.length; i++) {
+                checks[i] = new Check(in.next(), in.next(), in.next());
+                body |= checks[i].type.equals("BODY_CONTAINS") || checks[i].type.equals("JSON_EQUALS") ||
+                        checks[i].type.equals("UNCOMPRESSED_SIZE_BELOW");
+                if (checks[i].type.equals("JSON_EQUALS")) {
+                    checks[i].slot = jsonCount;
+                    jsonPaths[jsonCount++] = checks[i].first;
+                }
+            }
+            String[] used = new String[jsonCount];
+            System.arraycopy(jsonPaths, 0, used, 0, jsonCount);
+            extractor = jsonCount > 0 ? new JsonPathExtractor(used) : null;
+            readsBody = body;
+        }
+    }
+
+    private static final class Request {
+        final String method;
+        final String path;
+        final String[] headers;  // key, value, key, value, ...
+        final String body;       // null without body
+
+        Request(Decoder in) {
+            method = in.next();
+            path = in.next();
+            headers = new String[in.nextInt() * 2];
+            for (int i = 0; i < headers.length; i++) {
+                headers[i] = in.next();
+            }
+            boolean hasBody = in.nextInt() == 1;
+            String text = in.next();
+            body = hasBody ? text : null;
+        }
+
+        HttpRequest.Builder builder(Suite suite) {
+            HttpRequest.Builder b;
+            switch (method) {
+                case "GET":
+                    b = suite.get(path);
+                    break;
+                case "DELETE":
+                    b = suite.delete(path);
+                    break;
+                case "PUT":
+                    b = suite.put(path, body);
+                    break;
+                default:
+                    b = suite.post(path, body);
+                    break;
+            }
+            for (int i = 0; i < headers.length; i += 2) {
+                b.header(headers[i], headers[i + 1]);
+            }
+            return b;
+        }
+    }
+
+    private static final class Check {
+        final String type;
+        final String first;
+        final String second;
+        int slot = -1;  // of its json path, for JSON_EQUALS
+
+        Check(String type, String first, String second) {
+            this.type = type;
+            this.first = first;
+            this.second = second;
+        }
+
+        void verify(Exchange exchange, Object[] json) {
+            switch (type) {
+                case "STATUS":
+                    exchange.expectStatus(Integer.parseInt(first));
+                    break;
+                case "HEADER_EQUALS":
+                    exchange.expectHeader(first, second);
+                    break;
+                case "HEADER_CONTAINS":
+                    exchange.expectHeaderContains(first, second);
+                    break;
+                case "BODY_CONTAINS":
+                    exchange.expectBodyContains(first);
+                    break;
+                case "JSON_EQUALS":
+                    exchange.expectJson(json[slot], first, second);
+                    break;
+                case "LATENCY_BELOW":
+                    exchange.expectLatencyBelow(Long.parseLong(first));
+                    break;
+                case "SIZE_BELOW":
+                    exchange.expectSizeBelow(Long.parseLong(first));
+                    break;
+                case "UNCOMPRESSED_SIZE_BELOW":
+                    exchange.expectUncompressedSizeBelow(Long.parseLong(first));
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown assertion type " + type);
+            }
+        }
+    }
+}
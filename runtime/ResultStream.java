@@ -0,0 +1,431 @@
+package runtime;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming test reports (-Dtestlang.report=jsonl,junit). Results are written
+ * while the run goes on instead of being collected until the end, so the files
+ * can be tailed:
+ *   results.jsonl  one JSON object per request and per finished test
+ *   TEST-testlang.xml  JUnit XML, one testcase element per finished test
+ * both in the reports directory. Only requests sent by a test thread are
+ * listed; the iterations of a load block are summed up in its LoadReport.
+ *
+ * A JUnit testcase is only written once its test finishes, so until then its
+ * requests are held as counters plus at most SYSTEM_OUT_LINES lines for its
+ * system-out. Memory grows with the number of tests running at once, not
+ * with the number of requests they send; every request is in results.jsonl.
+ *
+ * Test threads only hand events to a bounded queue; a single writer thread
+ * formats them and appends whole lines to the files, so a reader never sees
+ * half a line. A full queue makes the tests wait rather than drop results.
+ * The XML root element is closed at JVM exit.
+ */
+public final class ResultStream implements ExchangeListener {
+    public enum Outcome { PASSED, FAILED, SKIPPED }
+
+    private static final int QUEUE_SIZE = 8192;
+    private static final int BATCH = 1024;
+    private static final int SYSTEM_OUT_LINES = 100;
+    private static final Object END = new Object();
+
+    private static final List<String> FORMATS =
+        Arrays.asList(System.getProperty("testlang.report", "").toLowerCase(Locale.ROOT).split("\\s*,\\s*"));
+    private static final boolean JSONL = FORMATS.contains("jsonl");
+    private static final boolean JUNIT = FORMATS.contains("junit");
+    private static final ThreadLocal<Running> CURRENT = new ThreadLocal<>();
+    private static final ResultStream INSTANCE = JSONL || JUNIT ? new ResultStream() : null;
+
+    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+    private final FileChannel jsonl;
+    private final FileChannel junit;
+    private final Thread writer;
+    // Written by the writer thread only: what the XML testcase of a running test will list
+    private final Map<Running, Pending> pending = new HashMap<>();
+    private int tests;
+    private int failures;
+    private int skipped;
+
+    private ResultStream() {
+        jsonl = JSONL ? open("results.jsonl") : null;
+        junit = JUNIT ? open("TEST-testlang.xml") : null;
+        if (junit != null) {
+            write(junit, "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<testsuite name=\"testlang\" timestamp=\"" +
+                         Instant.now() + "\">\n");
+        }
+        writer = new Thread(this::drain, "testlang-results");
+        writer.setDaemon(true);
+        writer.start();
+        Http.addListener(this);
+        // The JUnit launcher closes its class loader before shutdown hooks run,
+        // so the classes the writer needs are loaded now
+        new Pending();
+        new Finished(null, 0, Outcome.PASSED, null);
+        new Request(null, null, null, 0, 0, 0, 0, 0, null);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "testlang-results-close"));
+    }
+
+    public static boolean isEnabled() {
+        return INSTANCE != null;
+    }
+
+    /**
+     * A test starts on the calling thread; the requests it sends are listed under it.
+     * Returns null when no report is enabled.
+     */
+    static Running begin(String test) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Running running = new Running(test);
+        CURRENT.set(running);
+        return running;
+    }
+
+    static void end(Running running, long nanos, Outcome outcome, Throwable failure) {
+        if (running == null) {
+            return;
+        }
+        CURRENT.remove();
+        INSTANCE.enqueue(new Finished(running, nanos, outcome, failure == null ? null : String.valueOf(failure)));
+    }
+
+    /**
+     * A test that ran elsewhere, such as on a runtime.Worker
+     */
+    static void result(String test, long nanos, boolean passed, String message) {
+        if (isEnabled()) {
+            INSTANCE.enqueue(new Finished(new Running(test), nanos, passed ? Outcome.PASSED : Outcome.FAILED,
+                                          passed ? null : message));
+        }
+    }
+
+    @Override
+    public void onResponse(HttpRequest request, Exchange exchange) {
+        Running running = CURRENT.get();
+        if (running != null) {
+            TimedBodyHandler<String> timing = exchange.timing();
+            enqueue(new Request(running, request.method(), request.uri().toString(), exchange.status(),
+                                timing.timeToHeadersMillis(), timing.totalMillis(), sentBytes(request),
+                                timing.bytes(), null));
+        }
+    }
+
+    @Override
+    public void onFailure(HttpRequest request, Throwable error) {
+        Running running = CURRENT.get();
+        if (running != null) {
+            enqueue(new Request(running, request.method(), request.uri().toString(), 0, 0, 0,
+                                sentBytes(request), 0, String.valueOf(error)));
+        }
+    }
+
+    private static long sentBytes(HttpRequest request) {
+        return request.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength).orElse(0L);
+    }
+
+    private void enqueue(Object event) {
+        // A fail-fast interrupt must not lose the result; it is kept for the test to see
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(event);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        List<Object> batch = new ArrayList<>(BATCH);
+        StringBuilder lines = new StringBuilder();
+        StringBuilder cases = new StringBuilder();
+        boolean open = true;
+        while (open) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, BATCH - 1);
+            for (Object event : batch) {
+                if (event == END) {
+                    open = false;
+                } else if (event instanceof Request) {
+                    request((Request) event, lines);
+                } else {
+                    finished((Finished) event, lines, cases);
+                }
+            }
+            batch.clear();
+            if (jsonl != null && lines.length() > 0) {
+                write(jsonl, lines);
+            }
+            if (junit != null && cases.length() > 0) {
+                write(junit, cases);
+            }
+            lines.setLength(0);
+            cases.setLength(0);
+        }
+    }
+
+    private void request(Request r, StringBuilder lines) {
+        if (jsonl != null) {
+            lines.append("{\"type\":\"request\",\"test\":");
+            json(lines, r.running.test);
+            lines.append(",\"method\":");
+            json(lines, r.method);
+            lines.append(",\"uri\":");
+            json(lines, r.uri);
+            if (r.error != null) {
+                lines.append(",\"error\":");
+                json(lines, r.error);
+            } else {
+                lines.append(",\"status\":").append(r.status)
+                     .append(",\"ttfbMs\":").append(millis(r.ttfbMillis))
+                     .append(",\"totalMs\":").append(millis(r.totalMillis));
+            }
+            if (r.sent >= 0) {
+                lines.append(",\"sentBytes\":").append(r.sent);
+            }
+            lines.append(",\"receivedBytes\":").append(r.received).append("}\n");
+        }
+        if (junit != null) {
+            Pending p = pending.computeIfAbsent(r.running, k -> new Pending());
+            p.requests++;
+            p.sent += Math.max(r.sent, 0);
+            p.received += r.received;
+            if (r.error != null) {
+                p.failed++;
+            }
+            if (p.requests > SYSTEM_OUT_LINES) {
+                return;
+            }
+            p.out.append(r.method).append(' ').append(r.uri);
+            if (r.error != null) {
+                p.out.append(" failed: ").append(r.error);
+            } else {
+                p.out.append(" -> ").append(r.status).append(" in ").append(millis(r.totalMillis))
+                     .append(" ms (headers ").append(millis(r.ttfbMillis)).append(" ms), ")
+                     .append(r.received).append(" bytes");
+            }
+            p.out.append('\n');
+        }
+    }
+
+    private void finished(Finished f, StringBuilder lines, StringBuilder cases) {
+        tests++;
+        if (f.outcome == Outcome.FAILED) {
+            failures++;
+        } else if (f.outcome == Outcome.SKIPPED) {
+            skipped++;
+        }
+        Pending p = pending.remove(f.running);
+        if (jsonl != null) {
+            lines.append("{\"type\":\"test\",\"test\":");
+            json(lines, f.running.test);
+            lines.append(",\"outcome\":\"").append(f.outcome.name().toLowerCase(Locale.ROOT))
+                 .append("\",\"durationMs\":").append(millis(f.nanos / 1e6));
+            if (f.message != null) {
+                lines.append(",\"message\":");
+                json(lines, f.message);
+            }
+            lines.append("}\n");
+        }
+        if (junit != null) {
+            String test = f.running.test;
+            int dot = test.lastIndexOf('.');
+            cases.append("  <testcase classname=\"");
+            xml(cases, dot < 0 ? "" : test.substring(0, dot));
+            cases.append("\" name=\"");
+            xml(cases, test.substring(dot + 1));
+            cases.append("\" time=\"").append(String.format(Locale.ROOT, "%.3f", f.nanos / 1e9)).append("\">\n");
+            if (f.outcome == Outcome.FAILED) {
+                cases.append("    <failure message=\"");
+                xml(cases, f.message);
+                cases.append("\"/>\n");
+            } else if (f.outcome == Outcome.SKIPPED) {
+                cases.append("    <skipped/>\n");
+            }
+            if (p != null) {
+                cases.append("    <properties>\n")
+                     .append("      <property name=\"requests\" value=\"").append(p.requests).append("\"/>\n")
+                     .append("      <property name=\"failedRequests\" value=\"").append(p.failed).append("\"/>\n")
+                     .append("      <property name=\"sentBytes\" value=\"").append(p.sent).append("\"/>\n")
+                     .append("      <property name=\"receivedBytes\" value=\"").append(p.received).append("\"/>\n")
+                     .append("    </properties>\n")
+                     .append("    <system-out>");
+                xml(cases, p.out.toString());
+                if (p.requests > SYSTEM_OUT_LINES) {
+                    cases.append("... ").append(p.requests - SYSTEM_OUT_LINES).append(" more requests not listed")
+                         .append(jsonl != null ? ", see results.jsonl\n" : "\n");
+                }
+                cases.append("</system-out>\n");
+            }
+            cases.append("  </testcase>\n");
+        }
+    }
+
+    private void close() {
+        enqueue(END);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (junit != null) {
+            write(junit, "  <!-- " + tests + " tests, " + failures + " failures, " + skipped + " skipped -->\n" +
+                         "</testsuite>\n");
+        }
+        for (FileChannel channel : new FileChannel[] {jsonl, junit}) {
+            try {
+                if (channel != null) {
+                    channel.close();
+                }
+            } catch (IOException e) {
+                // Nothing left to write
+            }
+        }
+    }
+
+    private static FileChannel open(String name) {
+        Path file = Reports.directory().resolve(name);
+        try {
+            Files.createDirectories(Reports.directory());
+            return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                    StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            System.err.println("Could not open " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void write(FileChannel channel, CharSequence text) {
+        if (channel == null) {
+            return;
+        }
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(text.toString());
+        try {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not write test results: " + e.getMessage());
+        }
+    }
+
+    private static String millis(double millis) {
+        return String.format(Locale.ROOT, "%.3f", millis);
+    }
+
+    private static void json(StringBuilder out, String text) {
+        out.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c == '\n') {
+                out.append("\\n");
+            } else if (c < 0x20) {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+        out.append('"');
+    }
+
+    private static void xml(StringBuilder out, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<': out.append("&lt;"); break;
+                case '>': out.append("&gt;"); break;
+                case '&': out.append("&amp;"); break;
+                case '"': out.append("&quot;"); break;
+                default:
+                    // Control characters are not allowed in XML 1.0
+                    out.append(c < 0x20 && c != '\n' && c != '\t' && c != '\r' ? '?' : c);
+            }
+        }
+    }
+
+    /**
+     * A test running on some thread; identity is what ties its requests to it
+     */
+    static final class Running {
+        final String test;
+
+        Running(String test) {
+            this.test = test;
+        }
+    }
+
+    private static final class Request {
+        final Running running;
+        final String method;
+        final String uri;
+        final int status;
+        final double ttfbMillis;
+        final double totalMillis;
+        final long sent;       // -1 when the body length is not known up front
+        final long received;
+        final String error;
+
+        Request(Running running, String method, String uri, int status, double ttfbMillis, double totalMillis,
+                long sent, long received, String error) {
+            this.running = running;
+            this.method = method;
+            this.uri = uri;
+            this.status = status;
+            this.ttfbMillis = ttfbMillis;
+            this.totalMillis = totalMillis;
+            this.sent = sent;
+            this.received = received;
+            this.error = error;
+        }
+    }
+
+    private static final class Finished {
+        final Running running;
+        final long nanos;
+        final Outcome outcome;
+        final String message;
+
+        Finished(Running running, long nanos, Outcome outcome, String message) {
+            this.running = running;
+            this.nanos = nanos;
+            this.outcome = outcome;
+            this.message = message;
+        }
+    }
+
+    private static final class Pending {
+        long requests;
+        long failed;
+        long sent;
+        long received;
+        final StringBuilder out = new StringBuilder();  // the first SYSTEM_OUT_LINES requests
+    }
+}
@@ -0,0 +1,53 @@
+package runtime;
+
+/**
+ * One record of a data file. CSV rows share the header array, so a row
+ * costs only its values; lookups scan the few column names linearly.
+ */
+public final class Row {
+    private final long number;
+    private final String[] names;
+    private final String[] values;
+
+    public Row(long number, String[] names, String[] values) {
+        this.number = number;
+        this.names = names;
+        this.values = values;
+    }
+
+    /**
+     * 1-based position of the row in its file, not counting the CSV header
+     */
+    public long getNumber() {
+        return number;
+    }
+
+    public String get(String name) {
+        String value = find(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Row " + number + " has no column '" + name + "'");
+        }
+        return value;
+    }
+
+    /**
+     * Value of a column, or null if the row has no such column
+     */
+    String find(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return values[i];
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder().append('[').append(number).append(']');
+        for (int i = 0; i < names.length; i++) {
+            sb.append(i == 0 ? " " : ", ").append(names[i]).append('=').append(values[i]);
+        }
+        return sb.toString();
+    }
+}
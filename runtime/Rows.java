@@ -0,0 +1,193 @@
+package runtime;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams the rows of a CSV or JSON Lines file one at a time, so data files
+ * of any size can drive a test without being loaded into memory.
+ *
+ * CSV files start with a header line; fields follow RFC 4180 (quoted fields may
+ * contain commas, doubled quotes and line breaks). Files ending in .jsonl or
+ * .ndjson hold one JSON object per line; its top-level members become columns.
+ * Relative paths resolve against -Dtestlang.data, or the working directory.
+ */
+public final class Rows {
+
+    private Rows() {
+    }
+
+    /**
+     * Open a lazy stream of rows; closing the stream closes the file
+     */
+    public static Stream<Row> open(String file) throws IOException {
+        Path path = resolve(file);
+        BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+        String name = path.getFileName().toString().toLowerCase();
+        Spliterator<Row> rows;
+        try {
+            rows = name.endsWith(".jsonl") || name.endsWith(".ndjson")
+                ? new JsonLines(in, path) : new Csv(in, path);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+        return StreamSupport.stream(rows, false).onClose(() -> {
+            try {
+                in.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    static Path resolve(String file) {
+        Path path = Paths.get(file);
+        String base = System.getProperty("testlang.data");
+        return path.isAbsolute() || base == null ? path : Paths.get(base).resolve(path);
+    }
+
+    private abstract static class Reader extends Spliterators.AbstractSpliterator<Row> {
+        final BufferedReader in;
+        final Path path;
+        long number;
+
+        Reader(BufferedReader in, Path path) {
+            super(Long.MAX_VALUE, ORDERED | NONNULL);
+            this.in = in;
+            this.path = path;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Row> action) {
+            try {
+                String line;
+                do {
+                    line = in.readLine();
+                    if (line == null) {
+                        return false;
+                    }
+                } while (line.trim().isEmpty());
+                action.accept(parse(line));
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        abstract Row parse(String line) throws IOException;
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(path + ", row " + number + ": " + message);
+        }
+    }
+
+    private static final class Csv extends Reader {
+        private final String[] header;
+
+        Csv(BufferedReader in, Path path) throws IOException {
+            super(in, path);
+            String line = in.readLine();
+            if (line == null) {
+                throw new IllegalArgumentException(path + ": missing CSV header");
+            }
+            header = fields(line);
+        }
+
+        @Override
+        Row parse(String line) throws IOException {
+            number++;
+            String[] values = fields(line);
+            if (values.length != header.length) {
+                throw error("expected " + header.length + " fields but found " + values.length);
+            }
+            return new Row(number, header, values);
+        }
+
+        private String[] fields(String line) throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == line.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    // A quoted field continues on the next line
+                    line = in.readLine();
+                    if (line == null) {
+                        throw error("unterminated quoted field");
+                    }
+                    field.append('\n');
+                    i = 0;
+                    continue;
+                }
+                char c = line.charAt(i++);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields.toArray(new String[0]);
+        }
+    }
+
+    private static final class JsonLines extends Reader {
+        JsonLines(BufferedReader in, Path path) {
+            super(in, path);
+        }
+
+        @Override
+        Row parse(String line) {
+            number++;
+            List<String> names = new ArrayList<>();
+            List<String> values = new ArrayList<>();
+            try {
+                JsonTokenizer t = new JsonTokenizer(line);
+                t.expect('{');
+                if (!t.consume('}')) {
+                    do {
+                        if (t.peek() != '"') {
+                            throw error("expected a member name");
+                        }
+                        String name = (String) t.readValue();
+                        t.expect(':');
+                        names.add(name);
+                        values.add(JsonPathExtractor.text(t.readValue(), name));
+                    } while (t.consume(','));
+                    t.expect('}');
+                }
+            } catch (IllegalArgumentException e) {
+                throw error(e.getMessage());
+            }
+            return new Row(number, names.toArray(new String[0]), values.toArray(new String[0]));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package runtime;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-test throughput and latency of a scenario run
+ */
+public class ScenarioReport {
+    /**
+     * One test of the mix together with the results collected for it
+     */
+    public static class Entry {
+        private final String testName;
+        private final int weight;
+        private final ThinkTime thinkTime;
+        private final LoadGenerator.Iteration iteration;
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LatencyRecorder latencies = new LatencyRecorder();
+        private final AtomicReference<Throwable> firstError = new AtomicReference<>();
+        private LatencyHistogram histogram;
+        
+        Entry(String testName, int weight, ThinkTime thinkTime, LoadGenerator.Iteration iteration) {
+            this.testName = testName;
+            this.weight = weight;
+            this.thinkTime = thinkTime;
+            this.iteration = iteration;
+        }
+        
+        void success(long nanos) {
+            completed.increment();
+            latencies.recordNanos(nanos);
+        }
+        
+        void error(long nanos, Throwable t) {
+            completed.increment();
+            errors.increment();
+            firstError.compareAndSet(null, t);
+            latencies.recordNanos(nanos);
+        }
+        
+        public String getTestName() {
+            return testName;
+        }
+        
+        public int getWeight() {
+            return weight;
+        }
+        
+        ThinkTime getThinkTime() {
+            return thinkTime;
+        }
+        
+        LoadGenerator.Iteration getIteration() {
+            return iteration;
+        }
+        
+        public long getCompleted() {
+            return completed.sum();
+        }
+        
+        public long getErrors() {
+            return errors.sum();
+        }
+        
+        public Throwable getFirstError() {
+            return firstError.get();
+        }
+        
+        public LatencyHistogram getLatencies() {
+            return histogram;
+        }
+    }
+    
+    private final String name;
+    private final int users;
+    private final List<Entry> entries;
+    private long elapsedNanos;
+    
+    ScenarioReport(String name, int users, List<Entry> entries) {
+        this.name = name;
+        this.users = users;
+        this.entries = entries;
+    }
+    
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+        for (Entry entry : entries) {
+            entry.histogram = entry.latencies.merged();
+        }
+    }
+    
+    public List<Entry> getEntries() {
+        return entries;
+    }
+    
+    public long getErrors() {
+        long total = 0;
+        for (Entry entry : entries) {
+            total += entry.getErrors();
+        }
+        return total;
+    }
+    
+    @Override
+    public String toString() {
+        double seconds = elapsedNanos / 1e9;
+        long total = 0;
+        for (Entry entry : entries) {
+            total += entry.getCompleted();
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Scenario %s: %d users, %.1f s, %d iterations, %.1f rps, %d errors",
+            name, users, seconds, total, total / seconds, getErrors()));
+        for (Entry entry : entries) {
+            sb.append(String.format("%n  %-20s %5.1f%% %8.1f rps, errors %d, %s",
+                entry.getTestName(), total == 0 ? 0 : 100.0 * entry.getCompleted() / total,
+                entry.getCompleted() / seconds, entry.getErrors(), entry.getLatencies().summary()));
+            if (entry.getFirstError() != null) {
+                sb.append(String.format("%n  %-20s first error: %s", "", entry.getFirstError()));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,96 @@
+package runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-model workload: a fixed number of virtual users each pick a test
+ * from a weighted mix, run it, think, and repeat until the duration is over.
+ * Every user gets its own thread (a virtual thread on Java 21+).
+ */
+public class ScenarioRunner {
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+    
+    private final String name;
+    private final int users;
+    private final long durationNanos;
+    private final long rampUpNanos;
+    private final List<ScenarioReport.Entry> entries = new ArrayList<>();
+    private int totalWeight;
+    
+    public ScenarioRunner(String name, int users, long durationMillis, long rampUpMillis) {
+        this.name = name;
+        this.users = users;
+        this.durationNanos = TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        this.rampUpNanos = TimeUnit.MILLISECONDS.toNanos(rampUpMillis);
+    }
+    
+    public void add(String testName, int weight, ThinkTime thinkTime, LoadGenerator.Iteration iteration) {
+        entries.add(new ScenarioReport.Entry(testName, weight, thinkTime, iteration));
+        totalWeight += weight;
+    }
+    
+    public ScenarioReport run() throws InterruptedException {
+        ScenarioReport report = new ScenarioReport(name, users, entries);
+        ExecutorService executor = Threads.newPerTaskExecutor("scenario-" + name);
+        
+        long start = System.nanoTime();
+        long deadline = start + durationNanos;
+        try {
+            for (int u = 0; u < users; u++) {
+                // Users start evenly spread over the ramp-up
+                long userStart = start + (users > 1 ? rampUpNanos * u / (users - 1) : 0);
+                executor.execute(() -> runUser(userStart, deadline));
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(durationNanos + TimeUnit.SECONDS.toNanos(DRAIN_TIMEOUT_SECONDS),
+                TimeUnit.NANOSECONDS);
+            executor.shutdownNow();
+        }
+        report.finish(System.nanoTime() - start);
+        return report;
+    }
+    
+    private void runUser(long userStart, long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            sleepUntil(userStart);
+            while (System.nanoTime() < deadline) {
+                ScenarioReport.Entry entry = pick(random.nextInt(totalWeight));
+                long begin = System.nanoTime();
+                try {
+                    entry.getIteration().run();
+                    entry.success(System.nanoTime() - begin);
+                } catch (Throwable t) {
+                    // Any failure of a test counts as an error of its entry, as in LoadGenerator
+                    entry.error(System.nanoTime() - begin, t);
+                }
+                long think = TimeUnit.MILLISECONDS.toNanos(entry.getThinkTime().nextMillis(random));
+                sleepUntil(Math.min(System.nanoTime() + think, deadline));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private ScenarioReport.Entry pick(int ticket) {
+        for (ScenarioReport.Entry entry : entries) {
+            ticket -= entry.getWeight();
+            if (ticket < 0) {
+                return entry;
+            }
+        }
+        return entries.get(entries.size() - 1);
+    }
+    
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long wait = nanoTime - System.nanoTime();
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package runtime;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * In-process HTTP server with canned responses, generated by the compiler
+ * (--stub) from the expectations of a .test file so that the suite can run
+ * without its real backend: run the generated <Class>Stub and point the tests
+ * at it with -Dtestlang.base_url.
+ *
+ * A route is a method and a path whose segments are either literal or "*".
+ * Exact paths win over patterns; in the headers and body of a pattern route,
+ * ${n} is replaced by segment n of the requested path (counting the empty
+ * segment before the first "/" as 0). An exact route can also be given for
+ * one request body only, and then wins over the route without one.
+ *
+ * Requests are served on virtual threads where the JVM has them (21+), and
+ * on a cached thread pool otherwise.
+ */
+public final class StubServer {
+    private final HttpServer server;
+    private final ExecutorService executor = Threads.newPerTaskExecutor("testlang-stub");
+    private final Map<String, Response> exact = new HashMap<>();
+    private final Map<String, Response> bodies = new HashMap<>();  // "METHOD path\nbody"
+    private final List<Pattern> patterns = new ArrayList<>();
+
+    public StubServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Answer method and path with a status, body and header name/value pairs
+     */
+    public StubServer route(String method, String path, int status, String body, String... headers) {
+        Response response = new Response(status, body, headers);
+        if (path.contains("*")) {
+            patterns.add(new Pattern(method, path.split("/", -1), response));
+        } else {
+            exact.put(method + " " + path, response);
+        }
+        return this;
+    }
+
+    /**
+     * Answer method and exact path like route(), but only requests with this body
+     */
+    public StubServer routeBody(String method, String path, String requestBody, int status, String body,
+                                String... headers) {
+        bodies.put(method + " " + path + "\n" + requestBody, new Response(status, body, headers));
+        return this;
+    }
+
+    public StubServer start() {
+        server.start();
+        return this;
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + port();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody(); OutputStream out = exchange.getResponseBody()) {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            String[] segments = path.split("/", -1);
+            Response response = null;
+            if (bodies.isEmpty()) {
+                in.transferTo(OutputStream.nullOutputStream());
+            } else {
+                response = bodies.get(method + " " + path + "\n" +
+                                      new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            if (response == null) {
+                response = exact.get(method + " " + path);
+            }
+            if (response == null) {
+                for (Pattern pattern : patterns) {
+                    if (pattern.matches(method, segments)) {
+                        response = pattern.response;
+                        break;
+                    }
+                }
+            }
+            byte[] body;
+            if (response == null) {
+                body = ("No stub for " + method + " " + path).getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain");
+                exchange.sendResponseHeaders(404, body.length);
+            } else {
+                body = fill(response.body, segments).getBytes(StandardCharsets.UTF_8);
+                for (int i = 0; i + 1 < response.headers.length; i += 2) {
+                    exchange.getResponseHeaders().set(response.headers[i], fill(response.headers[i + 1], segments));
+                }
+                exchange.sendResponseHeaders(response.status, body.length == 0 ? -1 : body.length);
+            }
+            out.write(body);
+        }
+    }
+
+    // ${n} in a response becomes segment n of the requested path
+    private static String fill(String text, String[] segments) {
+        if (!text.contains("${")) {
+            return text;
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        int i = 0;
+        while (i < text.length()) {
+            int start = text.indexOf("${", i);
+            int end = start < 0 ? -1 : text.indexOf('}', start);
+            if (end < 0) {
+                sb.append(text, i, text.length());
+                break;
+            }
+            sb.append(text, i, start);
+            try {
+                int segment = Integer.parseInt(text.substring(start + 2, end));
+                sb.append(segment < segments.length ? segments[segment] : "");
+            } catch (NumberFormatException e) {
+                sb.append(text, start, end + 1);
+            }
+            i = end + 1;
+        }
+        return sb.toString();
+    }
+
+    private static final class Response {
+        final int status;
+        final String body;
+        final String[] headers;
+
+        Response(int status, String body, String[] headers) {
+            this.status = status;
+            this.body = body;
+            this.headers = headers;
+        }
+    }
+
+    private static final class Pattern {
+        final String method;
+        final String[] segments;
+        final Response response;
+
+        Pattern(String method, String[] segments, Response response) {
+            this.method = method;
+            this.segments = segments;
+            this.response = response;
+        }
+
+        boolean matches(String method, String[] path) {
+            if (!this.method.equals(method) || path.length != segments.length) {
+                return false;
+            }
+            for (int i = 0; i < segments.length; i++) {
+                if (!segments[i].equals("*") && !segments[i].equals(path[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package runtime;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Base URL and default headers of one generated test class. Requests are
+ * started with get/post/put/delete, may add headers, and are sent with send();
+ * the defaults are added when the request is built.
+ */
+public final class Suite {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final int WARMUP_CONNECTIONS = 4;
+
+    /** keepBytes for send(): the whole response body, or none of it */
+    public static final long FULL = Long.MAX_VALUE;
+    public static final long DISCARD = 0;
+
+    private final String baseUrl;
+    private final Map<String, String> defaultHeaders = new LinkedHashMap<>();
+
+    /**
+     * -Dtestlang.base_url replaces the configured base URL, such as to run
+     * against a generated stub server
+     */
+    public Suite(String baseUrl) {
+        this.baseUrl = System.getProperty("testlang.base_url", baseUrl);
+    }
+
+    /**
+     * Add a header sent with every request of the suite
+     */
+    public Suite header(String name, String value) {
+        defaultHeaders.put(name, value);
+        return this;
+    }
+
+    /**
+     * Cap the request rate and concurrency of every suite in the JVM; see Throttle
+     */
+    public Suite limit(int maxRps, int maxInFlight) {
+        Throttle.limit(maxRps, maxInFlight);
+        return this;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public HttpRequest.Builder get(String path) {
+        return newBuilder(path).GET();
+    }
+
+    public HttpRequest.Builder delete(String path) {
+        return newBuilder(path).DELETE();
+    }
+
+    /**
+     * POST with a UTF-8 body, or without body when body is null
+     */
+    public HttpRequest.Builder post(String path, String body) {
+        return newBuilder(path).POST(publisher(body));
+    }
+
+    public HttpRequest.Builder put(String path, String body) {
+        return newBuilder(path).PUT(publisher(body));
+    }
+
+    /**
+     * Request with any method and a prepared body, such as a body from Bodies
+     */
+    public HttpRequest.Builder request(String method, String path, HttpRequest.BodyPublisher body) {
+        return newBuilder(path).method(method, body);
+    }
+
+    /**
+     * Add the default headers and build;the request can be sent any number of times
+     */
+    public HttpRequest build(HttpRequest.Builder builder) {
+        for (Map.Entry<String, String> e : defaultHeaders.entrySet()) {
+            builder.header(e.getKey(), e.getValue());
+        }
+        return builder.build();
+    }
+
+    public Exchange send(HttpRequest.Builder builder) throws IOException, InterruptedException {
+        return send(build(builder));
+    }
+
+    public Exchange send(HttpRequest request) throws IOException, InterruptedException {
+        return send(request, FULL);
+    }
+
+    public Exchange send(HttpRequest.Builder builder, long keepBytes) throws IOException, InterruptedException {
+        return send(build(builder), keepBytes);
+    }
+
+    /**
+     * Send and keep at most keepBytes of the response body: FULL keeps all of it,
+     * DISCARD none. The whole body is read either way, so timing and size
+     * assertions still see all of it.
+     */
+    public Exchange send(HttpRequest request, long keepBytes) throws IOException, InterruptedException {
+        HttpResponse.BodyHandler<String> handler;
+        if (keepBytes == FULL) {
+            handler = HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8);
+        } else if (keepBytes == DISCARD) {
+            handler = HttpResponse.BodyHandlers.replacing("");
+        } else {
+            handler = BoundedBodySubscriber.handler(keepBytes);
+        }
+        // A discarded body is not decoded; timing counts the bytes as received
+        DecodingBodyHandler<String> decoding = keepBytes == DISCARD ? null : DecodingBodyHandler.of(handler);
+        TimedBodyHandler<String> timing = TimedBodyHandler.of(decoding != null ? decoding : handler);
+        Exchange exchange = null;
+        // Waiting for the throttle is not part of the measured latency
+        long queued = System.nanoTime();
+        Throttle throttle = Throttle.acquire();
+        Transport.sending(System.nanoTime() - queued);
+        // Under fail-fast the first failing test interrupts the wait to cancel the request
+        FailFast.waiting(Thread.currentThread());
+        try {
+            if (Tape.isReplaying()) {
+                exchange = Tape.replay(request, timing.begin(), decoding);
+            } else {
+                exchange = new Exchange(Http.client().send(request, Tape.recording(request, timing.begin())),
+                                        timing, decoding);
+            }
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            Http.fireFailure(request, e);
+            throw e;
+        } finally {
+            FailFast.done(Thread.currentThread());
+            throttle.release();
+            Transport.completed(request, exchange);
+        }
+        Http.fireResponse(request, exchange);
+        return exchange;
+    }
+
+    /**
+     * Send count throw-away requests, taking the templates in turn, before
+     * anything is measured. Up to WARMUP_CONNECTIONS are in flight at once, so
+     * the pool keeps that many connections open. The responses go through the
+     * same body handlers as send() to warm up their code too, but no listener
+     * and no timing sees them, and failures are ignored. Nothing is sent when
+     * replaying a tape, and nothing is recorded.
+     */
+    public void warmUp(int count, HttpRequest.Builder... templates) throws InterruptedException {
+        if (Tape.isReplaying()) {
+            return;
+        }
+        HttpRequest[] requests = new HttpRequest[templates.length];
+        for (int i = 0; i < templates.length; i++) {
+            requests[i] = build(templates[i]);
+        }
+        Semaphore window = new Semaphore(WARMUP_CONNECTIONS);
+        List<CompletableFuture<?>> sent = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            window.acquire();
+            Throttle throttle = Throttle.acquire();
+            TimedBodyHandler<String> timing = TimedBodyHandler.of(
+                DecodingBodyHandler.of(HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8)));
+            sent.add(Http.client().sendAsync(requests[i % requests.length], timing.begin())
+                .whenComplete((response, error) -> {
+                    throttle.release();
+                    window.release();
+                }));
+        }
+        CompletableFuture.allOf(sent.toArray(new CompletableFuture<?>[0])).exceptionally(error -> null).join();
+    }
+    
+    private HttpRequest.Builder newBuilder(String path) {
+        String url = path.startsWith("http://") || path.startsWith("https://") ? path : baseUrl + path;
+        return HttpRequest.newBuilder(URI.create(url)).timeout(TIMEOUT);
+    }
+
+    private static HttpRequest.BodyPublisher publisher(String body) {
+        return body == null
+            ? HttpRequest.BodyPublishers.noBody()
+            : HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8);
+    }
+}
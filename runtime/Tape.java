@@ -0,0 +1,459 @@
+package runtime;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.net.ssl.SSLSession;
+
+/**
+ * Record and replay of exchanges (-Dtestlang.mode=record|replay). The tape,
+ * -Dtestlang.tape or exchanges.tape in the reports directory, is an append-only
+ * file of responses keyed by a hash of the request method, URI and body.
+ *
+ * Recording copies the body bytes as received, before any Content-Encoding is
+ * undone, and appends each response in one write, so the workers of a
+ * distributed run can record into the same tape. Recording appends to an
+ * existing tape; delete it to start over.
+ *
+ * Replaying memory-maps the tape and indexes it by key, skipping from record
+ * to record without reading the bodies. send() then answers from the tape
+ * instead of the network: the recorded bytes go through the same body handlers,
+ * so decoding, truncation and assertions run as they do live. A request sent
+ * several times gets its recorded responses in order, then the last one again.
+ * A request that is not on the tape fails with an IOException.
+ */
+public final class Tape {
+    private static final byte[] MAGIC = "TLTAPE01".getBytes(StandardCharsets.US_ASCII);
+    private static final String MODE = System.getProperty("testlang.mode", "");
+    private static final Tape INSTANCE = MODE.isEmpty() ? null : new Tape();
+
+    private final Path file;
+    private final boolean replaying;
+    private FileChannel recording;  // opened on the first recorded response
+    private volatile Index index;   // mapped on the first replayed request
+
+    private Tape() {
+        if (!MODE.equals("record") && !MODE.equals("replay")) {
+            throw new IllegalArgumentException("testlang.mode must be record or replay: " + MODE);
+        }
+        String tape = System.getProperty("testlang.tape");
+        file = tape != null ? Paths.get(tape) : Reports.directory().resolve("exchanges.tape");
+        replaying = MODE.equals("replay");
+    }
+
+    public static boolean isRecording() {
+        return INSTANCE != null && !INSTANCE.replaying;
+    }
+
+    public static boolean isReplaying() {
+        return INSTANCE != null && INSTANCE.replaying;
+    }
+
+    /**
+     * The handler of a live send; when recording, it also appends the response to the tape
+     */
+    static <T> HttpResponse.BodyHandler<T> recording(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+            throws IOException {
+        if (!isRecording()) {
+            return handler;
+        }
+        long key = key(request);
+        return info -> new Recorder<>(key, line(request), info, handler.apply(info));
+    }
+
+    /**
+     * Answer the request from the tape through the body handlers of send()
+     */
+    static Exchange replay(HttpRequest request, TimedBodyHandler<String> timing,
+                           DecodingBodyHandler<String> decoding) throws IOException {
+        Record record = INSTANCE.index().next(key(request), line(request));
+        if (record == null) {
+            throw new IOException("Not on tape " + INSTANCE.file + ": " + line(request));
+        }
+        HttpResponse.BodySubscriber<String> subscriber = timing.apply(record);
+        // The body handlers of send() all ask for the whole body up front
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        if (record.body.hasRemaining()) {
+            subscriber.onNext(List.of(record.body.duplicate()));
+        }
+        subscriber.onComplete();
+        try {
+            String body = subscriber.getBody().toCompletableFuture().join();
+            return new Exchange(new Replayed(request, record, body), timing, decoding);
+        } catch (CompletionException e) {
+            throw new IOException("Cannot replay " + line(request), e.getCause());
+        }
+    }
+
+    private static String line(HttpRequest request) {
+        return request.method() + " " + request.uri();
+    }
+
+    // SHA-256 of the request line and body, cut to 64 bits
+    private static long key(HttpRequest request) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(line(request).getBytes(StandardCharsets.UTF_8));
+        Optional<HttpRequest.BodyPublisher> body = request.bodyPublisher();
+        if (body.isPresent()) {
+            Digesting subscriber = new Digesting(digest);
+            body.get().subscribe(subscriber);
+            try {
+                subscriber.done.join();
+            } catch (CompletionException e) {
+                throw new IOException("Cannot read request body of " + line(request), e.getCause());
+            }
+        }
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
+
+    private synchronized void append(ByteBuffer record) {
+        try {
+            if (recording == null) {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+                try {
+                    // Only the process that creates the tape writes its header
+                    Files.write(file, MAGIC, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                } catch (FileAlreadyExistsException e) {
+                    // Appending to an earlier recording, or to another worker's
+                }
+                recording = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            while (record.hasRemaining()) {
+                recording.write(record);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not record to " + file + ": " + e.getMessage());
+        }
+    }
+
+    private Index index() {
+        Index current = index;
+        if (current == null) {
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    current = new Index(map());
+                    index = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private ByteBuffer map() {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Tape over 2 GB: " + file);
+            }
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.limit() < MAGIC.length || !ByteBuffer.wrap(MAGIC).equals(mapped.slice().limit(MAGIC.length))) {
+                throw new IOException("Not a tape: " + file);
+            }
+            return mapped;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map tape " + file, e);
+        }
+    }
+
+    /**
+     * Offsets of the records of every key, in recording order, with a cursor
+     * for the next one to replay. A record is
+     * length(int) key(long) status(short) version(byte) line(string)
+     * headers(int count, then name and value strings) body(int length, bytes),
+     * a string being its UTF-8 length (int) and bytes; length counts what follows it.
+     */
+    private static final class Index {
+        private final ByteBuffer tape;
+        private final Map<Long, Entries> entries = new HashMap<>();
+
+        Index(ByteBuffer tape) {
+            this.tape = tape;
+            int position = MAGIC.length;
+            // A record cut short by a recording that was killed is left out
+            while (position + Integer.BYTES <= tape.limit()) {
+                int length = tape.getInt(position);
+                if (length < Long.BYTES || position + Integer.BYTES + length > tape.limit()) {
+                    break;
+                }
+                entries.computeIfAbsent(tape.getLong(position + Integer.BYTES), key -> new Entries())
+                    .offsets.add(position);
+                position += Integer.BYTES + length;
+            }
+        }
+
+        Record next(long key, String line) {
+            Entries recorded = entries.get(key);
+            if (recorded == null) {
+                return null;
+            }
+            int next = Math.min(recorded.cursor.getAndIncrement(), recorded.offsets.size() - 1);
+            Record record = new Record(tape.duplicate(), recorded.offsets.get(next));
+            // 64 bits of the hash may still collide
+            return record.line.equals(line) ? record : null;
+        }
+    }
+
+    private static final class Entries {
+        final List<Integer> offsets = new ArrayList<>(1);
+        final AtomicInteger cursor = new AtomicInteger();
+    }
+
+    /**
+     * A recorded response, read from its offset in the tape; the body is a slice of the mapping
+     */
+    private static final class Record implements HttpResponse.ResponseInfo {
+        final int status;
+        final HttpClient.Version version;
+        final String line;
+        final HttpHeaders headers;
+        final ByteBuffer body;
+
+        Record(ByteBuffer tape, int offset) {
+            tape.position(offset + Integer.BYTES + Long.BYTES);
+            status = tape.getShort();
+            version = tape.get() == 2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1;
+            line = string(tape);
+            Map<String, List<String>> map = new LinkedHashMap<>();
+            for (int i = tape.getInt(); i > 0; i--) {
+                map.computeIfAbsent(string(tape), name -> new ArrayList<>()).add(string(tape));
+            }
+            headers = HttpHeaders.of(map, (name, value) -> true);
+            int length = tape.getInt();
+            tape.limit(tape.position() + length);
+            body = tape.slice();
+        }
+
+        private static String string(ByteBuffer tape) {
+            byte[] bytes = new byte[tape.getInt()];
+            tape.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        static ByteBuffer write(long key, String line, HttpResponse.ResponseInfo info, byte[] body) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length + 512);
+            ByteBuffer fixed = ByteBuffer.allocate(Integer.BYTES + Long.BYTES + Short.BYTES + 1);
+            fixed.putInt(0).putLong(key).putShort((short) info.statusCode())
+                .put((byte) (info.version() == HttpClient.Version.HTTP_2 ? 2 : 1));
+            out.write(fixed.array(), 0, fixed.capacity());
+            string(out, line);
+            Map<String, List<String>> headers = info.headers().map();
+            int count = 0;
+            for (List<String> values : headers.values()) {
+                count += values.size();
+            }
+            integer(out, count);
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                for (String value : header.getValue()) {
+                    string(out, header.getKey());
+                    string(out, value);
+                }
+            }
+            integer(out, body.length);
+            out.write(body, 0, body.length);
+            ByteBuffer record = ByteBuffer.wrap(out.toByteArray());
+            record.putInt(0, record.capacity() - Integer.BYTES);
+            return record;
+        }
+
+        private static void string(ByteArrayOutputStream out, String text) {
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            integer(out, bytes.length);
+            out.write(bytes, 0, bytes.length);
+        }
+
+        private static void integer(ByteArrayOutputStream out, int value) {
+            out.write(ByteBuffer.allocate(Integer.BYTES).putInt(value).array(), 0, Integer.BYTES);
+        }
+
+        @Override
+        public int statusCode() {
+            return status;
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return headers;
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return version;
+        }
+    }
+
+    /**
+     * Copies the body bytes as they pass to the delegate and appends the response once complete
+     */
+    private static final class Recorder<T> implements HttpResponse.BodySubscriber<T> {
+        private final long key;
+        private final String line;
+        private final HttpResponse.ResponseInfo info;
+        private final HttpResponse.BodySubscriber<T> downstream;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        Recorder(long key, String line, HttpResponse.ResponseInfo info, HttpResponse.BodySubscriber<T> downstream) {
+            this.key = key;
+            this.line = line;
+            this.info = info;
+            this.downstream = downstream;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return downstream.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            downstream.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            for (ByteBuffer buffer : buffers) {
+                ByteBuffer copy = buffer.duplicate();
+                byte[] bytes = new byte[copy.remaining()];
+                copy.get(bytes);
+                body.write(bytes, 0, bytes.length);
+            }
+            downstream.onNext(buffers);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            downstream.onError(error);
+        }
+
+        @Override
+        public void onComplete() {
+            INSTANCE.append(Record.write(key, line, info, body.toByteArray()));
+            downstream.onComplete();
+        }
+    }
+
+    /**
+     * Feeds a request body into the key digest
+     */
+    private static final class Digesting implements Flow.Subscriber<ByteBuffer> {
+        private final MessageDigest digest;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Digesting(MessageDigest digest) {
+            this.digest = digest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(ByteBuffer buffer) {
+            digest.update(buffer);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            done.completeExceptionally(error);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(null);
+        }
+    }
+
+    /**
+     * The response send() returns for a replayed exchange
+     */
+    private static final class Replayed implements HttpResponse<String> {
+        private final HttpRequest request;
+        private final Record record;
+        private final String body;
+
+        Replayed(HttpRequest request, Record record, String body) {
+            this.request = request;
+            this.record = record;
+            this.body = body;
+        }
+
+        @Override
+        public int statusCode() {
+            return record.status;
+        }
+
+        @Override
+        public HttpRequest request() {
+            return request;
+        }
+
+        @Override
+        public Optional<HttpResponse<String>> previousResponse() {
+            return Optional.empty();
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return record.headers;
+        }
+
+        @Override
+        public String body() {
+            return body;
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return Optional.empty();
+        }
+
+        @Override
+        public URI uri() {
+            return request.uri();
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return record.version;
+        }
+    }
+}
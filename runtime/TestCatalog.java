@@ -0,0 +1,162 @@
+package runtime;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The tests and load blocks of a generated class, found by the names the
+ * compiler gives them so that they can run without JUnit (runtime.Worker):
+ * every test has a test_<Name> method and runs as run_<Name>(), or
+ * run_<Name>(Row) for each row of the file ROWS_<Name>; table-mode tests are
+ * rows of TABLE, load blocks are LoadGenerator fields LOAD_<Name>, and the
+ * fixtures are setup() and teardown().
+ */
+final class TestCatalog {
+    private final Class<?> type;
+
+    TestCatalog(String className) throws ClassNotFoundException {
+        this.type = Class.forName(className);
+    }
+
+    String simpleName() {
+        return type.getSimpleName();
+    }
+
+    /**
+     * Names of all tests, sorted
+     */
+    List<String> tests() throws Exception {
+        List<String> names = new ArrayList<>();
+        for (Method method : type.getDeclaredMethods()) {
+            if (method.getName().startsWith("test_") && !Modifier.isStatic(method.getModifiers())) {
+                names.add(method.getName().substring(5));
+            }
+        }
+        RequestTable table = table();
+        if (table != null) {
+            for (int i = 0; i < table.size(); i++) {
+                names.add(table.name(i));
+            }
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    /**
+     * One run of a test; a data-driven test runs all its rows and fails with the first failing row
+     */
+    LoadGenerator.Iteration iteration(String test) throws Exception {
+        RequestTable table = table();
+        if (table != null) {
+            for (int i = 0; i < table.size(); i++) {
+                if (table.name(i).equals(test)) {
+                    int row = i;
+                    Suite suite = (Suite) staticField("SUITE");
+                    return () -> table.run(row, suite);
+                }
+            }
+        }
+        Field rows = field("ROWS_" + test);
+        if (rows != null) {
+            String file = (String) rows.get(null);
+            Method run = method("run_" + test, Row.class);
+            return () -> {
+                Exception failure = null;
+                try (Stream<Row> stream = Rows.open(file)) {
+                    for (Iterator<Row> it = stream.iterator(); it.hasNext(); ) {
+                        Row row = it.next();
+                        try {
+                            invoke(run, row);
+                        } catch (Exception | AssertionError e) {
+                            if (failure == null) {
+                                failure = new Exception("Row " + row + ": " + e, e);
+                            }
+                        }
+                    }
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+            };
+        }
+        Method run = method("run_" + test);
+        if (run == null) {
+            throw new IllegalArgumentException(type.getName() + " has no test '" + test + "'");
+        }
+        return () -> invoke(run);
+    }
+
+    LoadGenerator load(String name) throws Exception {
+        Field field = field("LOAD_" + name);
+        if (field == null) {
+            throw new IllegalArgumentException(type.getName() + " has no load block '" + name + "'");
+        }
+        return (LoadGenerator) field.get(null);
+    }
+
+    void setup() throws Exception {
+        Method setup = method("setup");
+        if (setup != null) {
+            invoke(setup);
+        }
+    }
+
+    void teardown() throws Exception {
+        Method teardown = method("teardown");
+        if (teardown != null) {
+            invoke(teardown);
+        }
+    }
+
+    private RequestTable table() throws IllegalAccessException {
+        return (RequestTable) staticField("TABLE");
+    }
+
+    private Object staticField(String name) throws IllegalAccessException {
+        Field field = field(name);
+        return field != null ? field.get(null) : null;
+    }
+
+    private Field field(String name) {
+        try {
+            Field field = type.getDeclaredField(name);
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
+    }
+
+    private Method method(String name, Class<?>... parameters) {
+        try {
+            Method method = type.getDeclaredMethod(name, parameters);
+            method.setAccessible(true);
+            return method;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    // Failures surface as thrown by the generated code, not wrapped by reflection
+    private static void invoke(Method method, Object... args) throws Exception {
+        try {
+            method.invoke(null, args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package runtime;
+
+import java.util.Random;
+
+/**
+ * Pause between two iterations of a virtual user
+ */
+public abstract class ThinkTime {
+    public abstract long nextMillis(Random random);
+
+    public static ThinkTime none() {
+        return constant(0);
+    }
+
+    public static ThinkTime constant(long millis) {
+        return new ThinkTime() {
+            @Override
+            public long nextMillis(Random random) {
+                return millis;
+            }
+        };
+    }
+
+    public static ThinkTime uniform(long minMillis, long maxMillis) {
+        return new ThinkTime() {
+            @Override
+            public long nextMillis(Random random) {
+                return minMillis + (long) (random.nextDouble() * (maxMillis - minMillis));
+            }
+        };
+    }
+
+    public static ThinkTime exponential(long meanMillis) {
+        return new ThinkTime() {
+            @Override
+            public long nextMillis(Random random) {
+                return (long) (-meanMillis * Math.log(1 - random.nextDouble()));
+            }
+        };
+    }
+}
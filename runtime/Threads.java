@@ -0,0 +1,38 @@
+package runtime;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread helpers shared by the workload runners
+ */
+public class Threads {
+    /**
+     * Daemon threads named prefix-1, prefix-2, ... so a stuck run never blocks JVM exit
+     */
+    public static ThreadFactory daemonFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * One new thread per task: virtual threads when the JVM has them (Java 21+),
+     * daemon platform threads otherwise. Looked up reflectively so the runtime
+     * still builds and runs on Java 11.
+     */
+    public static ExecutorService newPerTaskExecutor(String prefix) {
+        try {
+            return (ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor")
+                .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(daemonFactory(prefix));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package runtime;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Process-wide ceiling on request rate and concurrency (config max_rps and
+ * max_in_flight). It is shared by every suite in the JVM, so suites running side
+ * by side against one backend stay under the ceiling together; when suites ask
+ * for different limits the lowest one wins.
+ *
+ * The rate is a token bucket in its GCRA form: a single atomic "next free slot"
+ * that every request moves on by one emission interval with a CAS, after which
+ * the request parks until its slot comes. There is no lock and no spinning, and
+ * requests go out evenly spaced at exactly the configured rate.
+ */
+public final class Throttle {
+    private static final Throttle NONE = new Throttle(0, 0);
+    private static volatile Throttle current = NONE;
+    private static int processes = 1;
+
+    private final int maxRps;
+    private final int maxInFlight;
+    private final long intervalNanos;    // 0 without a rate limit
+    private final Semaphore inFlight;    // null without a concurrency limit
+    private final AtomicLong nextSlot = new AtomicLong(System.nanoTime());
+
+    private Throttle(int maxRps, int maxInFlight) {
+        this.maxRps = maxRps;
+        this.maxInFlight = maxInFlight;
+        // Rounded up, so the rate never ends up above the ceiling
+        this.intervalNanos = maxRps > 0 ? (1_000_000_000L + maxRps - 1) / maxRps : 0;
+        this.inFlight = maxInFlight > 0 ? new Semaphore(maxInFlight, true) : null;
+    }
+
+    /**
+     * Split the ceilings of all later limit() calls evenly over this many
+     * processes, so that worker processes (runtime.Worker) stay under them together
+     */
+    static synchronized void shareAcross(int count) {
+        processes = count;
+    }
+
+    /**
+     * Lower the ceiling to maxRps requests per second and maxInFlight concurrent
+     * requests; 0 leaves that limit as it is
+     */
+    public static synchronized void limit(int maxRps, int maxInFlight) {
+        maxRps = maxRps > 0 ? Math.max(1, maxRps / processes) : maxRps;
+        maxInFlight = maxInFlight > 0 ? Math.max(1, maxInFlight / processes) : maxInFlight;
+        Throttle old = current;
+        int rps = lowest(old.maxRps, maxRps);
+        int concurrency = lowest(old.maxInFlight, maxInFlight);
+        if (rps != old.maxRps || concurrency != old.maxInFlight) {
+            current = new Throttle(rps, concurrency);
+        }
+    }
+
+    private static int lowest(int a, int b) {
+        return a <= 0 ? Math.max(b, 0) : b <= 0 ? a : Math.min(a, b);
+    }
+
+    /**
+     * Wait for a concurrency permit and then for a rate slot. The returned
+     * throttle must be released when the response has been read.
+     */
+    static Throttle acquire() throws InterruptedException {
+        Throttle throttle = current;
+        if (throttle.inFlight != null) {
+            throttle.inFlight.acquire();
+        }
+        try {
+            throttle.awaitSlot();
+        } catch (InterruptedException e) {
+            throttle.release();
+            throw e;
+        }
+        return throttle;
+    }
+
+    void release() {
+        if (inFlight != null) {
+            inFlight.release();
+        }
+    }
+
+    private void awaitSlot() throws InterruptedException {
+        if (intervalNanos == 0) {
+            return;
+        }
+        long slot;
+        long next;
+        do {
+            next = nextSlot.get();
+            long now = System.nanoTime();
+            // An idle period does not bank slots for a later burst
+            slot = next - now > 0 ? next : now;
+        } while (!nextSlot.compareAndSet(next, slot + intervalNanos));
+
+        long wait = slot - System.nanoTime();
+        while (wait > 0) {
+            LockSupport.parkNanos(wait);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            wait = slot - System.nanoTime();
+        }
+    }
+}
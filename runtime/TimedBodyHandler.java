@@ -0,0 +1,111 @@
+package runtime;
+
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * Wraps a BodyHandler to time an exchange and count the body bytes received.
+ * begin() marks the send, the handler callback marks the arrival of the headers,
+ * and completion of the body subscriber marks the end of the exchange.
+ */
+public class TimedBodyHandler<T> implements HttpResponse.BodyHandler<T> {
+    private final HttpResponse.BodyHandler<T> delegate;
+    private volatile long startNanos;
+    private volatile long headersNanos;
+    private volatile long endNanos;
+    private volatile long bytes;
+
+    public TimedBodyHandler(HttpResponse.BodyHandler<T> delegate) {
+        this.delegate = delegate;
+    }
+
+    public static <T> TimedBodyHandler<T> of(HttpResponse.BodyHandler<T> delegate) {
+        return new TimedBodyHandler<>(delegate);
+    }
+
+    /**
+     * Reset the measurements and mark the start of the exchange
+     */
+    public TimedBodyHandler<T> begin() {
+        headersNanos = 0;
+        endNanos = 0;
+        bytes = 0;
+        startNanos = System.nanoTime();
+        return this;
+    }
+
+    @Override
+    public HttpResponse.BodySubscriber<T> apply(HttpResponse.ResponseInfo info) {
+        headersNanos = System.nanoTime();
+        return new CountingSubscriber(delegate.apply(info));
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public double timeToHeadersMillis() {
+        return (headersNanos - startNanos) / 1_000_000.0;
+    }
+
+    public double totalMillis() {
+        return (endNanos - startNanos) / 1_000_000.0;
+    }
+
+    public long bytes() {
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("total %.1f ms, headers %.1f ms, %d bytes",
+            totalMillis(), timeToHeadersMillis(), bytes);
+    }
+
+    private class CountingSubscriber implements HttpResponse.BodySubscriber<T> {
+        private final HttpResponse.BodySubscriber<T> downstream;
+        private long count;
+
+        CountingSubscriber(HttpResponse.BodySubscriber<T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return downstream.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            downstream.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            for (ByteBuffer buffer : buffers) {
+                count += buffer.remaining();
+            }
+            downstream.onNext(buffers);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            finish();
+            downstream.onError(error);
+        }
+
+        @Override
+        public void onComplete() {
+            finish();
+            downstream.onComplete();
+        }
+
+        private void finish() {
+            bytes = count;
+            endNanos = System.nanoTime();
+        }
+    }
+}
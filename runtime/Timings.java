@@ -0,0 +1,165 @@
+package runtime;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Duration history of the tests, which the compiler reads to balance
+ * --shard partitions. Every test adds its wall time (all rows, for a
+ * data-driven test) under "Class.Test"; at JVM exit the durations are merged
+ * into the timing file, one "Class.Test millis" line each, and the outcomes
+ * are appended to the History log.
+ *
+ * Lines read later replace earlier ones, so the files written by the shards
+ * of one CI run can simply be concatenated. The file is
+ * build/reports/timings.txt unless -Dtestlang.timings names another.
+ */
+public final class Timings {
+    private static final long RUN_STARTED = System.currentTimeMillis();
+    private static final Map<String, Result> RESULTS = new ConcurrentHashMap<>();
+
+    static {
+        // The JUnit launcher closes its class loader before shutdown hooks run,
+        // so the classes the hook needs are loaded now
+        Reports.directory();
+        History.file();
+        new History.Record("", 0, 0, true);
+        Runtime.getRuntime().addShutdownHook(new Thread(Timings::save, "testlang-timings"));
+    }
+
+    private Timings() {
+    }
+
+    public static Path file() {
+        String file = System.getProperty("testlang.timings");
+        return file != null ? Paths.get(file) : Reports.directory().resolve("timings.txt");
+    }
+
+    /**
+     * Run a test and record its duration and outcome, whether it passes or not.
+     * Under fail-fast a test that another failure cut short is skipped instead.
+     */
+    public static void run(String test, LoadGenerator.Iteration body) throws Exception {
+        ResultStream.Running report = ResultStream.begin(test);
+        try {
+            FailFast.check();
+        } catch (RuntimeException skip) {
+            ResultStream.end(report, 0, ResultStream.Outcome.SKIPPED, skip);
+            throw skip;
+        }
+        long start = System.nanoTime();
+        ResultStream.Outcome outcome = ResultStream.Outcome.FAILED;
+        Throwable failure = null;
+        try {
+            body.run();
+            outcome = ResultStream.Outcome.PASSED;
+        } catch (Exception | Error e) {
+            failure = e;
+            if (!FailFast.failed(test)) {
+                // Clear an interrupt that arrived after the request it was meant to cancel
+                Thread.interrupted();
+                outcome = ResultStream.Outcome.SKIPPED;
+                RuntimeException skip = FailFast.skipped();
+                skip.addSuppressed(e);
+                throw skip;
+            }
+            throw e;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            if (outcome != ResultStream.Outcome.SKIPPED) {
+                record(test, nanos, outcome == ResultStream.Outcome.PASSED);
+            }
+            ResultStream.end(report, nanos, outcome, failure);
+        }
+    }
+
+    /**
+     * Record a test run elsewhere, such as by a runtime.Worker
+     */
+    static void record(String test, long nanos, boolean passed) {
+        RESULTS.merge(test, new Result(nanos, passed), Result::add);
+    }
+
+    private static final class Result {
+        final long nanos;
+        final boolean passed;
+
+        Result(long nanos, boolean passed) {
+            this.nanos = nanos;
+            this.passed = passed;
+        }
+
+        // The rows of a data-driven test add up; one failed row fails the test
+        Result add(Result other) {
+            return new Result(nanos + other.nanos, passed && other.passed);
+        }
+    }
+
+    /**
+     * Test durations in milliseconds by "Class.Test", later lines winning; empty
+     * if the file does not exist. The compiler reads --timings with this too.
+     */
+    public static Map<String, Long> read(Path file) throws IOException {
+        Map<String, Long> millis = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return millis;
+        }
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String[] parts = line.trim().split("\\s+");
+            if (parts.length == 2) {
+                try {
+                    millis.put(parts[0], Long.parseLong(parts[1]));
+                } catch (NumberFormatException e) {
+                    // Not a timing line
+                }
+            }
+        }
+        return millis;
+    }
+
+    private static void save() {
+        if (RESULTS.isEmpty()) {
+            return;
+        }
+        Path file = file();
+        try {
+            Map<String, Long> millis = read(file);
+            for (Map.Entry<String, Result> e : RESULTS.entrySet()) {
+                millis.put(e.getKey(), TimeUnit.NANOSECONDS.toMillis(e.getValue().nanos));
+            }
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Long> e : millis.entrySet()) {
+                    out.write(e.getKey() + " " + e.getValue());
+                    out.newLine();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Could not write test timings to " + file + ": " + e.getMessage());
+        }
+
+        List<History.Record> records = new ArrayList<>();
+        for (Map.Entry<String, Result> e : new TreeMap<>(RESULTS).entrySet()) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(e.getValue().nanos);
+            records.add(new History.Record(e.getKey(), RUN_STARTED, (int) Math.min(millis, Integer.MAX_VALUE),
+                                           e.getValue().passed));
+        }
+        try {
+            History.append(History.file(), records);
+        } catch (IOException e) {
+            System.err.println("Could not append test outcomes to " + History.file() + ": " + e.getMessage());
+        }
+    }
+}
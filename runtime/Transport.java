@@ -0,0 +1,183 @@
+package runtime;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.ObjectName;
+
+/**
+ * Transport instrumentation (-Dtestlang.transport=<seconds>): requests, failures,
+ * requests in flight, time spent queueing for the throttle before the send,
+ * and body bytes in and out. The counters are an MXBean (testlang:type=Transport)
+ * and, every <seconds> unless that is 0, a JSON line appended to transport.jsonl
+ * in the reports directory, tagged with the process so that workers can share
+ * the file.
+ *
+ * Connections opened and reused are always -1. The JDK client does not tell
+ * which connection a response came over, or when it opens one, and counting
+ * the connections seen idle in its pool misses every connection the server
+ * closes after one response.
+ */
+public final class Transport implements TransportMXBean {
+    private static final String INTERVAL = System.getProperty("testlang.transport");
+    private static final Transport INSTANCE = INTERVAL != null ? publish(new Transport()) : null;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final LongAdder queueNanos = new LongAdder();
+    private final AtomicLong maxQueueNanos = new AtomicLong();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+
+    Transport() {
+    }
+
+    private static Transport publish(Transport transport) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(transport,
+                                                                     new ObjectName("testlang:type=Transport"));
+        } catch (Exception e) {
+            System.err.println("Could not register transport MXBean: " + e);
+        }
+        long seconds = Long.parseLong(INTERVAL.isEmpty() ? "1" : INTERVAL);
+        if (seconds > 0) {
+            ScheduledExecutorService snapshots = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "testlang-transport");
+                thread.setDaemon(true);
+                return thread;
+            });
+            snapshots.scheduleAtFixedRate(transport::snapshot, seconds, seconds, TimeUnit.SECONDS);
+            Runtime.getRuntime().addShutdownHook(new Thread(transport::snapshot, "testlang-transport-close"));
+        }
+        return transport;
+    }
+
+    public static boolean isEnabled() {
+        return INSTANCE != null;
+    }
+
+    /**
+     * A request leaves Suite.send after queueNanos waiting for the throttle
+     */
+    static void sending(long queueNanos) {
+        if (INSTANCE != null) {
+            INSTANCE.start(queueNanos);
+        }
+    }
+
+    /**
+     * The request is answered, or failed when exchange is null
+     */
+    static void completed(HttpRequest request, Exchange exchange) {
+        if (INSTANCE != null) {
+            INSTANCE.finish(request, exchange);
+        }
+    }
+
+    void start(long nanos) {
+        queueNanos.add(nanos);
+        maxQueueNanos.accumulateAndGet(nanos, Math::max);
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+    }
+
+    void finish(HttpRequest request, Exchange exchange) {
+        inFlight.decrementAndGet();
+        // A streamed body of unknown length reports -1
+        bytesOut.add(Math.max(request.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength).orElse(0L), 0));
+        if (exchange == null) {
+            failures.increment();
+            return;
+        }
+        requests.increment();
+        bytesIn.add(exchange.timing().bytes());
+    }
+
+    @Override
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    @Override
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    @Override
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public int getPeakInFlight() {
+        return peakInFlight.get();
+    }
+
+    @Override
+    public double getAverageQueueMillis() {
+        long sent = requests.sum() + failures.sum();
+        return sent == 0 ? 0 : queueNanos.sum() / 1e6 / sent;
+    }
+
+    @Override
+    public double getMaxQueueMillis() {
+        return maxQueueNanos.get() / 1e6;
+    }
+
+    @Override
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    @Override
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    @Override
+    public long getConnectionsOpened() {
+        return -1;
+    }
+
+    @Override
+    public long getConnectionsReused() {
+        return -1;
+    }
+
+    @Override
+    public double getRequestsPerConnection() {
+        return -1;
+    }
+
+    private void snapshot() {
+        String line = String.format(Locale.ROOT,
+            "{\"time\":\"%s\",\"process\":\"%s\",\"requests\":%d,\"failures\":%d,\"inFlight\":%d," +
+            "\"peakInFlight\":%d,\"avgQueueMs\":%.3f,\"maxQueueMs\":%.3f,\"bytesIn\":%d,\"bytesOut\":%d," +
+            "\"connectionsOpened\":%d,\"connectionsReused\":%d,\"requestsPerConnection\":%.2f}%n",
+            Instant.now(), ManagementFactory.getRuntimeMXBean().getName(), getRequests(), getFailures(),
+            getInFlight(), getPeakInFlight(), getAverageQueueMillis(), getMaxQueueMillis(), getBytesIn(),
+            getBytesOut(), getConnectionsOpened(), getConnectionsReused(), getRequestsPerConnection());
+        Path file = Reports.directory().resolve("transport.jsonl");
+        try {
+            Files.createDirectories(Reports.directory());
+            // One write per line, so lines of several processes do not interleave
+            Files.write(file, line.getBytes(StandardCharsets.UTF_8),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Could not write transport snapshot to " + file + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package runtime;
+
+/**
+ * Transport counters of the shared HTTP client, as seen in JMX under
+ * testlang:type=Transport; see Transport
+ */
+public interface TransportMXBean {
+    long getRequests();
+
+    long getFailures();
+
+    int getInFlight();
+
+    int getPeakInFlight();
+
+    double getAverageQueueMillis();
+
+    double getMaxQueueMillis();
+
+    long getBytesIn();
+
+    long getBytesOut();
+
+    /** Always -1: the JDK client does not report the connections it opens */
+    long getConnectionsOpened();
+
+    /** Always -1: the JDK client does not report the connections it reuses */
+    long getConnectionsReused();
+
+    /** Always -1, as connections are not counted */
+    double getRequestsPerConnection();
+}
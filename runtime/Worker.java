@@ -0,0 +1,151 @@
+package runtime;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.Socket;
+
+/**
+ * Worker process of a distributed run (see runtime.Coordinator). It connects to
+ * the coordinator, then runs the tests and load shares it is sent, one at a
+ * time, and streams every result back as soon as it is done.
+ *
+ * Usage: java -cp <classpath> runtime.Worker host:port
+ *
+ * Messages are DataOutput records that start with one of the type bytes below.
+ */
+public final class Worker {
+    // Worker to coordinator
+    static final byte HELLO = 'H';        // worker id
+    static final byte RESULT = 'R';       // test, passed, nanos, message
+    static final byte LOAD_RESULT = 'P';  // LoadReport
+    // Coordinator to worker
+    static final byte WELCOME = 'W';      // class name, number of workers
+    static final byte RUN_TEST = 'T';     // test
+    static final byte RUN_LOAD = 'L';     // load block
+    static final byte QUIT = 'Q';
+
+    private static final int MAX_MESSAGE = 4000;  // writeUTF takes at most 64 KB
+
+    private Worker() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1 || !args[0].contains(":")) {
+            System.err.println("Usage: java runtime.Worker <host:port>");
+            System.exit(1);
+        }
+        String host = args[0].substring(0, args[0].lastIndexOf(':'));
+        int port = Integer.parseInt(args[0].substring(args[0].lastIndexOf(':') + 1));
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            out.writeByte(HELLO);
+            out.writeUTF(InetAddress.getLocalHost().getHostName() + "/" + ManagementFactory.getRuntimeMXBean().getName());
+            out.flush();
+            serve(in, out);
+        }
+    }
+
+    private static void serve(DataInputStream in, DataOutputStream out) throws Exception {
+        expect(in, WELCOME);
+        String className = in.readUTF();
+        int workers = in.readInt();
+        // Before the class is loaded, so that its max_rps and max_in_flight are shared out
+        Throttle.shareAcross(workers);
+        TestCatalog catalog = new TestCatalog(className);
+        boolean setupDone = false;
+        Throwable setupFailure = null;
+
+        while (true) {
+            byte type = in.readByte();
+            if (type == QUIT) {
+                break;
+            }
+            String name = in.readUTF();
+            if (!setupDone) {
+                setupDone = true;
+                try {
+                    catalog.setup();
+                } catch (Exception | Error e) {
+                    setupFailure = e;
+                }
+            }
+            if (type == RUN_TEST) {
+                long start = System.nanoTime();
+                String failure = null;
+                if (setupFailure != null) {
+                    failure = "setup failed: " + describe(setupFailure);
+                } else {
+                    try {
+                        catalog.iteration(name).run();
+                    } catch (Exception | Error e) {
+                        failure = describe(e);
+                    }
+                }
+                out.writeByte(RESULT);
+                out.writeUTF(name);
+                out.writeBoolean(failure == null);
+                out.writeLong(System.nanoTime() - start);
+                out.writeUTF(failure == null ? "" : failure);
+            } else if (type == RUN_LOAD) {
+                int shares = in.readInt();
+                LoadGenerator load = catalog.load(name);
+                LoadReport report = setupFailure != null
+                    ? failedLoad(load, setupFailure)
+                    : load.share(shares).run(catalog.iteration(name));
+                out.writeByte(LOAD_RESULT);
+                report.writeTo(out);
+            } else {
+                throw new IOException("Unexpected message type " + (char) type);
+            }
+            out.flush();
+        }
+        if (setupDone && setupFailure == null) {
+            catalog.teardown();
+        }
+    }
+
+    private static LoadReport failedLoad(LoadGenerator load, Throwable setupFailure) {
+        LoadReport report = new LoadReport(load.getName(), load.getTargetRps());
+        report.error(0, 0, setupFailure);
+        report.finish(0);
+        return report;
+    }
+
+    static void expect(DataInputStream in, byte type) throws IOException {
+        byte actual = in.readByte();
+        if (actual != type) {
+            throw new IOException("Expected message " + (char) type + " but got " + (char) actual);
+        }
+    }
+
+    /**
+     * A failure as text for the coordinator, short enough for writeUTF
+     */
+    static String describe(Throwable t) {
+        String text = String.valueOf(t);
+        return text.length() > MAX_MESSAGE ? text.substring(0, MAX_MESSAGE) + "..." : text;
+    }
+
+    /**
+     * A failure that happened in another process, known only by its description
+     */
+    static final class RemoteFailure extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        RemoteFailure(String description) {
+            super(description, null, false, false);
+        }
+
+        @Override
+        public String toString() {
+            return getMessage();
+        }
+    }
+}
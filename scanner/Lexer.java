@@ -65,14 +65,16 @@ public class Lexer implements java_cup.runtime.Scanner {
 
   private static final String ZZ_CMAP_BLOCKS_PACKED_0 =
     "\11\0\1\1\1\2\1\3\1\4\1\5\22\0\1\1"+
-    "\1\0\1\6\14\0\1\7\1\10\11\11\1\0\1\12"+
-    "\1\0\1\13\3\0\3\14\1\15\1\16\1\14\1\17"+
-    "\4\14\1\20\2\14\1\21\1\22\2\14\1\23\1\24"+
-    "\1\25\5\14\1\0\1\26\2\0\1\27\1\0\1\30"+
-    "\1\31\1\32\1\33\1\34\1\35\1\36\1\37\1\40"+
-    "\2\14\1\41\1\14\1\42\1\43\1\44\1\14\1\45"+
-    "\1\46\1\47\1\50\2\14\1\51\1\52\1\14\1\53"+
-    "\1\0\1\54\7\0\1\3\u01a2\0\2\3\326\0\u0100\3";
+    "\1\0\1\6\1\0\1\7\3\0\1\10\1\11\1\0"+
+    "\1\12\1\13\1\14\1\15\1\16\1\17\11\20\1\0"+
+    "\1\21\1\22\1\23\3\0\1\24\1\25\1\24\1\26"+
+    "\1\27\1\24\1\30\3\24\1\31\1\32\1\31\1\24"+
+    "\1\33\1\34\2\24\1\35\1\36\1\37\5\24\1\0"+
+    "\1\40\2\0\1\41\1\0\1\42\1\43\1\44\1\45"+
+    "\1\46\1\47\1\50\1\51\1\52\1\53\1\54\1\55"+
+    "\1\56\1\57\1\60\1\61\1\24\1\62\1\63\1\64"+
+    "\1\65\1\24\1\66\1\67\1\70\1\71\1\72\1\0"+
+    "\1\73\7\0\1\3\u01a2\0\2\3\326\0\u0100\3";
 
   private static int [] zzUnpackcmap_blocks() {
     int [] result = new int[1024];
@@ -99,14 +101,21 @@ public class Lexer implements java_cup.runtime.Scanner {
   private static final int [] ZZ_ACTION = zzUnpackAction();
 
   private static final String ZZ_ACTION_PACKED_0 =
-    "\1\0\1\1\2\2\2\1\2\3\1\4\1\5\13\6"+
-    "\1\7\1\10\1\0\1\11\1\0\1\2\15\6\1\12"+
-    "\1\6\1\13\5\6\1\14\3\6\1\15\1\6\1\16"+
-    "\5\6\1\17\7\6\1\20\1\6\1\21\1\6\1\22"+
-    "\1\23\1\24\2\6\1\25\1\26";
+    "\1\0\1\1\2\2\2\1\1\3\1\4\1\5\3\1"+
+    "\2\6\1\7\1\10\1\11\24\12\1\13\1\14\1\0"+
+    "\1\15\1\0\1\16\2\17\1\20\1\2\1\0\1\21"+
+    "\3\0\1\22\16\12\1\23\21\12\1\17\1\0\1\17"+
+    "\1\12\1\24\1\12\1\25\10\12\1\26\3\12\1\27"+
+    "\1\12\1\30\16\12\1\31\1\12\1\32\7\12\1\33"+
+    "\1\12\1\34\1\12\1\35\1\36\1\12\1\37\2\12"+
+    "\1\40\2\12\1\41\1\12\1\42\1\12\1\43\10\12"+
+    "\1\44\4\12\1\45\2\12\1\46\1\12\1\47\3\12"+
+    "\1\50\2\12\1\51\1\52\1\12\1\53\1\12\1\54"+
+    "\4\12\1\55\1\12\1\56\1\57\3\12\1\60\1\61"+
+    "\1\62\1\63\1\64\4\12\1\65";
 
   private static int [] zzUnpackAction() {
-    int [] result = new int[79];
+    int [] result = new int[201];
     int offset = 0;
     offset = zzUnpackAction(ZZ_ACTION_PACKED_0, offset, result);
     return result;
@@ -131,19 +140,35 @@ public class Lexer implements java_cup.runtime.Scanner {
   private static final int [] ZZ_ROWMAP = zzUnpackRowMap();
 
   private static final String ZZ_ROWMAP_PACKED_0 =
-    "\0\0\0\55\0\55\0\132\0\207\0\264\0\55\0\341"+
-    "\0\55\0\55\0\u010e\0\u013b\0\u0168\0\u0195\0\u01c2\0\u01ef"+
-    "\0\u021c\0\u0249\0\u0276\0\u02a3\0\u02d0\0\55\0\55\0\207"+
-    "\0\55\0\u02fd\0\u032a\0\u0357\0\u0384\0\u03b1\0\u03de\0\u040b"+
-    "\0\u0438\0\u0465\0\u0492\0\u04bf\0\u04ec\0\u0519\0\u0546\0\u0573"+
-    "\0\u010e\0\u05a0\0\u010e\0\u05cd\0\u05fa\0\u0627\0\u0654\0\u0681"+
-    "\0\u010e\0\u06ae\0\u06db\0\u0708\0\u010e\0\u0735\0\u010e\0\u0762"+
-    "\0\u078f\0\u07bc\0\u07e9\0\u0816\0\u010e\0\u0843\0\u0870\0\u089d"+
-    "\0\u08ca\0\u08f7\0\u0924\0\u0951\0\u010e\0\u097e\0\u010e\0\u09ab"+
-    "\0\u010e\0\u010e\0\u010e\0\u09d8\0\u0a05\0\u010e\0\u010e";
+    "\0\0\0\74\0\74\0\170\0\264\0\360\0\74\0\74"+
+    "\0\74\0\u012c\0\u0168\0\u01a4\0\u01e0\0\u021c\0\74\0\74"+
+    "\0\74\0\u0258\0\u0294\0\u02d0\0\u030c\0\u0348\0\u0384\0\u03c0"+
+    "\0\u03fc\0\u0438\0\u0474\0\u04b0\0\u04ec\0\u0528\0\u0564\0\u05a0"+
+    "\0\u05dc\0\u0618\0\u0654\0\u0690\0\u06cc\0\74\0\74\0\264"+
+    "\0\74\0\u0708\0\u0744\0\u0780\0\u07bc\0\74\0\u07f8\0\u0834"+
+    "\0\74\0\u0870\0\u08ac\0\u08e8\0\74\0\u0924\0\u0960\0\u099c"+
+    "\0\u09d8\0\u0a14\0\u0a50\0\u0a8c\0\u0ac8\0\u0b04\0\u0b40\0\u0b7c"+
+    "\0\u0bb8\0\u0bf4\0\u0c30\0\u0258\0\u0c6c\0\u0ca8\0\u0ce4\0\u0d20"+
+    "\0\u0d5c\0\u0d98\0\u0dd4\0\u0e10\0\u0e4c\0\u0e88\0\u0ec4\0\u0f00"+
+    "\0\u0f3c\0\u0f78\0\u0fb4\0\u0ff0\0\u102c\0\u1068\0\u10a4\0\u10a4"+
+    "\0\u10e0\0\u0258\0\u111c\0\u0258\0\u1158\0\u1194\0\u11d0\0\u120c"+
+    "\0\u1248\0\u1284\0\u12c0\0\u12fc\0\u0258\0\u1338\0\u1374\0\u13b0"+
+    "\0\u0258\0\u13ec\0\u0258\0\u1428\0\u1464\0\u14a0\0\u14dc\0\u1518"+
+    "\0\u1554\0\u1590\0\u15cc\0\u1608\0\u1644\0\u1680\0\u16bc\0\u16f8"+
+    "\0\u1734\0\u0258\0\u1770\0\u0258\0\u17ac\0\u17e8\0\u1824\0\u1860"+
+    "\0\u189c\0\u18d8\0\u1914\0\u0258\0\u1950\0\u0258\0\u198c\0\u0258"+
+    "\0\u0258\0\u19c8\0\u0258\0\u1a04\0\u1a40\0\u0258\0\u1a7c\0\u1ab8"+
+    "\0\u0258\0\u1af4\0\u0258\0\u1b30\0\u0258\0\u1b6c\0\u1ba8\0\u1be4"+
+    "\0\u1c20\0\u1c5c\0\u1c98\0\u1cd4\0\u1d10\0\u0258\0\u1d4c\0\u1d88"+
+    "\0\u1dc4\0\u1e00\0\u0258\0\u1e3c\0\u1e78\0\u0258\0\u1eb4\0\u0258"+
+    "\0\u1ef0\0\u1f2c\0\u1f68\0\u0258\0\u1fa4\0\u1fe0\0\u0258\0\u0258"+
+    "\0\u201c\0\u0258\0\u2058\0\u0258\0\u2094\0\u20d0\0\u210c\0\u2148"+
+    "\0\u0258\0\u2184\0\u0258\0\u0258\0\u21c0\0\u21fc\0\u2238\0\u0258"+
+    "\0\u0258\0\u0258\0\u0258\0\u0258\0\u2274\0\u22b0\0\u22ec\0\u2328"+
+    "\0\u0258";
 
   private static int [] zzUnpackRowMap() {
-    int [] result = new int[79];
+    int [] result = new int[201];
     int offset = 0;
     offset = zzUnpackRowMap(ZZ_ROWMAP_PACKED_0, offset, result);
     return result;
@@ -167,66 +192,162 @@ public class Lexer implements java_cup.runtime.Scanner {
 
   private static final String ZZ_TRANS_PACKED_0 =
     "\1\2\2\3\1\2\1\3\1\4\1\5\1\6\1\7"+
-    "\1\10\1\11\1\12\1\13\1\14\1\13\1\15\2\13"+
-    "\1\16\3\13\1\2\2\13\1\17\1\20\1\13\1\21"+
-    "\2\13\1\22\1\13\1\23\4\13\1\24\1\25\3\13"+
-    "\1\26\1\27\57\0\1\3\52\0\6\30\1\31\17\30"+
-    "\1\32\26\30\7\0\1\33\55\0\2\10\53\0\2\13"+
-    "\2\0\12\13\1\0\24\13\12\0\2\13\2\0\2\13"+
-    "\1\34\7\13\1\0\24\13\12\0\2\13\2\0\2\13"+
-    "\1\35\7\13\1\0\24\13\12\0\2\13\2\0\5\13"+
-    "\1\36\3\13\1\37\1\0\24\13\12\0\2\13\2\0"+
-    "\12\13\1\0\1\13\1\40\12\13\1\41\7\13\12\0"+
-    "\2\13\2\0\12\13\1\0\14\13\1\42\7\13\12\0"+
-    "\2\13\2\0\12\13\1\0\22\13\1\43\1\13\12\0"+
-    "\2\13\2\0\12\13\1\0\5\13\1\44\16\13\12\0"+
-    "\2\13\2\0\12\13\1\0\5\13\1\45\16\13\12\0"+
-    "\2\13\2\0\12\13\1\0\20\13\1\46\3\13\12\0"+
-    "\2\13\2\0\12\13\1\0\5\13\1\47\16\13\2\0"+
-    "\2\30\4\0\47\30\2\33\1\0\2\33\1\0\47\33"+
-    "\10\0\2\13\2\0\4\13\1\50\5\13\1\0\24\13"+
-    "\12\0\2\13\2\0\10\13\1\51\1\13\1\0\24\13"+
-    "\12\0\2\13\2\0\7\13\1\52\2\13\1\0\24\13"+
-    "\12\0\2\13\2\0\10\13\1\53\1\13\1\0\24\13"+
-    "\12\0\2\13\2\0\12\13\1\0\17\13\1\54\4\13"+
-    "\12\0\2\13\2\0\12\13\1\0\4\13\1\55\17\13"+
-    "\12\0\2\13\2\0\12\13\1\0\13\13\1\56\10\13"+
-    "\12\0\2\13\2\0\12\13\1\0\15\13\1\57\6\13"+
-    "\12\0\2\13\2\0\12\13\1\0\1\13\1\60\22\13"+
-    "\12\0\2\13\2\0\12\13\1\0\20\13\1\61\3\13"+
-    "\12\0\2\13\2\0\12\13\1\0\1\13\1\62\22\13"+
-    "\12\0\2\13\2\0\12\13\1\0\17\13\1\63\4\13"+
-    "\12\0\2\13\2\0\2\13\1\64\7\13\1\0\24\13"+
-    "\12\0\2\13\2\0\10\13\1\65\1\13\1\0\24\13"+
-    "\12\0\2\13\2\0\12\13\1\0\5\13\1\66\16\13"+
-    "\12\0\2\13\2\0\12\13\1\0\23\13\1\67\12\0"+
-    "\2\13\2\0\12\13\1\0\6\13\1\70\11\13\1\71"+
-    "\3\13\12\0\2\13\2\0\12\13\1\0\5\13\1\72"+
-    "\16\13\12\0\2\13\2\0\12\13\1\0\4\13\1\73"+
-    "\17\13\12\0\2\13\2\0\12\13\1\0\20\13\1\74"+
-    "\3\13\12\0\2\13\2\0\12\13\1\0\20\13\1\75"+
-    "\3\13\12\0\2\13\2\0\10\13\1\76\1\13\1\0"+
-    "\24\13\12\0\2\13\2\0\12\13\1\0\1\77\23\13"+
-    "\12\0\2\13\2\0\12\13\1\0\11\13\1\100\12\13"+
-    "\12\0\2\13\2\0\12\13\1\0\1\13\1\101\22\13"+
-    "\12\0\2\13\2\0\12\13\1\0\3\13\1\102\20\13"+
-    "\12\0\2\13\2\0\12\13\1\0\5\13\1\103\16\13"+
-    "\12\0\2\13\2\0\12\13\1\0\21\13\1\104\2\13"+
-    "\12\0\2\13\2\0\2\13\1\105\7\13\1\0\24\13"+
-    "\12\0\2\13\2\0\12\13\1\0\21\13\1\106\2\13"+
-    "\12\0\2\13\2\0\12\13\1\0\7\13\1\107\14\13"+
-    "\12\0\2\13\2\0\12\13\1\0\11\13\1\110\12\13"+
-    "\12\0\2\13\2\0\12\13\1\0\20\13\1\111\3\13"+
-    "\12\0\2\13\2\0\12\13\1\0\16\13\1\112\5\13"+
-    "\12\0\2\13\2\0\12\13\1\0\17\13\1\113\4\13"+
-    "\12\0\2\13\2\0\12\13\1\0\16\13\1\114\5\13"+
-    "\12\0\2\13\2\0\12\13\1\0\13\13\1\115\10\13"+
-    "\12\0\2\13\2\0\12\13\1\0\12\13\1\116\11\13"+
-    "\12\0\2\13\2\0\12\13\1\0\17\13\1\117\4\13"+
-    "\2\0";
+    "\1\10\1\2\1\11\1\12\1\13\1\14\1\15\1\16"+
+    "\1\17\1\20\1\21\2\22\1\23\1\22\1\24\3\22"+
+    "\1\25\3\22\1\2\2\22\1\26\1\27\1\30\1\31"+
+    "\1\32\1\22\1\33\1\34\1\35\1\22\1\36\1\37"+
+    "\1\40\2\22\1\41\1\42\1\43\1\44\1\45\3\22"+
+    "\1\46\1\47\76\0\1\3\71\0\6\50\1\51\31\50"+
+    "\1\52\33\50\24\0\14\53\1\0\31\53\21\0\1\54"+
+    "\1\55\70\0\1\56\74\0\1\57\72\0\1\60\7\0"+
+    "\1\61\1\0\1\62\1\0\1\63\11\0\1\61\2\0"+
+    "\1\62\5\0\1\63\1\0\1\64\4\0\1\65\25\0"+
+    "\1\60\1\0\2\16\4\0\1\61\1\0\1\62\1\0"+
+    "\1\63\11\0\1\61\2\0\1\62\5\0\1\63\1\0"+
+    "\1\64\4\0\1\65\27\0\2\22\3\0\14\22\1\0"+
+    "\31\22\21\0\2\22\3\0\3\22\1\66\10\22\1\0"+
+    "\31\22\21\0\2\22\3\0\3\22\1\67\10\22\1\0"+
+    "\31\22\21\0\2\22\3\0\7\22\1\70\3\22\1\71"+
+    "\1\0\31\22\21\0\2\22\3\0\14\22\1\0\1\22"+
+    "\1\72\15\22\1\73\11\22\21\0\2\22\3\0\14\22"+
+    "\1\0\1\22\1\74\15\22\1\75\11\22\21\0\2\22"+
+    "\3\0\14\22\1\0\11\22\1\76\17\22\21\0\2\22"+
+    "\3\0\14\22\1\0\26\22\1\77\2\22\21\0\2\22"+
+    "\3\0\14\22\1\0\1\22\1\100\7\22\1\101\5\22"+
+    "\1\102\11\22\21\0\2\22\3\0\14\22\1\0\5\22"+
+    "\1\103\23\22\21\0\2\22\3\0\14\22\1\0\16\22"+
+    "\1\104\12\22\21\0\2\22\3\0\14\22\1\0\22\22"+
+    "\1\105\6\22\21\0\2\22\3\0\14\22\1\0\1\22"+
+    "\1\106\3\22\1\107\11\22\1\110\11\22\21\0\2\22"+
+    "\3\0\14\22\1\0\11\22\1\111\17\22\21\0\2\22"+
+    "\3\0\14\22\1\0\24\22\1\112\4\22\21\0\2\22"+
+    "\3\0\14\22\1\0\5\22\1\113\11\22\1\114\11\22"+
+    "\21\0\2\22\3\0\14\22\1\0\3\22\1\115\1\22"+
+    "\1\116\3\22\1\117\11\22\1\120\5\22\21\0\2\22"+
+    "\3\0\14\22\1\0\5\22\1\121\2\22\1\122\10\22"+
+    "\1\123\7\22\21\0\2\22\3\0\14\22\1\0\16\22"+
+    "\1\124\12\22\21\0\2\22\3\0\14\22\1\0\11\22"+
+    "\1\125\17\22\2\0\2\50\4\0\66\50\17\0\2\53"+
+    "\3\0\14\53\1\0\31\53\17\0\1\60\11\0\1\62"+
+    "\16\0\1\62\42\0\1\60\1\0\2\55\6\0\1\62"+
+    "\16\0\1\62\25\0\2\57\1\0\2\57\1\0\66\57"+
+    "\17\0\2\126\65\0\1\127\1\0\1\127\2\0\2\130"+
+    "\100\0\1\61\15\0\1\61\55\0\1\61\15\0\1\61"+
+    "\17\0\1\65\27\0\2\22\3\0\6\22\1\131\5\22"+
+    "\1\0\31\22\21\0\2\22\3\0\12\22\1\132\1\22"+
+    "\1\0\31\22\21\0\2\22\3\0\11\22\1\133\2\22"+
+    "\1\0\31\22\21\0\2\22\3\0\12\22\1\134\1\22"+
+    "\1\0\31\22\21\0\2\22\3\0\14\22\1\0\22\22"+
+    "\1\135\6\22\21\0\2\22\3\0\14\22\1\0\4\22"+
+    "\1\136\24\22\21\0\2\22\3\0\14\22\1\0\20\22"+
+    "\1\137\10\22\21\0\2\22\3\0\14\22\1\0\16\22"+
+    "\1\140\12\22\21\0\2\22\3\0\14\22\1\0\22\22"+
+    "\1\141\6\22\21\0\2\22\3\0\14\22\1\0\20\22"+
+    "\1\142\10\22\21\0\2\22\3\0\14\22\1\0\14\22"+
+    "\1\143\14\22\21\0\2\22\3\0\14\22\1\0\14\22"+
+    "\1\144\14\22\21\0\2\22\3\0\14\22\1\0\21\22"+
+    "\1\145\7\22\21\0\2\22\3\0\14\22\1\0\1\22"+
+    "\1\146\27\22\21\0\2\22\3\0\14\22\1\0\17\22"+
+    "\1\147\11\22\21\0\2\22\3\0\14\22\1\0\23\22"+
+    "\1\150\5\22\21\0\2\22\3\0\14\22\1\0\23\22"+
+    "\1\151\5\22\21\0\2\22\3\0\14\22\1\0\1\22"+
+    "\1\152\27\22\21\0\2\22\3\0\14\22\1\0\26\22"+
+    "\1\153\2\22\21\0\2\22\3\0\14\22\1\0\14\22"+
+    "\1\154\14\22\21\0\2\22\3\0\14\22\1\0\20\22"+
+    "\1\155\10\22\21\0\2\22\3\0\14\22\1\0\25\22"+
+    "\1\156\3\22\21\0\2\22\3\0\14\22\1\0\5\22"+
+    "\1\157\23\22\21\0\2\22\3\0\14\22\1\0\23\22"+
+    "\1\160\5\22\21\0\2\22\3\0\14\22\1\0\30\22"+
+    "\1\161\21\0\2\22\3\0\14\22\1\0\1\22\1\162"+
+    "\27\22\21\0\2\22\3\0\14\22\1\0\1\22\1\163"+
+    "\20\22\1\164\6\22\21\0\2\22\3\0\14\22\1\0"+
+    "\11\22\1\165\17\22\21\0\2\22\3\0\14\22\1\0"+
+    "\24\22\1\166\4\22\21\0\2\22\3\0\14\22\1\0"+
+    "\3\22\1\167\25\22\21\0\2\22\3\0\14\22\1\0"+
+    "\23\22\1\170\5\22\21\0\2\126\6\0\1\62\16\0"+
+    "\1\62\44\0\2\130\72\0\2\22\3\0\3\22\1\171"+
+    "\10\22\1\0\31\22\21\0\2\22\3\0\12\22\1\172"+
+    "\1\22\1\0\31\22\21\0\2\22\3\0\14\22\1\0"+
+    "\5\22\1\173\23\22\21\0\2\22\3\0\14\22\1\0"+
+    "\27\22\1\174\1\22\21\0\2\22\3\0\14\22\1\0"+
+    "\1\22\1\175\21\22\1\176\5\22\21\0\2\22\3\0"+
+    "\14\22\1\0\6\22\1\177\14\22\1\200\5\22\21\0"+
+    "\2\22\3\0\14\22\1\0\3\22\1\201\25\22\21\0"+
+    "\2\22\3\0\14\22\1\0\5\22\1\202\23\22\21\0"+
+    "\2\22\3\0\14\22\1\0\22\22\1\203\6\22\21\0"+
+    "\2\22\3\0\14\22\1\0\5\22\1\204\23\22\21\0"+
+    "\2\22\3\0\14\22\1\0\4\22\1\205\24\22\21\0"+
+    "\2\22\3\0\14\22\1\0\16\22\1\206\12\22\21\0"+
+    "\2\22\3\0\14\22\1\0\5\22\1\207\23\22\21\0"+
+    "\2\22\3\0\14\22\1\0\4\22\1\210\24\22\21\0"+
+    "\2\22\3\0\14\22\1\0\14\22\1\211\14\22\21\0"+
+    "\2\22\3\0\14\22\1\0\5\22\1\212\23\22\21\0"+
+    "\2\22\3\0\14\22\1\0\22\22\1\213\6\22\21\0"+
+    "\2\22\3\0\14\22\1\0\16\22\1\214\12\22\21\0"+
+    "\2\22\3\0\14\22\1\0\24\22\1\215\4\22\21\0"+
+    "\2\22\3\0\14\22\1\0\5\22\1\216\23\22\21\0"+
+    "\2\22\3\0\14\22\1\0\23\22\1\217\5\22\21\0"+
+    "\2\22\3\0\14\22\1\0\21\22\1\220\7\22\21\0"+
+    "\2\22\3\0\14\22\1\0\23\22\1\221\5\22\21\0"+
+    "\2\22\3\0\14\22\1\0\16\22\1\222\12\22\21\0"+
+    "\2\22\3\0\14\22\1\0\5\22\1\223\23\22\21\0"+
+    "\2\22\3\0\14\22\1\0\17\22\1\224\11\22\21\0"+
+    "\2\22\3\0\14\22\1\0\10\22\1\225\20\22\21\0"+
+    "\2\22\3\0\12\22\1\226\1\22\1\0\31\22\21\0"+
+    "\2\22\3\0\14\22\1\0\1\227\30\22\21\0\2\22"+
+    "\3\0\14\22\1\0\3\22\1\230\25\22\21\0\2\22"+
+    "\3\0\14\22\1\0\24\22\1\231\4\22\21\0\2\22"+
+    "\3\0\14\22\1\0\11\22\1\232\17\22\21\0\2\22"+
+    "\3\0\14\22\1\0\1\22\1\233\27\22\21\0\2\22"+
+    "\3\0\14\22\1\0\1\22\1\234\27\22\21\0\2\22"+
+    "\3\0\14\22\1\0\3\22\1\235\25\22\21\0\2\22"+
+    "\3\0\14\22\1\0\5\22\1\236\23\22\21\0\2\22"+
+    "\3\0\14\22\1\0\5\22\1\237\23\22\21\0\2\22"+
+    "\3\0\14\22\1\0\16\22\1\240\12\22\21\0\2\22"+
+    "\3\0\14\22\1\0\1\22\1\241\27\22\21\0\2\22"+
+    "\3\0\14\22\1\0\1\22\1\242\27\22\21\0\2\22"+
+    "\3\0\14\22\1\0\20\22\1\243\10\22\21\0\2\22"+
+    "\3\0\14\22\1\0\24\22\1\244\4\22\21\0\2\22"+
+    "\3\0\14\22\1\0\4\22\1\245\24\22\21\0\2\22"+
+    "\3\0\14\22\1\0\13\22\1\246\15\22\21\0\2\22"+
+    "\3\0\14\22\1\0\15\22\1\247\13\22\21\0\2\22"+
+    "\3\0\3\22\1\250\10\22\1\0\31\22\21\0\2\22"+
+    "\3\0\14\22\1\0\24\22\1\251\4\22\21\0\2\22"+
+    "\3\0\14\22\1\0\11\22\1\252\17\22\21\0\2\22"+
+    "\3\0\14\22\1\0\21\22\1\253\7\22\21\0\2\22"+
+    "\3\0\14\22\1\0\7\22\1\254\21\22\21\0\2\22"+
+    "\3\0\14\22\1\0\11\22\1\255\17\22\21\0\2\22"+
+    "\3\0\14\22\1\0\21\22\1\256\7\22\21\0\2\22"+
+    "\3\0\14\22\1\0\23\22\1\257\5\22\21\0\2\22"+
+    "\3\0\14\22\1\0\21\22\1\260\7\22\21\0\2\22"+
+    "\3\0\14\22\1\0\3\22\1\261\25\22\21\0\2\22"+
+    "\3\0\14\22\1\0\23\22\1\262\5\22\21\0\2\22"+
+    "\3\0\14\22\1\0\21\22\1\263\7\22\21\0\2\22"+
+    "\3\0\14\22\1\0\22\22\1\264\6\22\21\0\2\22"+
+    "\3\0\14\22\1\0\17\22\1\265\11\22\21\0\2\22"+
+    "\3\0\14\22\1\0\20\22\1\266\10\22\21\0\2\22"+
+    "\3\0\14\22\1\0\21\22\1\267\7\22\21\0\2\22"+
+    "\3\0\14\22\1\0\23\22\1\270\5\22\21\0\2\22"+
+    "\3\0\14\22\1\0\5\22\1\271\23\22\21\0\2\22"+
+    "\3\0\14\22\1\0\16\22\1\272\12\22\21\0\2\22"+
+    "\3\0\14\22\1\0\4\22\1\273\24\22\21\0\2\22"+
+    "\3\0\14\22\1\0\27\22\1\274\1\22\21\0\2\22"+
+    "\3\0\14\22\1\0\11\22\1\275\17\22\21\0\2\22"+
+    "\3\0\14\22\1\0\25\22\1\276\3\22\21\0\2\22"+
+    "\3\0\14\22\1\0\21\22\1\277\7\22\21\0\2\22"+
+    "\3\0\14\22\1\0\14\22\1\300\14\22\21\0\2\22"+
+    "\3\0\14\22\1\0\27\22\1\301\1\22\21\0\2\22"+
+    "\3\0\14\22\1\0\22\22\1\302\6\22\21\0\2\22"+
+    "\3\0\14\22\1\0\17\22\1\303\11\22\21\0\2\22"+
+    "\3\0\14\22\1\0\16\22\1\304\12\22\21\0\2\22"+
+    "\3\0\14\22\1\0\5\22\1\305\23\22\21\0\2\22"+
+    "\3\0\14\22\1\0\22\22\1\306\6\22\21\0\2\22"+
+    "\3\0\14\22\1\0\22\22\1\307\6\22\21\0\2\22"+
+    "\3\0\14\22\1\0\5\22\1\310\23\22\21\0\2\22"+
+    "\3\0\14\22\1\0\4\22\1\311\24\22\2\0";
 
   private static int [] zzUnpacktrans() {
-    int [] result = new int[2610];
+    int [] result = new int[9060];
     int offset = 0;
     offset = zzUnpacktrans(ZZ_TRANS_PACKED_0, offset, result);
     return result;
@@ -269,11 +390,12 @@ public class Lexer implements java_cup.runtime.Scanner {
   private static final int [] ZZ_ATTRIBUTE = zzUnpackAttribute();
 
   private static final String ZZ_ATTRIBUTE_PACKED_0 =
-    "\1\0\2\11\3\1\1\11\1\1\2\11\13\1\2\11"+
-    "\1\0\1\11\1\0\65\1";
+    "\1\0\2\11\3\1\3\11\5\1\3\11\24\1\2\11"+
+    "\1\0\1\11\1\0\3\1\1\11\1\1\1\0\1\11"+
+    "\3\0\1\11\41\1\1\0\162\1";
 
   private static int [] zzUnpackAttribute() {
-    int [] result = new int[79];
+    int [] result = new int[201];
     int offset = 0;
     offset = zzUnpackAttribute(ZZ_ATTRIBUTE_PACKED_0, offset, result);
     return result;
@@ -786,43 +908,68 @@ public class Lexer implements java_cup.runtime.Scanner {
             { throw new Error("Illegal character <" + yytext() + "> at line " + (yyline + 1) + ", column " + (yycolumn + 1));
             }
           // fall through
-          case 23: break;
+          case 54: break;
           case 2:
             { /* ignore */
             }
           // fall through
-          case 24: break;
+          case 55: break;
           case 3:
-            { return symbol(sym.NUMBER, Integer.parseInt(yytext()));
+            { return symbol(sym.LPAREN);
             }
           // fall through
-          case 25: break;
+          case 56: break;
           case 4:
-            { return symbol(sym.SEMICOLON);
+            { return symbol(sym.RPAREN);
             }
           // fall through
-          case 26: break;
+          case 57: break;
           case 5:
-            { return symbol(sym.EQUALS);
+            { return symbol(sym.COMMA);
             }
           // fall through
-          case 27: break;
+          case 58: break;
           case 6:
-            { return symbol(sym.IDENTIFIER, yytext());
+            { // Too large for a count, but still a JSON number
+        try {
+            return symbol(sym.NUMBER, Integer.parseInt(yytext()));
+        } catch (NumberFormatException e) {
+            return symbol(sym.JSON_NUMBER, yytext());
+        }
             }
           // fall through
-          case 28: break;
+          case 59: break;
           case 7:
-            { return symbol(sym.LBRACE);
+            { return symbol(sym.SEMICOLON);
             }
           // fall through
-          case 29: break;
+          case 60: break;
           case 8:
-            { return symbol(sym.RBRACE);
+            { return symbol(sym.LT);
             }
           // fall through
-          case 30: break;
+          case 61: break;
           case 9:
+            { return symbol(sym.EQUALS);
+            }
+          // fall through
+          case 62: break;
+          case 10:
+            { return symbol(sym.IDENTIFIER, yytext());
+            }
+          // fall through
+          case 63: break;
+          case 11:
+            { return symbol(sym.LBRACE);
+            }
+          // fall through
+          case 64: break;
+          case 12:
+            { return symbol(sym.RBRACE);
+            }
+          // fall through
+          case 65: break;
+          case 13:
             { // Remove quotes and handle escape sequences
         String str = yytext();
         str = str.substring(1, str.length() - 1); // Remove quotes
@@ -831,72 +978,220 @@ public class Lexer implements java_cup.runtime.Scanner {
         return symbol(sym.STRING, str);
             }
           // fall through
-          case 31: break;
-          case 10:
+          case 66: break;
+          case 14:
+            { return symbol(sym.VARREF, yytext().substring(1));
+            }
+          // fall through
+          case 67: break;
+          case 15:
+            { return symbol(sym.JSON_NUMBER, yytext());
+            }
+          // fall through
+          case 68: break;
+          case 16:
+            { return symbol(sym.DOTDOT);
+            }
+          // fall through
+          case 69: break;
+          case 17:
+            { // Sizes are normalized to bytes
+        String text = yytext().toLowerCase();
+        if (text.endsWith("kb")) {
+            return symbol(sym.DATASIZE, Long.parseLong(text.substring(0, text.length() - 2)) * 1024L);
+        }
+        if (text.endsWith("mb")) {
+            return symbol(sym.DATASIZE, Long.parseLong(text.substring(0, text.length() - 2)) * 1024L * 1024L);
+        }
+        return symbol(sym.DATASIZE, Long.parseLong(text.substring(0, text.length() - 1)));
+            }
+          // fall through
+          case 70: break;
+          case 18:
+            { // Durations are normalized to milliseconds
+        String text = yytext();
+        if (text.endsWith("ms")) {
+            return symbol(sym.DURATION, Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        return symbol(sym.DURATION, Long.parseLong(text.substring(0, text.length() - 1)) * 1000L);
+            }
+          // fall through
+          case 71: break;
+          case 19:
+            { return symbol(sym.IN);
+            }
+          // fall through
+          case 72: break;
+          case 20:
             { return symbol(sym.GET);
             }
           // fall through
-          case 32: break;
-          case 11:
+          case 73: break;
+          case 21:
             { return symbol(sym.PUT);
             }
           // fall through
-          case 33: break;
-          case 12:
+          case 74: break;
+          case 22:
+            { return symbol(sym.FOR);
+            }
+          // fall through
+          case 75: break;
+          case 23:
             { return symbol(sym.LET);
             }
           // fall through
-          case 34: break;
-          case 13:
+          case 76: break;
+          case 24:
+            { return symbol(sym.MIX);
+            }
+          // fall through
+          case 77: break;
+          case 25:
             { return symbol(sym.POST);
             }
           // fall through
-          case 35: break;
-          case 14:
+          case 78: break;
+          case 26:
             { return symbol(sym.BODY);
             }
           // fall through
-          case 36: break;
-          case 15:
+          case 79: break;
+          case 27:
+            { return symbol(sym.FILE);
+            }
+          // fall through
+          case 80: break;
+          case 28:
+            { return symbol(sym.JSON);
+            }
+          // fall through
+          case 81: break;
+          case 29:
+            { return symbol(sym.LOAD);
+            }
+          // fall through
+          case 82: break;
+          case 30:
+            { return symbol(sym.NULL);
+            }
+          // fall through
+          case 83: break;
+          case 31:
+            { return symbol(sym.ROWS);
+            }
+          // fall through
+          case 84: break;
+          case 32:
+            { return symbol(sym.SIZE);
+            }
+          // fall through
+          case 85: break;
+          case 33:
             { return symbol(sym.TEST);
             }
           // fall through
-          case 37: break;
-          case 16:
+          case 86: break;
+          case 34:
+            { return symbol(sym.TRUE);
+            }
+          // fall through
+          case 87: break;
+          case 35:
+            { return symbol(sym.WITH);
+            }
+          // fall through
+          case 88: break;
+          case 36:
+            { return symbol(sym.FALSE);
+            }
+          // fall through
+          case 89: break;
+          case 37:
+            { return symbol(sym.SETUP);
+            }
+          // fall through
+          case 90: break;
+          case 38:
+            { return symbol(sym.THINK);
+            }
+          // fall through
+          case 91: break;
+          case 39:
             { return symbol(sym.DELETE);
             }
           // fall through
-          case 38: break;
-          case 17:
+          case 92: break;
+          case 40:
             { return symbol(sym.CONFIG);
             }
           // fall through
-          case 39: break;
-          case 18:
+          case 93: break;
+          case 41:
             { return symbol(sym.EXPECT);
             }
           // fall through
-          case 40: break;
-          case 19:
+          case 94: break;
+          case 42:
             { return symbol(sym.HEADER);
             }
           // fall through
-          case 41: break;
-          case 20:
+          case 95: break;
+          case 43:
+            { return symbol(sym.REPEAT);
+            }
+          // fall through
+          case 96: break;
+          case 44:
             { return symbol(sym.STATUS);
             }
           // fall through
-          case 42: break;
-          case 21:
+          case 97: break;
+          case 45:
+            { return symbol(sym.CAPTURE);
+            }
+          // fall through
+          case 98: break;
+          case 46:
+            { return symbol(sym.DISCARD);
+            }
+          // fall through
+          case 99: break;
+          case 47:
+            { return symbol(sym.LATENCY);
+            }
+          // fall through
+          case 100: break;
+          case 48:
             { return symbol(sym.BASE_URL);
             }
           // fall through
-          case 43: break;
-          case 22:
+          case 101: break;
+          case 49:
+            { return symbol(sym.CAPACITY);
+            }
+          // fall through
+          case 102: break;
+          case 50:
             { return symbol(sym.CONTAINS);
             }
           // fall through
-          case 44: break;
+          case 103: break;
+          case 51:
+            { return symbol(sym.SCENARIO);
+            }
+          // fall through
+          case 104: break;
+          case 52:
+            { return symbol(sym.TEARDOWN);
+            }
+          // fall through
+          case 105: break;
+          case 53:
+            { return symbol(sym.UNCOMPRESSED);
+            }
+          // fall through
+          case 106: break;
           default:
             zzScanError(ZZ_NO_MATCH);
         }
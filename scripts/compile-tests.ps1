@@ -9,7 +9,7 @@ $BUILD_DIR = "build\tests"
 
 # Build classpath for JUnit
 $JUNIT_JARS = Get-ChildItem -Path $JUNIT_DIR -Filter *.jar | ForEach-Object { $_.FullName }
-$CLASSPATH = ($JUNIT_JARS -join ";")
+$CLASSPATH = (($JUNIT_JARS + "build") -join ";")
 
 # Create build directory for tests
 if (-not (Test-Path $BUILD_DIR)) {
@@ -19,9 +19,28 @@ if (-not (Test-Path $BUILD_DIR)) {
 Write-Host "Compiling GeneratedTests.java..." -ForegroundColor Yellow
 javac -d $BUILD_DIR -cp $CLASSPATH "$OUTPUT_DIR\GeneratedTests.java"
 
+if ($LASTEXITCODE -ne 0) {
+    Write-Host "Test compilation failed!" -ForegroundColor Red
+    exit 1
+}
+
+# Stub server generated with --stub, if any
+if (Test-Path "$OUTPUT_DIR\GeneratedTestsStub.java") {
+    Write-Host "Compiling GeneratedTestsStub.java..." -ForegroundColor Yellow
+    javac -d $BUILD_DIR -cp $CLASSPATH "$OUTPUT_DIR\GeneratedTestsStub.java"
+    if ($LASTEXITCODE -ne 0) {
+        Write-Host "Stub compilation failed!" -ForegroundColor Red
+        exit 1
+    }
+}
+
+# Every generated method must stay small enough for the JIT to compile it
+Write-Host "Checking method sizes..." -ForegroundColor Yellow
+java -cp build compiler.MethodSizeChecker $BUILD_DIR
+
 if ($LASTEXITCODE -eq 0) {
     Write-Host "Test compilation successful! Output in $BUILD_DIR/" -ForegroundColor Green
 } else {
-    Write-Host "Test compilation failed!" -ForegroundColor Red
+    Write-Host "Generated methods are too large!" -ForegroundColor Red
     exit 1
 }
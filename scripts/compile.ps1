@@ -19,22 +19,27 @@ if (-not (Test-Path $BUILD_DIR)) {
     New-Item -ItemType Directory -Path $BUILD_DIR | Out-Null
 }
 
-Write-Host "[1/5] Generating Scanner with JFlex..." -ForegroundColor Yellow
+Write-Host "[1/6] Generating Scanner with JFlex..." -ForegroundColor Yellow
 java -cp "$JFLEX_JAR;$CUP_RUNTIME" jflex.Main -d scanner scanner/lexer.flex
 
-Write-Host "[2/5] Generating Parser with CUP..." -ForegroundColor Yellow
+Write-Host "[2/6] Generating Parser with CUP..." -ForegroundColor Yellow
 java -cp "$CUP_JAR;$CUP_RUNTIME" java_cup.Main -destdir parser -parser Parser -symbols sym parser/parser.cup
 
-Write-Host "[3/5] Compiling AST classes..." -ForegroundColor Yellow
+Write-Host "[3/6] Compiling AST classes..." -ForegroundColor Yellow
 $astFiles = Get-ChildItem -Path ast -Filter *.java | ForEach-Object { $_.FullName }
 javac -d $BUILD_DIR -cp $CUP_RUNTIME $astFiles
 
-Write-Host "[4/5] Compiling Scanner and Parser..." -ForegroundColor Yellow
+Write-Host "[4/6] Compiling Scanner and Parser..." -ForegroundColor Yellow
 $scannerFiles = Get-ChildItem -Path scanner -Filter *.java | ForEach-Object { $_.FullName }
 $parserFiles = Get-ChildItem -Path parser -Filter *.java | ForEach-Object { $_.FullName }
 javac -d $BUILD_DIR -cp "$CUP_RUNTIME;$BUILD_DIR" $scannerFiles $parserFiles
 
-Write-Host "[5/5] Compiling Code Generator and Compiler..." -ForegroundColor Yellow
+# The compiler reads the timings and history files through the runtime's own readers
+Write-Host "[5/6] Compiling Test Runtime..." -ForegroundColor Yellow
+$runtimeFiles = Get-ChildItem -Path runtime -Filter *.java | ForEach-Object { $_.FullName }
+javac -d $BUILD_DIR $runtimeFiles
+
+Write-Host "[6/6] Compiling Code Generator and Compiler..." -ForegroundColor Yellow
 $codegenFiles = Get-ChildItem -Path codegen -Filter *.java | ForEach-Object { $_.FullName }
 $compilerFiles = Get-ChildItem -Path compiler -Filter *.java | ForEach-Object { $_.FullName }
 javac -d $BUILD_DIR -cp "$CUP_RUNTIME;$BUILD_DIR" $codegenFiles $compilerFiles
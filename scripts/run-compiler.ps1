@@ -5,7 +5,22 @@ param(
     [string]$InputFile,
     
     [Parameter(Mandatory=$false)]
-    [string]$OutputFile = "output/GeneratedTests.java"
+    [string]$OutputFile = "output/GeneratedTests.java",
+    
+    [Parameter(Mandatory=$false)]
+    [switch]$Table,
+    
+    [Parameter(Mandatory=$false)]
+    [string]$Shard,
+    
+    [Parameter(Mandatory=$false)]
+    [string]$Timings,
+    
+    [Parameter(Mandatory=$false)]
+    [switch]$Order,
+    
+    [Parameter(Mandatory=$false)]
+    [switch]$Stub
 )
 
 if (-not (Test-Path $InputFile)) {
@@ -33,7 +48,24 @@ Write-Host "Input:  $InputFile" -ForegroundColor White
 Write-Host "Output: $OutputFile" -ForegroundColor White
 Write-Host ""
 
-java -cp "$BUILD_DIR;$CUP_RUNTIME" compiler.TestLangCompiler $InputFile $OutputFile
+$options = @()
+if ($Table) {
+    $options += "--table"
+}
+if ($Shard) {
+    $options += "--shard", $Shard
+}
+if ($Timings) {
+    $options += "--timings", $Timings
+}
+if ($Order) {
+    $options += "--order"
+}
+if ($Stub) {
+    $options += "--stub"
+}
+
+java -cp "$BUILD_DIR;$CUP_RUNTIME" compiler.TestLangCompiler $InputFile $OutputFile @options
 
 Write-Host ""
 Write-Host "Generated: $OutputFile" -ForegroundColor Green
@@ -29,11 +29,11 @@ if (-not (Test-Path $TEST_BUILD)) {
 }
 
 Write-Host "=== Compiling Generated Tests ===" -ForegroundColor Cyan
-javac -d build/tests -cp $JUNIT_DIR/junit-platform-console-standalone-1.10.0.jar $GeneratedFile
+javac -d build/tests -cp "$JUNIT_DIR/junit-platform-console-standalone-1.10.0.jar;build" $GeneratedFile
 
 Write-Host ""
 Write-Host "=== Running JUnit Tests ===" -ForegroundColor Cyan
-java -jar $JUNIT_JAR --class-path build/tests --scan-class-path
+java -jar $JUNIT_JAR --class-path "build/tests;build" --scan-classpath build/tests
 
 Write-Host ""
 Write-Host "Tests completed!" -ForegroundColor Green
@@ -0,0 +1,85 @@
+package runtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Transport counters against a local server that either closes every
+ * connection after its response or keeps it open. Neither case may be
+ * reported as a count of opened and reused connections.
+ */
+class TransportTest {
+    private static final int REQUESTS = 20;
+    private static final byte[] BODY = "ok".getBytes();
+
+    private static HttpServer server;
+
+    @BeforeAll
+    static void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/close", exchange -> {
+            exchange.getResponseHeaders().set("Connection", "close");
+            respond(exchange);
+        });
+        server.createContext("/keep", TransportTest::respond);
+        server.start();
+    }
+
+    @AfterAll
+    static void stop() {
+        server.stop(0);
+    }
+
+    private static void respond(HttpExchange exchange) throws IOException {
+        exchange.sendResponseHeaders(200, BODY.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(BODY);
+        }
+    }
+
+    @Test
+    void closedConnectionsAreNotCounted() throws Exception {
+        assertUncounted(send("/close"));
+    }
+
+    @Test
+    void keptAliveConnectionsAreNotCounted() throws Exception {
+        assertUncounted(send("/keep"));
+    }
+
+    private static void assertUncounted(Transport transport) {
+        assertEquals(REQUESTS, transport.getRequests());
+        assertEquals(0, transport.getFailures());
+        assertEquals(REQUESTS * BODY.length, transport.getBytesIn());
+        assertEquals(-1, transport.getConnectionsOpened());
+        assertEquals(-1, transport.getConnectionsReused());
+        assertEquals(-1, transport.getRequestsPerConnection());
+    }
+
+    // One request at a time, so a kept-alive connection is always back in the pool
+    private static Transport send(String path) throws Exception {
+        Transport transport = new Transport();
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder(
+            URI.create("http://localhost:" + server.getAddress().getPort() + path)).build();
+        for (int i = 0; i < REQUESTS; i++) {
+            TimedBodyHandler<String> timing = TimedBodyHandler.of(HttpResponse.BodyHandlers.ofString());
+            transport.start(0);
+            HttpResponse<String> response = client.send(request, timing.begin());
+            transport.finish(request, new Exchange(response, timing, null));
+        }
+        return transport;
+    }
+}